@@ -0,0 +1,60 @@
+package ropold.backend.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ropold.backend.Service.AppUserService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Favoriten hinzufügen und entfernen bei unterschiedlich langen Favoritenlisten
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppUserServiceBenchmark {
+
+    private static final String USER_ID = "user";
+    private static final String NEW_REVEAL_ID = "new-reveal";
+
+    @Param({"10", "1000", "10000"})
+    public int favoriteCount;
+
+    private AppUserService appUserService;
+    private String existingRevealId;
+
+    @Setup
+    public void setup() {
+        appUserService = new AppUserService(InMemoryRepositories.appUserRepository(
+                List.of(BenchmarkData.userWithFavorites(USER_ID, favoriteCount))));
+        existingRevealId = "%08d".formatted(favoriteCount / 2);
+    }
+
+    // Hinzufügen und wieder Entfernen, damit die Liste über alle Aufrufe gleich lang bleibt
+    @Benchmark
+    public boolean addAndRemoveFavorite() {
+        return appUserService.addRevealToFavorites(USER_ID, NEW_REVEAL_ID)
+                & appUserService.removeRevealFromFavorites(USER_ID, NEW_REVEAL_ID);
+    }
+
+    @Benchmark
+    public boolean addExistingFavorite() {
+        return appUserService.addRevealToFavorites(USER_ID, existingRevealId);
+    }
+
+    @Benchmark
+    public List<String> getUserFavorites() {
+        return appUserService.getUserFavorites(USER_ID);
+    }
+}
@@ -0,0 +1,88 @@
+package ropold.backend.benchmarks;
+
+import ropold.backend.model.AppUser;
+import ropold.backend.model.Category;
+import ropold.backend.model.GameMode;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.ImageVariants;
+import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealSummary;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Reproduzierbare Testdaten, jeder Lauf erzeugt bei gleicher Größe dieselben Datensätze.
+ */
+final class BenchmarkData {
+
+    static final int USERS = 100;
+
+    // Etwa so groß wie ein echter Blur-Platzhalter
+    private static final String PLACEHOLDER = "data:image/jpeg;base64," + "A".repeat(600);
+    private static final Instant LAST_MODIFIED = Instant.parse("2025-03-05T12:00:00Z");
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
+
+    private BenchmarkData() {
+    }
+
+    static List<RevealModel> reveals(int count) {
+        Random random = new Random(42);
+        Category[] categories = Category.values();
+        return IntStream.range(0, count)
+                .mapToObj(i -> new RevealModel(
+                        "%08d".formatted(i),
+                        "Reveal " + i,
+                        List.of("solution" + i, "word" + random.nextInt(1000), "term" + random.nextInt(1000)),
+                        List.of("close" + i, "near" + random.nextInt(1000)),
+                        categories[random.nextInt(categories.length)],
+                        "Description for reveal " + i + " with a sentence or two of text, like most reveals have.",
+                        random.nextInt(10) < 8,
+                        "user-" + random.nextInt(USERS),
+                        "https://res.cloudinary.com/demo/image/upload/reveal-" + i + ".jpg",
+                        ImageStatus.READY,
+                        new ImageVariants(
+                                "https://res.cloudinary.com/demo/image/upload/w_320/reveal-" + i + ".jpg",
+                                "https://res.cloudinary.com/demo/image/upload/w_1280/reveal-" + i + ".jpg",
+                                PLACEHOLDER),
+                        0L,
+                        LAST_MODIFIED))
+                .toList();
+    }
+
+    static List<RevealSummary> summaries(List<RevealModel> reveals) {
+        return reveals.stream().map(BenchmarkData::summary).toList();
+    }
+
+    static RevealSummary summary(RevealModel reveal) {
+        return new RevealSummary(reveal.id(), reveal.name(), reveal.category(), reveal.isActive(), reveal.githubId(),
+                reveal.imageUrl(), reveal.imageStatus(), reveal.imageVariants());
+    }
+
+    static List<HighScoreModel> highScores(int count) {
+        Random random = new Random(42);
+        Category[] categories = Category.values();
+        GameMode[] gameModes = GameMode.values();
+        return IntStream.range(0, count)
+                .mapToObj(i -> new HighScoreModel(
+                        "highscore-" + i,
+                        "player" + random.nextInt(USERS),
+                        "user-" + random.nextInt(USERS),
+                        categories[random.nextInt(categories.length)],
+                        gameModes[random.nextInt(gameModes.length)],
+                        5 + random.nextDouble() * 115,
+                        1 + random.nextInt(50),
+                        DATE,
+                        null))
+                .toList();
+    }
+
+    static AppUser userWithFavorites(String userId, int favoriteCount) {
+        List<String> favorites = IntStream.range(0, favoriteCount).mapToObj("%08d"::formatted).toList();
+        return new AppUser(userId, "username", "Max Mustermann", "https://github.com/avatar", "https://github.com/mustermann", favorites);
+    }
+}
@@ -0,0 +1,67 @@
+package ropold.backend.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ropold.backend.Service.ChangeVersionService;
+import ropold.backend.Service.HighScoreService;
+import ropold.backend.Service.IdService;
+import ropold.backend.Service.LeaderboardEngine;
+import ropold.backend.model.Category;
+import ropold.backend.model.GameMode;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.repository.HighScoreRepository;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// HighScoreService.addHighScore für Scores, die abgelehnt werden, und solche, die Platz 1 übernehmen
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HighScoreServiceBenchmark {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
+
+    @Param({"1000", "100000"})
+    public int storedHighScores;
+
+    private HighScoreService highScoreService;
+    private HighScoreModel losingHighScore;
+    private double nextBestTime;
+
+    @Setup
+    public void setup() {
+        HighScoreRepository highScoreRepository = InMemoryRepositories.highScoreRepository(BenchmarkData.highScores(storedHighScores));
+        LeaderboardEngine leaderboardEngine = new LeaderboardEngine(highScoreRepository,
+                new ChangeVersionService(InMemoryRepositories.changeVersionRepository(), event -> { }));
+        leaderboardEngine.reload();
+        highScoreService = new HighScoreService(highScoreRepository, new IdService(), leaderboardEngine);
+        losingHighScore = new HighScoreModel(null, "player", "user-1", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 999, 0, DATE, null);
+        // Alle erzeugten Zeiten liegen über 5 Sekunden
+        nextBestTime = 5;
+    }
+
+    @Benchmark
+    public HighScoreModel addLosingHighScore() {
+        return highScoreService.addHighScore(losingHighScore);
+    }
+
+    @Benchmark
+    public HighScoreModel addWinningHighScore() {
+        nextBestTime -= 0.001;
+        return highScoreService.addHighScore(
+                new HighScoreModel(null, "player", "user-1", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, nextBestTime, 0, DATE, null));
+    }
+}
@@ -0,0 +1,165 @@
+package ropold.backend.benchmarks;
+
+import org.springframework.data.domain.Limit;
+import ropold.backend.model.AppUser;
+import ropold.backend.model.Category;
+import ropold.backend.model.ChangeVersionRecord;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealSummary;
+import ropold.backend.repository.AppUserRepository;
+import ropold.backend.repository.ChangeVersionRepository;
+import ropold.backend.repository.HighScoreRepository;
+import ropold.backend.repository.RevealRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Ersatz für die Spring-Data-Repositories, damit die Benchmarks nur den Service messen und kein Mongo brauchen.
+ * Umgesetzt sind nur die Methoden, die die gemessenen Pfade aufrufen, alle anderen werfen
+ * {@link UnsupportedOperationException}. Listen-Abfragen liefern wie die DTO-Projektionen neue RevealSummary-Objekte.
+ */
+final class InMemoryRepositories {
+
+    private static final Comparator<HighScoreModel> BY_TIME = Comparator.comparingDouble(HighScoreModel::scoreTime);
+    private static final Comparator<HighScoreModel> BY_CLICKS = Comparator.comparingInt(HighScoreModel::numberOfClicks);
+
+    private InMemoryRepositories() {
+    }
+
+    static RevealRepository revealRepository(List<RevealModel> reveals) {
+        NavigableMap<String, RevealModel> byId = new ConcurrentSkipListMap<>();
+        reveals.forEach(reveal -> byId.put(reveal.id(), reveal));
+
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("findById", args -> Optional.ofNullable(byId.get((String) args[0])));
+        methods.put("findByIsActiveTrue", args -> summaries(byId.values().stream().filter(RevealModel::isActive)));
+        // Keyset-Paging: wie beim Index auf _id wird ab dem Cursor gelesen, nicht von vorn
+        methods.put("findByIsActiveTrueAndIdGreaterThanOrderByIdAsc", args -> summaries(byId.tailMap((String) args[0], false).values().stream()
+                .filter(RevealModel::isActive)
+                .limit(((Limit) args[1]).max())));
+        methods.put("findByIsActiveTrueAndCategoryAndIdGreaterThanOrderByIdAsc", args -> summaries(byId.tailMap((String) args[1], false).values().stream()
+                .filter(reveal -> reveal.isActive() && reveal.category() == (Category) args[0])
+                .limit(((Limit) args[2]).max())));
+        methods.put("findByGithubIdAndIdGreaterThanOrderByIdAsc", args -> summaries(byId.tailMap((String) args[1], false).values().stream()
+                .filter(reveal -> args[0].equals(reveal.githubId()))
+                .limit(((Limit) args[2]).max())));
+        return proxy(RevealRepository.class, methods);
+    }
+
+    private static List<RevealSummary> summaries(Stream<RevealModel> reveals) {
+        return reveals.map(BenchmarkData::summary).toList();
+    }
+
+    static HighScoreRepository highScoreRepository(List<HighScoreModel> highScores) {
+        Map<String, HighScoreModel> byId = new ConcurrentHashMap<>();
+        highScores.forEach(highScore -> byId.put(highScore.id(), highScore));
+
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("save", args -> {
+            HighScoreModel highScore = (HighScoreModel) args[0];
+            byId.put(highScore.id(), highScore);
+            return highScore;
+        });
+        methods.put("deleteById", args -> {
+            byId.remove((String) args[0]);
+            return null;
+        });
+        methods.put("findByGameModeOrderByScoreTimeAsc", args -> top(byId,
+                highScore -> highScore.gameMode() == args[0], BY_TIME, args[1]));
+        methods.put("findByGameModeOrderByNumberOfClicksAsc", args -> top(byId,
+                highScore -> highScore.gameMode() == args[0], BY_CLICKS, args[1]));
+        methods.put("findByGameModeAndCategoryOrderByScoreTimeAsc", args -> top(byId,
+                highScore -> highScore.gameMode() == args[0] && highScore.category() == args[1], BY_TIME, args[2]));
+        methods.put("findByGameModeAndCategoryOrderByNumberOfClicksAsc", args -> top(byId,
+                highScore -> highScore.gameMode() == args[0] && highScore.category() == args[1], BY_CLICKS, args[2]));
+        methods.put("findByGameModeAndRevealIdOrderByScoreTimeAsc", args -> top(byId,
+                highScore -> highScore.gameMode() == args[0] && args[1].equals(highScore.revealId()), BY_TIME, args[2]));
+        methods.put("findByGameModeAndRevealIdOrderByNumberOfClicksAsc", args -> top(byId,
+                highScore -> highScore.gameMode() == args[0] && args[1].equals(highScore.revealId()), BY_CLICKS, args[2]));
+        return proxy(HighScoreRepository.class, methods);
+    }
+
+    private static List<HighScoreModel> top(Map<String, HighScoreModel> byId, Predicate<HighScoreModel> filter,
+                                            Comparator<HighScoreModel> order, Object limit) {
+        return byId.values().stream()
+                .filter(filter)
+                .sorted(order)
+                .limit(((Limit) limit).max())
+                .toList();
+    }
+
+    static AppUserRepository appUserRepository(List<AppUser> users) {
+        Map<String, AppUser> byId = new ConcurrentHashMap<>();
+        users.forEach(user -> byId.put(user.id(), user));
+
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("findById", args -> Optional.ofNullable(byId.get((String) args[0])));
+        // Wie $addToSet und $pull: das Favoriten-Array wird durchsucht und das Dokument neu geschrieben
+        methods.put("addFavorite", args -> updateFavorites(byId, (String) args[0], favorites -> favorites.contains(args[1])
+                ? null
+                : Stream.concat(favorites.stream(), Stream.of((String) args[1])).toList()));
+        methods.put("removeFavorite", args -> updateFavorites(byId, (String) args[0], favorites -> !favorites.contains(args[1])
+                ? null
+                : favorites.stream().filter(favorite -> !favorite.equals(args[1])).toList()));
+        return proxy(AppUserRepository.class, methods);
+    }
+
+    // Rückgabe wie bei @Update: Anzahl der geänderten Dokumente, null aus change heißt keine Änderung
+    private static long updateFavorites(Map<String, AppUser> byId, String userId, UnaryOperator<List<String>> change) {
+        long[] modified = {0};
+        byId.computeIfPresent(userId, (id, user) -> {
+            List<String> favorites = change.apply(user.favorites());
+            if (favorites == null) {
+                return user;
+            }
+            modified[0] = 1;
+            return new AppUser(user.id(), user.username(), user.name(), user.avatarUrl(), user.githubUrl(), favorites);
+        });
+        return modified[0];
+    }
+
+    // Wie findAndModify mit $inc: ein Zähler je id, angelegt beim ersten Zugriff
+    static ChangeVersionRepository changeVersionRepository() {
+        Instant createdAt = Instant.now();
+        Map<String, ChangeVersionRecord> byId = new ConcurrentHashMap<>();
+
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("increment", args -> byId.merge((String) args[0], new ChangeVersionRecord((String) args[0], 1, createdAt, Instant.now()),
+                (current, next) -> new ChangeVersionRecord(current.id(), current.count() + 1, createdAt, Instant.now())));
+        methods.put("findOrCreate", args -> byId.computeIfAbsent((String) args[0], id -> new ChangeVersionRecord(id, 0, createdAt, createdAt)));
+        methods.put("findAll", args -> List.copyOf(byId.values()));
+        return proxy(ChangeVersionRepository.class, methods);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (instance, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> instance == args[0];
+                    case "hashCode" -> System.identityHashCode(instance);
+                    default -> type.getSimpleName() + " (in memory)";
+                };
+            }
+            Function<Object[], Object> implementation = methods.get(method.getName());
+            if (implementation == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not available in benchmarks");
+            }
+            return implementation.apply(args);
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package ropold.backend.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealSummary;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON-Antworten großer Listen, vollständige Reveals im Vergleich zur Zusammenfassung der Listen-Endpunkte
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RevealJsonBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int revealCount;
+
+    // Entspricht der Konfiguration, die Spring Boot für die Controller verwendet
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private List<RevealModel> reveals;
+    private List<RevealSummary> summaries;
+
+    @Setup
+    public void setup() {
+        reveals = BenchmarkData.reveals(revealCount);
+        summaries = BenchmarkData.summaries(reveals);
+    }
+
+    @Benchmark
+    public byte[] serializeReveals() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reveals);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
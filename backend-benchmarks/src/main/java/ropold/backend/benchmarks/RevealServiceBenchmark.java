@@ -0,0 +1,74 @@
+package ropold.backend.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ropold.backend.Service.ActiveCategoryRegistry;
+import ropold.backend.Service.ChangeVersionService;
+import ropold.backend.Service.GuessMatcherRegistry;
+import ropold.backend.Service.IdService;
+import ropold.backend.Service.RevealService;
+import ropold.backend.model.Category;
+import ropold.backend.model.RevealPage;
+import ropold.backend.repository.RevealRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Lesepfade des RevealService, die Reveals filtern oder seitenweise liefern
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RevealServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int revealCount;
+
+    private RevealService revealService;
+    private String middleCursor;
+
+    @Setup
+    public void setup() {
+        RevealRepository revealRepository = InMemoryRepositories.revealRepository(BenchmarkData.reveals(revealCount));
+        ActiveCategoryRegistry activeCategoryRegistry = new ActiveCategoryRegistry(revealRepository);
+        activeCategoryRegistry.reload();
+        // Die Job-Queue wird nur beim Löschen gebraucht
+        revealService = new RevealService(new IdService(), revealRepository, null, activeCategoryRegistry,
+                new GuessMatcherRegistry(revealRepository), new ChangeVersionService(InMemoryRepositories.changeVersionRepository(), event -> { }));
+        middleCursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("%08d".formatted(revealCount / 2).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public RevealPage firstRevealsForGithubUserPage() {
+        return revealService.getRevealsForGithubUserPage("user-7", null, RevealService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public RevealPage firstActiveRevealsPage() {
+        return revealService.getActiveRevealsPage(Category.ANIMAL, null, RevealService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public RevealPage middleActiveRevealsPage() {
+        return revealService.getActiveRevealsPage(Category.ANIMAL, middleCursor, RevealService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Map<Category, Integer> activeRevealCategoryCounts() {
+        return revealService.getActiveRevealCategoryCounts();
+    }
+}
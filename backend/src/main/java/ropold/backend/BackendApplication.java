@@ -1,11 +1,22 @@
 package ropold.backend;
 
 import com.cloudinary.Cloudinary;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableCaching
+@EnableScheduling
+@EnableMongoAuditing
+@ConfigurationPropertiesScan
 public class BackendApplication {
 
 	public static void main(String[] args) {
@@ -13,7 +24,14 @@ public class BackendApplication {
 	}
 
 	@Bean
+	@ConditionalOnProperty(name = "app.image-store.type", havingValue = "cloudinary", matchIfMissing = true)
 	public Cloudinary cloudinary(){
 		return new Cloudinary();
 	}
+
+	// Aktiviert @Timed an Services, Perzentile und Histogramme kommen aus application.properties
+	@Bean
+	public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+		return new TimedAspect(meterRegistry);
+	}
 }
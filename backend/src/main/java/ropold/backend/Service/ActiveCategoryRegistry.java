@@ -0,0 +1,177 @@
+package ropold.backend.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import ropold.backend.model.Category;
+import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealSummary;
+import ropold.backend.repository.RevealRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntUnaryOperator;
+
+@Service
+@RequiredArgsConstructor
+public class ActiveCategoryRegistry {
+
+    private final RevealRepository revealRepository;
+
+    // Ids aller aktiven Reveals je Kategorie, alle Kategorien werden einmalig eingetragen.
+    // Die Zähler sind die Größen der Pools, zufällige Reveals werden direkt daraus gezogen.
+    private final Map<Category, IdPool> activeIds = createPools();
+    private final IdPool allActiveIds = new IdPool();
+
+    private static Map<Category, IdPool> createPools() {
+        Map<Category, IdPool> pools = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            pools.put(category, new IdPool());
+        }
+        return pools;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        Map<Category, List<String>> idsByCategory = new EnumMap<>(Category.class);
+        List<String> allIds = new ArrayList<>();
+        for (RevealSummary reveal : revealRepository.findByIsActiveTrue()) {
+            if (reveal.category() != null) {
+                idsByCategory.computeIfAbsent(reveal.category(), category -> new ArrayList<>()).add(reveal.id());
+                allIds.add(reveal.id());
+            }
+        }
+        activeIds.forEach((category, pool) -> pool.reset(idsByCategory.getOrDefault(category, List.of())));
+        allActiveIds.reset(allIds);
+    }
+
+    public void onAdded(RevealModel reveal) {
+        if (reveal.isActive() && reveal.category() != null) {
+            activeIds.get(reveal.category()).add(reveal.id());
+            allActiveIds.add(reveal.id());
+        }
+    }
+
+    public void onRemoved(RevealModel reveal) {
+        if (reveal.isActive() && reveal.category() != null) {
+            activeIds.get(reveal.category()).remove(reveal.id());
+            allActiveIds.remove(reveal.id());
+        }
+    }
+
+    public void onReplaced(RevealModel before, RevealModel after) {
+        onRemoved(before);
+        onAdded(after);
+    }
+
+    public Map<Category, Integer> getActiveCounts() {
+        Map<Category, Integer> counts = new EnumMap<>(Category.class);
+        activeIds.forEach((category, pool) -> {
+            int value = pool.size();
+            if (value > 0) {
+                counts.put(category, value);
+            }
+        });
+        return counts;
+    }
+
+    public List<String> getActiveCategories() {
+        List<String> categories = new ArrayList<>();
+        activeIds.forEach((category, pool) -> {
+            if (pool.size() > 0) {
+                categories.add(category.name());
+            }
+        });
+        return categories;
+    }
+
+    // category null bedeutet alle Kategorien
+    public String getRandomActiveId(Category category) {
+        return pool(category).random();
+    }
+
+    public List<String> getActiveIds(Category category) {
+        return pool(category).snapshot();
+    }
+
+    // indexForSize bekommt unter dem Lock des Pools dessen Größe und liefert einen Index in 0..size-1, null bei leerem Pool
+    public String selectActiveId(Category category, IntUnaryOperator indexForSize) {
+        return pool(category).select(indexForSize);
+    }
+
+    public boolean isActive(String id, Category category) {
+        return pool(category).contains(id);
+    }
+
+    private IdPool pool(Category category) {
+        return category == null ? allActiveIds : activeIds.get(category);
+    }
+
+    // Dichtes Array plus Index je id: Hinzufügen, Entfernen (mit dem letzten Element tauschen) und Ziehen in O(1)
+    static class IdPool {
+
+        private String[] ids = new String[16];
+        private int size;
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        synchronized void reset(List<String> newIds) {
+            ids = newIds.toArray(new String[Math.max(16, newIds.size())]);
+            size = newIds.size();
+            positions.clear();
+            for (int i = 0; i < size; i++) {
+                positions.put(ids[i], i);
+            }
+        }
+
+        synchronized void add(String id) {
+            if (positions.containsKey(id)) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size] = id;
+            positions.put(id, size);
+            size++;
+        }
+
+        synchronized void remove(String id) {
+            Integer position = positions.remove(id);
+            if (position == null) {
+                return;
+            }
+            size--;
+            if (position != size) {
+                ids[position] = ids[size];
+                positions.put(ids[position], position);
+            }
+            ids[size] = null;
+        }
+
+        synchronized String random() {
+            return size == 0 ? null : ids[ThreadLocalRandom.current().nextInt(size)];
+        }
+
+        synchronized String select(IntUnaryOperator indexForSize) {
+            return size == 0 ? null : ids[indexForSize.applyAsInt(size)];
+        }
+
+        synchronized boolean contains(String id) {
+            return positions.containsKey(id);
+        }
+
+        synchronized List<String> snapshot() {
+            return List.of(Arrays.copyOf(ids, size));
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+}
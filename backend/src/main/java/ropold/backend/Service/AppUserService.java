@@ -1,5 +1,6 @@
 package ropold.backend.Service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import ropold.backend.model.AppUser;
@@ -9,6 +10,7 @@ import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Timed("revealhub.service")
 public class AppUserService {
 
     private final AppUserRepository appUserRepository;
@@ -23,21 +25,11 @@ public class AppUserService {
         return user.favorites();
     }
 
-    public void addRevealToFavorites(String authenticatedUserId, String revealId) {
-        AppUser user = getUserById(authenticatedUserId);
-
-        if (!user.favorites().contains(revealId)) {
-            user.favorites().add(revealId);
-            appUserRepository.save(user);
-        }
+    public boolean addRevealToFavorites(String authenticatedUserId, String revealId) {
+        return appUserRepository.addFavorite(authenticatedUserId, revealId) > 0;
     }
 
-    public void removeRevealFromFavorites(String authenticatedUserId, String revealId) {
-        AppUser user = getUserById(authenticatedUserId);
-
-        if (user.favorites().contains(revealId)) {
-            user.favorites().remove(revealId);
-            appUserRepository.save(user);
-        }
+    public boolean removeRevealFromFavorites(String authenticatedUserId, String revealId) {
+        return appUserRepository.removeFavorite(authenticatedUserId, revealId) > 0;
     }
 }
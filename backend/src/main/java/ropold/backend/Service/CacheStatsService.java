@@ -0,0 +1,32 @@
+package ropold.backend.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import ropold.backend.model.CacheStatsModel;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+
+    private final CacheManager cacheManager;
+
+    public CacheStatsModel getCacheStats(String cacheName) {
+        if (!(cacheManager.getCache(cacheName) instanceof CaffeineCache caffeineCache)) {
+            throw new IllegalStateException("No Caffeine cache configured with name: " + cacheName);
+        }
+        Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return new CacheStatsModel(
+                cacheName,
+                nativeCache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+}
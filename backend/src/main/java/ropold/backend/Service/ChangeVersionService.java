@@ -0,0 +1,66 @@
+package ropold.backend.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ropold.backend.model.ChangeVersion;
+import ropold.backend.model.ChangeVersionRecord;
+import ropold.backend.repository.ChangeVersionRepository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * ETags der Listen-Endpunkte aus Änderungszählern in Mongo statt aus dem Speicher einer Instanz. Nach dem Schreiben
+ * wird der Zähler atomar erhöht, gelesen wird der zuletzt bekannte Stand ohne Mongo-Abfrage. Änderungen anderer
+ * Instanzen kommen spätestens nach {@code app.change-versions.poll-interval-ms} an und werden als
+ * {@link RemoteChangeEvent} gemeldet, damit Caches und Registries im Speicher dieser Instanz neu laden. Die Listener
+ * laufen synchron und vor dem Übernehmen des neuen Stands: sonst käme das neue ETag mit dem alten Inhalt heraus,
+ * und Clients bekämen diesen bis zur nächsten Änderung mit 304 bestätigt.
+ * Erhöht wird erst nach dem Schreiben: wer zuerst das ETag und dann die Daten liest, bekommt nie ein neues ETag zu alten Daten.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeVersionService {
+
+    private final ChangeVersionRepository changeVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentMap<String, ChangeVersionRecord> known = new ConcurrentHashMap<>();
+
+    public ChangeVersion current(String name) {
+        return known.computeIfAbsent(name, changeVersionRepository::findOrCreate).toChangeVersion();
+    }
+
+    public void increment(String name) {
+        ChangeVersionRecord before = known.get(name);
+        ChangeVersionRecord after = changeVersionRepository.increment(name);
+        // Mehr als der eigene Schritt: dazwischen hat eine andere Instanz geschrieben
+        if (before != null && (!before.createdAt().equals(after.createdAt()) || after.count() > before.count() + 1)) {
+            eventPublisher.publishEvent(new RemoteChangeEvent(name));
+        }
+        remember(after);
+    }
+
+    @Scheduled(fixedDelayString = "${app.change-versions.poll-interval-ms:1000}")
+    public void refresh() {
+        for (ChangeVersionRecord changeVersion : changeVersionRepository.findAll()) {
+            ChangeVersionRecord before = known.get(changeVersion.id());
+            if (before != null && isNewer(changeVersion, before)) {
+                eventPublisher.publishEvent(new RemoteChangeEvent(changeVersion.id()));
+            }
+            remember(changeVersion);
+        }
+    }
+
+    // Ein älterer Stand aus einer langsamen Abfrage überschreibt keinen neueren
+    private void remember(ChangeVersionRecord changeVersion) {
+        known.merge(changeVersion.id(), changeVersion, (current, next) ->
+                current.createdAt().equals(next.createdAt()) && current.count() > next.count() ? current : next);
+    }
+
+    private static boolean isNewer(ChangeVersionRecord candidate, ChangeVersionRecord reference) {
+        return !candidate.createdAt().equals(reference.createdAt()) || candidate.count() > reference.count();
+    }
+}
@@ -0,0 +1,42 @@
+package ropold.backend.Service;
+
+import com.cloudinary.Cloudinary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import ropold.backend.exception.ImageDeletionException;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.image-store.type", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryImageStore implements ImageStore {
+    private final Cloudinary cloudinary;
+
+    // Die Bytes gehen direkt an Cloudinary, ohne Umweg über eine temporäre Datei
+    @Override
+    public String store(byte[] image) throws IOException {
+        Map uploadResult = cloudinary.uploader().upload(image, Collections.emptyMap());
+        return uploadResult.get("secure_url").toString();
+    }
+
+    private String extractPublicIdFromUrl(String url) {
+        String[] parts = url.split("/");
+        String publicId = parts[parts.length - 1].split("\\.")[0]; // extrahiere v1614149342/sample
+        return publicId;
+    }
+
+    @Override
+    public void delete(String imageUrl) {
+        String publicId = extractPublicIdFromUrl(imageUrl);
+
+        try {
+            cloudinary.uploader().destroy(publicId, Collections.emptyMap());
+        } catch (IOException e) {
+            throw new ImageDeletionException("Error deleting image from Cloudinary: " + publicId);
+        }
+    }
+}
@@ -1,42 +1,24 @@
 package ropold.backend.Service;
 
-import com.cloudinary.Cloudinary;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
-import ropold.backend.exception.ImageDeletionException;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.Map;
 
+// Einstiegspunkt für Bild-Uploads, die eigentliche Ablage übernimmt der konfigurierte ImageStore
 @Service
 @RequiredArgsConstructor
 public class CloudinaryService {
-    private final Cloudinary cloudinary;
+    private final ImageStore imageStore;
 
-    public String uploadImage(MultipartFile image) throws IOException {
-        File fileToUpload = File.createTempFile("reveal-hub", "");
-        image.transferTo(fileToUpload);
-
-        Map uploadResult = cloudinary.uploader().upload(fileToUpload, Collections.emptyMap());
-        return uploadResult.get("secure_url").toString();
-    }
-
-    private String extractPublicIdFromUrl(String url) {
-        String[] parts = url.split("/");
-        String publicId = parts[parts.length - 1].split("\\.")[0]; // extrahiere v1614149342/sample
-        return publicId;
+    @Timed("revealhub.image.upload")
+    public String uploadImage(byte[] image) throws IOException {
+        return imageStore.store(image);
     }
 
+    @Timed("revealhub.image.delete")
     public void deleteImage(String imageUrl) {
-        String publicId = extractPublicIdFromUrl(imageUrl);
-
-        try {
-            cloudinary.uploader().destroy(publicId, Collections.emptyMap());
-        } catch (IOException e) {
-            throw new ImageDeletionException("Error deleting image from Cloudinary: " + publicId);
-        }
+        imageStore.delete(imageUrl);
     }
 }
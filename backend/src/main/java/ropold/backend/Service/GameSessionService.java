@@ -0,0 +1,263 @@
+package ropold.backend.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ropold.backend.exception.GameSessionNotFoundException;
+import ropold.backend.exception.GameSessionStateException;
+import ropold.backend.exception.RevealNotFoundException;
+import ropold.backend.model.Category;
+import ropold.backend.model.GameMode;
+import ropold.backend.model.GameSessionModel;
+import ropold.backend.model.GuessResponse;
+import ropold.backend.model.GuessResult;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealedTileModel;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Laufende Spiele liegen nur im Speicher. Zeit und Klicks werden hier gemessen, der Highscore beim Abschluss
+ * daraus berechnet statt vom Browser übernommen. Nicht beendete Spiele verfallen nach
+ * {@code app.game-sessions.ttl-ms} ohne Zugriff, höchstens {@code app.game-sessions.max-sessions} gleichzeitig.
+ * Je Client (Nutzer oder IP) bleiben nur die letzten {@code app.game-sessions.max-per-client} Spiele offen,
+ * ein neues Spiel verdrängt das älteste. So kann ein einzelner Client den Speicher nicht allein füllen.
+ * Ein Spiel existiert nur auf der Instanz, die es gestartet hat: bei mehreren Instanzen muss der Load Balancer
+ * einen Client fest an eine Instanz binden (Sticky Routing, z.B. per Cookie oder IP-Hash), sonst antworten die
+ * anderen Instanzen mit 404.
+ */
+@Service
+public class GameSessionService {
+
+    public static final int TOTAL_TILES = 36;
+
+    private final RevealService revealService;
+    private final GuessMatcherRegistry guessMatcherRegistry;
+    private final HighScoreService highScoreService;
+    private final IdService idService;
+    private final Ticker ticker;
+    private final Cache<String, GameSession> sessions;
+    private final int maxPerClient;
+    // Offene Spiele je Client in Startreihenfolge
+    private final ConcurrentMap<String, ArrayDeque<String>> openGamesByClient = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GameSessionService(RevealService revealService,
+                              GuessMatcherRegistry guessMatcherRegistry,
+                              HighScoreService highScoreService,
+                              IdService idService,
+                              @Value("${app.game-sessions.ttl-ms:1800000}") long ttlMs,
+                              @Value("${app.game-sessions.max-sessions:10000}") long maxSessions,
+                              @Value("${app.game-sessions.max-per-client:5}") int maxPerClient) {
+        this(revealService, guessMatcherRegistry, highScoreService, idService, ttlMs, maxSessions, maxPerClient,
+                Ticker.systemTicker());
+    }
+
+    public GameSessionService(RevealService revealService,
+                              GuessMatcherRegistry guessMatcherRegistry,
+                              HighScoreService highScoreService,
+                              IdService idService,
+                              long ttlMs,
+                              long maxSessions,
+                              int maxPerClient,
+                              Ticker ticker) {
+        this.revealService = revealService;
+        this.guessMatcherRegistry = guessMatcherRegistry;
+        this.highScoreService = highScoreService;
+        this.idService = idService;
+        this.ticker = ticker;
+        this.maxPerClient = maxPerClient;
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterAccess(ttlMs, TimeUnit.MILLISECONDS)
+                .maximumSize(maxSessions)
+                .ticker(ticker)
+                // Synchron, damit die Zählung je Client beim nächsten Start schon stimmt
+                .executor(Runnable::run)
+                .removalListener((String id, GameSession session, RemovalCause cause) -> {
+                    if (session != null) {
+                        forgetOpenGame(session.client, id);
+                    }
+                })
+                .build();
+    }
+
+    // client ist bei angemeldeten Nutzern die GitHub-id, nur der Besitzer kann inaktive Reveals spielen
+    public GameSessionModel startGame(String revealId, GameMode gameMode, String client) {
+        RevealModel reveal = revealService.getRevealById(revealId);
+        if (!reveal.isActive() && !client.equals(reveal.githubId())) {
+            throw new RevealNotFoundException("No Reveal found with id: " + revealId);
+        }
+        GameSession session = new GameSession(idService.generateRandomId(), client, reveal.id(), reveal.category(), gameMode,
+                ticker.read());
+        sessions.put(session.id, session);
+        List<String> displaced = new ArrayList<>();
+        openGamesByClient.compute(client, (key, openGames) -> {
+            ArrayDeque<String> games = openGames == null ? new ArrayDeque<>() : openGames;
+            games.addLast(session.id);
+            while (games.size() > maxPerClient) {
+                displaced.add(games.pollFirst());
+            }
+            return games;
+        });
+        // Außerhalb von compute, der RemovalListener greift selbst auf die Map zu
+        sessions.invalidateAll(displaced);
+        return toModel(session);
+    }
+
+    public GameSessionModel getGame(String id) {
+        return toModel(getSession(id));
+    }
+
+    // Beendet das Spiel ohne Highscore, danach ist die Lösung sichtbar
+    public GameSessionModel giveUp(String id) {
+        GameSession session = getSession(id);
+        session.giveUp();
+        return toModel(session);
+    }
+
+    public RevealedTileModel revealTile(String id) {
+        return getSession(id).revealTile();
+    }
+
+    public GuessResponse guess(String id, String guess) {
+        GameSession session = getSession(id);
+        // Vor dem Prüfen, damit nach dem Lösen oder Aufgeben keine weiteren Versuche mehr gemessen werden
+        session.requirePlaying();
+        GuessResponse response = guessMatcherRegistry.checkGuess(session.revealId, guess);
+        if (response.result() == GuessResult.CORRECT) {
+            session.markSolved(ticker.read());
+        }
+        return response;
+    }
+
+    // Liefert null, wenn der Score für keine Rangliste reicht (wie HighScoreService.addHighScore)
+    public HighScoreModel finishGame(String id, String playerName, String githubId) {
+        GameSession session = getSession(id);
+        HighScoreModel highScore = session.finish(playerName, githubId);
+        sessions.invalidate(id);
+        return highScoreService.addHighScore(highScore);
+    }
+
+    public long getActiveGameCount() {
+        return sessions.estimatedSize();
+    }
+
+    private void forgetOpenGame(String client, String id) {
+        openGamesByClient.computeIfPresent(client, (key, openGames) -> {
+            openGames.remove(id);
+            return openGames.isEmpty() ? null : openGames;
+        });
+    }
+
+    // Die Lösung geht erst an den Browser, wenn sie das Ergebnis nicht mehr beeinflussen kann
+    private GameSessionModel toModel(GameSession session) {
+        List<String> solutionWords = session.isOver() ? guessMatcherRegistry.getSolutionWords(session.revealId) : List.of();
+        return session.toModel(solutionWords);
+    }
+
+    private GameSession getSession(String id) {
+        GameSession session = sessions.getIfPresent(id);
+        if (session == null) {
+            throw new GameSessionNotFoundException("No game found with id: " + id);
+        }
+        return session;
+    }
+
+    // Veränderlicher Spielstand, ein Objekt pro Spiel. Aufgedeckte Felder als Bitmaske statt Liste.
+    private static final class GameSession {
+
+        private final String id;
+        private final String client;
+        private final String revealId;
+        private final Category category;
+        private final GameMode gameMode;
+        private final long startedAtNanos;
+
+        private long revealedTiles;
+        private int numberOfClicks;
+        private long solvedAtNanos = -1;
+        private boolean gaveUp;
+        private boolean finished;
+
+        private GameSession(String id, String client, String revealId, Category category, GameMode gameMode, long startedAtNanos) {
+            this.id = id;
+            this.client = client;
+            this.revealId = revealId;
+            this.category = category;
+            this.gameMode = gameMode;
+            this.startedAtNanos = startedAtNanos;
+        }
+
+        synchronized RevealedTileModel revealTile() {
+            requirePlaying();
+            int hidden = TOTAL_TILES - Long.bitCount(revealedTiles);
+            if (hidden == 0) {
+                throw new GameSessionStateException("All tiles of game " + id + " are already revealed");
+            }
+            // Das n-te noch verdeckte Feld aufdecken
+            int skip = ThreadLocalRandom.current().nextInt(hidden);
+            int tile = 0;
+            while ((revealedTiles & (1L << tile)) != 0 || skip-- > 0) {
+                tile++;
+            }
+            revealedTiles |= 1L << tile;
+            numberOfClicks++;
+            return new RevealedTileModel(tile, numberOfClicks);
+        }
+
+        synchronized void requirePlaying() {
+            if (solvedAtNanos >= 0) {
+                throw new GameSessionStateException("Game " + id + " is already solved");
+            }
+            if (gaveUp) {
+                throw new GameSessionStateException("Game " + id + " was given up");
+            }
+        }
+
+        synchronized void giveUp() {
+            if (solvedAtNanos < 0) {
+                gaveUp = true;
+            }
+        }
+
+        synchronized boolean isOver() {
+            return solvedAtNanos >= 0 || gaveUp;
+        }
+
+        synchronized void markSolved(long nowNanos) {
+            if (solvedAtNanos < 0) {
+                solvedAtNanos = nowNanos;
+            }
+        }
+
+        synchronized HighScoreModel finish(String playerName, String githubId) {
+            if (solvedAtNanos < 0) {
+                throw new GameSessionStateException("Game " + id + " is not solved yet");
+            }
+            if (finished) {
+                throw new GameSessionStateException("Game " + id + " is already finished");
+            }
+            finished = true;
+            // Auf Zehntelsekunden gerundet, wie die Anzeige im Spiel
+            double scoreTime = Math.round((solvedAtNanos - startedAtNanos) / 100_000_000.0) / 10.0;
+            return new HighScoreModel(null, playerName, githubId, category, gameMode, scoreTime, numberOfClicks,
+                    LocalDateTime.now(), revealId);
+        }
+
+        synchronized GameSessionModel toModel(List<String> solutionWords) {
+            return new GameSessionModel(id, revealId, category, gameMode, numberOfClicks, solvedAtNanos >= 0, solutionWords);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package ropold.backend.Service;
+
+import ropold.backend.model.GuessResult;
+import ropold.backend.model.RevealModel;
+
+import java.text.Normalizer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Vorberechneter Matcher für die Lösungswörter eines Reveals.
+ * Alle Wörter werden einmalig normalisiert (Unicode NFKD, ohne Akzente, klein geschrieben),
+ * eine Prüfung kostet danach nur noch Hash-Lookups und einen begrenzten Levenshtein-Vergleich.
+ */
+public final class GuessMatcher {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Set<String> solutions;
+    private final Set<String> closeSolutions;
+    private final String[] fuzzyTargets;
+    private final List<String> solutionWords;
+
+    private GuessMatcher(Set<String> solutions, Set<String> closeSolutions, String[] fuzzyTargets, List<String> solutionWords) {
+        this.solutions = solutions;
+        this.closeSolutions = closeSolutions;
+        this.fuzzyTargets = fuzzyTargets;
+        this.solutionWords = solutionWords;
+    }
+
+    public static GuessMatcher of(RevealModel reveal) {
+        Set<String> solutions = normalizeAll(reveal.solutionWords());
+        Set<String> closeSolutions = normalizeAll(reveal.closeSolutionWords());
+        closeSolutions.removeAll(solutions);
+        String[] fuzzyTargets = solutions.stream()
+                .filter(word -> maxDistance(word.length()) > 0)
+                .toArray(String[]::new);
+        List<String> solutionWords = reveal.solutionWords() == null ? List.of() : List.copyOf(reveal.solutionWords());
+        return new GuessMatcher(Set.copyOf(solutions), Set.copyOf(closeSolutions), fuzzyTargets, solutionWords);
+    }
+
+    public GuessResult check(String guess) {
+        String normalizedGuess = normalize(guess);
+        if (normalizedGuess.isEmpty()) {
+            return GuessResult.WRONG;
+        }
+        if (solutions.contains(normalizedGuess)) {
+            return GuessResult.CORRECT;
+        }
+        if (closeSolutions.contains(normalizedGuess)) {
+            return GuessResult.CLOSE;
+        }
+        for (String target : fuzzyTargets) {
+            if (isWithinDistance(normalizedGuess, target, maxDistance(target.length()))) {
+                return GuessResult.CLOSE;
+            }
+        }
+        return GuessResult.WRONG;
+    }
+
+    public List<String> getSolutionWords() {
+        return solutionWords;
+    }
+
+    static String normalize(String word) {
+        if (word == null) {
+            return "";
+        }
+        String trimmed = word.strip();
+        boolean plainAscii = true;
+        for (int i = 0; i < trimmed.length() && plainAscii; i++) {
+            char c = trimmed.charAt(i);
+            plainAscii = c < 0x80 && c != ' ' && c != '\t';
+        }
+        // Schneller Weg für einfache ASCII-Eingaben ohne Leerzeichen
+        if (plainAscii) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(trimmed, Normalizer.Form.NFKD);
+        String withoutMarks = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(withoutMarks).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    // Kurze Wörter müssen exakt stimmen, längere dürfen ein bzw. zwei Tippfehler haben
+    static int maxDistance(int length) {
+        if (length < 5) {
+            return 0;
+        }
+        return length < 9 ? 1 : 2;
+    }
+
+    // Levenshtein-Distanz auf einem Band der Breite 2k+1, bricht ab sobald k überschritten ist
+    static boolean isWithinDistance(String a, String b, int k) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > k) {
+            return false;
+        }
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - k);
+            int to = Math.min(m, i + k);
+            current[0] = i;
+            if (from > 1) {
+                current[from - 1] = k + 1;
+            }
+            int rowMinimum = from == 1 ? i : k + 1;
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                current[j] = value;
+                rowMinimum = Math.min(rowMinimum, value);
+            }
+            if (to < m) {
+                current[to + 1] = k + 1;
+            }
+            if (rowMinimum > k) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[m] <= k;
+    }
+
+    private static Set<String> normalizeAll(List<String> words) {
+        Set<String> normalized = new HashSet<>();
+        if (words != null) {
+            for (String word : words) {
+                String value = normalize(word);
+                if (!value.isEmpty()) {
+                    normalized.add(value);
+                }
+            }
+        }
+        return normalized;
+    }
+}
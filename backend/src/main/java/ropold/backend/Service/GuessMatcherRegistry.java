@@ -0,0 +1,54 @@
+package ropold.backend.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ropold.backend.exception.RevealNotFoundException;
+import ropold.backend.model.GuessResponse;
+import ropold.backend.model.GuessResult;
+import ropold.backend.model.RevealModel;
+import ropold.backend.repository.RevealRepository;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class GuessMatcherRegistry {
+
+    private final RevealRepository revealRepository;
+
+    // Matcher werden beim Speichern gebaut und nur bei einem Cache-Miss aus Mongo nachgeladen
+    private final Cache<String, GuessMatcher> matchers = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    public GuessResponse checkGuess(String revealId, String guess) {
+        GuessMatcher matcher = getMatcher(revealId);
+        GuessResult result = matcher.check(guess);
+        List<String> solutionWords = result == GuessResult.CORRECT ? matcher.getSolutionWords() : List.of();
+        return new GuessResponse(result, solutionWords);
+    }
+
+    public List<String> getSolutionWords(String revealId) {
+        return getMatcher(revealId).getSolutionWords();
+    }
+
+    public void onRevealSaved(RevealModel reveal) {
+        matchers.put(reveal.id(), GuessMatcher.of(reveal));
+    }
+
+    public void onRevealDeleted(String revealId) {
+        matchers.invalidate(revealId);
+    }
+
+    public void invalidateAll() {
+        matchers.invalidateAll();
+    }
+
+    private GuessMatcher getMatcher(String revealId) {
+        return matchers.get(revealId, id -> revealRepository.findById(id)
+                .map(GuessMatcher::of)
+                .orElseThrow(() -> new RevealNotFoundException("No Reveal found with id: " + id)));
+    }
+}
@@ -1,27 +1,43 @@
 package ropold.backend.Service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ropold.backend.model.Category;
+import ropold.backend.model.ChangeVersion;
 import ropold.backend.model.GameMode;
 import ropold.backend.model.HighScoreModel;
 import ropold.backend.repository.HighScoreRepository;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Timed("revealhub.service")
 public class HighScoreService {
 
     private final HighScoreRepository highScoreRepository;
     private final IdService idService;
+    private final LeaderboardEngine leaderboardEngine;
+
+    public ChangeVersion getChangeVersion(GameMode gameMode) {
+        return leaderboardEngine.getChangeVersion(gameMode);
+    }
 
     public List<HighScoreModel> getBestHighScoresOverTime() {
-        return highScoreRepository.findByGameModeOrderByScoreTimeAsc(GameMode.REVEAL_OVER_TIME);
+        return leaderboardEngine.getTopScores(GameMode.REVEAL_OVER_TIME);
     }
 
     public List<HighScoreModel> getBestHighScoresWithClicks() {
-        return highScoreRepository.findByGameModeOrderByNumberOfClicksAsc(GameMode.REVEAL_WITH_CLICKS);
+        return leaderboardEngine.getTopScores(GameMode.REVEAL_WITH_CLICKS);
+    }
+
+    public List<HighScoreModel> getBestHighScores(GameMode gameMode, Category category) {
+        return leaderboardEngine.getTopScores(gameMode, category);
+    }
+
+    public List<HighScoreModel> getBestHighScoresForReveal(GameMode gameMode, String revealId) {
+        return leaderboardEngine.getTopScoresForReveal(gameMode, revealId);
     }
 
     public HighScoreModel addHighScore(HighScoreModel highScoreModel) {
@@ -35,45 +51,17 @@ public class HighScoreService {
                 highScoreModel.gameMode(),
                 highScoreModel.scoreTime(),
                 highScoreModel.numberOfClicks(),
-                highScoreModel.date()
+                highScoreModel.date(),
+                highScoreModel.revealId()
         );
 
-        // Holen von bestehenden Scores nach GameMode und Sortierung
-        List<HighScoreModel> existingScores = new ArrayList<>();
-
-        // Prüfen, ob der GameMode "REVEAL_OVER_TIME" oder "REVEAL_WITH_CLICKS" ist und entsprechend die Liste abrufen
-        if (newHighScoreModel.gameMode() == GameMode.REVEAL_OVER_TIME) {
-            existingScores = highScoreRepository.findByGameModeOrderByScoreTimeAsc(GameMode.REVEAL_OVER_TIME);
-        } else if (newHighScoreModel.gameMode() == GameMode.REVEAL_WITH_CLICKS) {
-            existingScores = highScoreRepository.findByGameModeOrderByNumberOfClicksAsc(GameMode.REVEAL_WITH_CLICKS);
-        }
-
-        // Wenn es noch keine Scores gibt, speichern wir einfach den neuen Score
-        if (existingScores.size() < 10) {
-            // Wenn weniger als 10 Scores vorhanden sind, fügen wir den neuen Score einfach hinzu
-            return highScoreRepository.save(newHighScoreModel);
-        }
-
-        // Prüfen, ob der neue Score besser als der schlechteste Score im Top 10 ist
-        if (newHighScoreModel.gameMode() == GameMode.REVEAL_OVER_TIME && newHighScoreModel.scoreTime() > existingScores.get(9).scoreTime()) {
-            return null;  // Falls der neue Score nicht besser ist, gib null zurück
-        }
-
-        if (newHighScoreModel.gameMode() == GameMode.REVEAL_WITH_CLICKS && newHighScoreModel.numberOfClicks() > existingScores.get(9).numberOfClicks()) {
-            return null;  // Falls der neue Score nicht besser ist, gib null zurück
-        }
-
-        // Lösche den schlechtesten Score, wenn notwendig (nach Zeit oder Klicks)
-        HighScoreModel worstScore = existingScores.get(9);
-        highScoreRepository.deleteById(worstScore.id());
-
-        // Speichern des neuen HighScores
-        return highScoreRepository.save(newHighScoreModel);
+        // Die Top 10 liegen im Speicher, Mongo wird nur bei einer echten Änderung angefasst.
+        // Gibt null zurück, wenn der Score weder gesamt, noch in der Kategorie oder beim Reveal gut genug ist.
+        return leaderboardEngine.submit(newHighScoreModel);
     }
 
-
-
     public void deleteHighScore(String id) {
         highScoreRepository.deleteById(id);
+        leaderboardEngine.onDeleted(id);
     }
 }
@@ -0,0 +1,56 @@
+package ropold.backend.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ropold.backend.model.IdempotencyRecord;
+import ropold.backend.repository.IdempotencyRecordRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Gespeicherte Antworten für Anfragen mit Idempotency-Key. Gleichzeitige Wiederholungen warten auf die laufende
+ * Ausführung statt selbst auszuführen, spätere bekommen die gespeicherte Antwort aus Mongo.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    // Wie der TTL-Index in IdempotencyRecord. Mongo räumt nur etwa einmal pro Minute ab, daher wird zusätzlich geprüft.
+    public static final Duration RETENTION = Duration.ofHours(24);
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final ConcurrentMap<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyRecord getStoredResponse(String id) {
+        return idempotencyRecordRepository.findById(id)
+                .filter(stored -> stored.createdAt().isAfter(Instant.now().minus(RETENTION)))
+                .orElse(null);
+    }
+
+    // Registriert execution, wenn für die id nichts läuft (Ergebnis null), sonst die laufende Ausführung
+    public CompletableFuture<IdempotencyRecord> joinInFlight(String id, CompletableFuture<IdempotencyRecord> execution) {
+        return inFlight.putIfAbsent(id, execution);
+    }
+
+    // Serverfehler werden nicht gespeichert, damit ein späterer Versuch erneut ausgeführt wird
+    public void complete(String id, CompletableFuture<IdempotencyRecord> execution, IdempotencyRecord response) {
+        try {
+            if (response.status() < 500) {
+                idempotencyRecordRepository.save(response);
+            }
+        } finally {
+            inFlight.remove(id, execution);
+            execution.complete(response);
+        }
+    }
+
+    public void fail(String id, CompletableFuture<IdempotencyRecord> execution, Throwable error) {
+        inFlight.remove(id, execution);
+        execution.completeExceptionally(error);
+    }
+}
@@ -0,0 +1,22 @@
+package ropold.backend.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ropold.backend.model.JobType;
+
+@Service
+@RequiredArgsConstructor
+public class ImageDeletionJobHandler implements JobHandler {
+
+    private final CloudinaryService cloudinaryService;
+
+    @Override
+    public JobType type() {
+        return JobType.DELETE_IMAGE;
+    }
+
+    @Override
+    public void handle(String imageUrl) {
+        cloudinaryService.deleteImage(imageUrl);
+    }
+}
@@ -0,0 +1,115 @@
+package ropold.backend.Service;
+
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Iterator;
+
+/**
+ * Erzeugt beim Upload verkleinerte Varianten eines Bildes und einen winzigen Platzhalter,
+ * damit Listen nicht die Originaldatei laden müssen.
+ */
+@Service
+public class ImageProcessingService {
+
+    static final int THUMBNAIL_WIDTH = 400;
+    static final int PLAY_WIDTH = 1000;
+    static final int PLACEHOLDER_WIDTH = 16;
+
+    public record ProcessedImage(byte[] thumbnail, byte[] play, String placeholder) {
+    }
+
+    // Gibt null zurück, wenn ImageIO das Format nicht lesen kann, dann bleibt es beim Original
+    public ProcessedImage process(byte[] image) throws IOException {
+        BufferedImage source = decode(image);
+        if (source == null) {
+            return null;
+        }
+        byte[] placeholder = encodeJpeg(resize(source, PLACEHOLDER_WIDTH), 0.5f);
+        return new ProcessedImage(
+                encodeJpeg(resize(source, THUMBNAIL_WIDTH), 0.8f),
+                encodeJpeg(resize(source, PLAY_WIDTH), 0.85f),
+                "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(placeholder)
+        );
+    }
+
+    // Sehr große Bilder werden schon beim Dekodieren unterabgetastet, damit nicht das ganze Raster im Speicher landet
+    private BufferedImage decode(byte[] image) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int subsampling = Math.max(1, reader.getWidth(0) / (PLAY_WIDTH * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Verkleinert in Halbierungsschritten, das sieht deutlich besser aus als ein einziger großer Sprung
+    static BufferedImage resize(BufferedImage source, int targetWidth) {
+        int width = Math.min(targetWidth, source.getWidth());
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            current = draw(current, currentWidth, currentHeight);
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    // JPEG kennt keinen Alphakanal, daher immer auf weißem RGB-Hintergrund zeichnen
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (MemoryCacheImageOutputStream stream = new MemoryCacheImageOutputStream(output)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+}
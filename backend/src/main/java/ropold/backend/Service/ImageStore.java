@@ -0,0 +1,15 @@
+package ropold.backend.Service;
+
+import java.io.IOException;
+
+/**
+ * Ablage für Reveal-Bilder. Welche Implementierung aktiv ist, bestimmt {@code app.image-store.type}
+ * ({@code cloudinary} oder {@code local}).
+ */
+public interface ImageStore {
+
+    // Gibt die öffentliche URL des gespeicherten Bildes zurück
+    String store(byte[] image) throws IOException;
+
+    void delete(String imageUrl);
+}
@@ -0,0 +1,149 @@
+package ropold.backend.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ropold.backend.exception.ImageUploadRejectedException;
+import ropold.backend.model.ImageVariants;
+import ropold.backend.model.JobType;
+import ropold.backend.model.RevealModel;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Lädt Bilder im Hintergrund auf virtuellen Threads hoch, damit Request-Threads nicht auf Cloudinary warten.
+ * Zusammen mit dem Original werden die verkleinerten Varianten aus dem {@link ImageProcessingService} hochgeladen.
+ * Gleichzeitige Uploads und wartende Uploads (deren Bytes im Speicher liegen) sind jeweils begrenzt.
+ */
+@Slf4j
+@Service
+public class ImageUploadService {
+
+    private final CloudinaryService cloudinaryService;
+    private final ImageProcessingService imageProcessingService;
+    private final RevealService revealService;
+    private final JobQueueService jobQueueService;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("image-upload-", 0).factory());
+    private final Semaphore uploadSlots;
+    private final Semaphore queueSlots;
+
+    // Nur der zuletzt gestartete Upload eines Reveals darf das Ergebnis schreiben
+    private final Map<String, Long> latestUploads = new ConcurrentHashMap<>();
+    private final AtomicLong uploadSequence = new AtomicLong();
+
+    public ImageUploadService(CloudinaryService cloudinaryService,
+                              ImageProcessingService imageProcessingService,
+                              RevealService revealService,
+                              JobQueueService jobQueueService,
+                              @Value("${app.image-upload.max-concurrent:4}") int maxConcurrent,
+                              @Value("${app.image-upload.max-queued:16}") int maxQueued) {
+        this.cloudinaryService = cloudinaryService;
+        this.imageProcessingService = imageProcessingService;
+        this.revealService = revealService;
+        this.jobQueueService = jobQueueService;
+        this.uploadSlots = new Semaphore(maxConcurrent);
+        this.queueSlots = new Semaphore(maxQueued);
+    }
+
+    /**
+     * Reserviert einen Platz in der Warteschlange, speichert den Reveal über {@code save} und startet danach den Upload.
+     * Ist die Warteschlange voll, wird nichts gespeichert.
+     */
+    public UploadHandle saveAndUpload(byte[] image, Supplier<RevealModel> save) {
+        if (!queueSlots.tryAcquire()) {
+            throw new ImageUploadRejectedException("Too many image uploads in progress, please try again later");
+        }
+        RevealModel saved;
+        try {
+            saved = save.get();
+        } catch (RuntimeException e) {
+            queueSlots.release();
+            throw e;
+        }
+        long ticket = uploadSequence.incrementAndGet();
+        latestUploads.put(saved.id(), ticket);
+        CompletableFuture<Void> completion = CompletableFuture.runAsync(() -> upload(saved.id(), ticket, image), executor);
+        return new UploadHandle(saved, completion);
+    }
+
+    private void upload(String revealId, long ticket, byte[] image) {
+        List<String> uploadedUrls = new ArrayList<>();
+        try {
+            uploadSlots.acquireUninterruptibly();
+            String imageUrl;
+            ImageVariants imageVariants = null;
+            try {
+                ImageProcessingService.ProcessedImage processed = imageProcessingService.process(image);
+                imageUrl = uploadTracked(image, uploadedUrls);
+                if (processed != null) {
+                    imageVariants = new ImageVariants(
+                            uploadTracked(processed.thumbnail(), uploadedUrls),
+                            uploadTracked(processed.play(), uploadedUrls),
+                            processed.placeholder()
+                    );
+                }
+            } finally {
+                uploadSlots.release();
+            }
+
+            // Überholt von einem neueren Upload oder Reveal inzwischen gelöscht: Bilder wieder entfernen
+            if (!isLatest(revealId, ticket) || !revealService.completeImageUpload(revealId, imageUrl, imageVariants)) {
+                jobQueueService.enqueueAll(JobType.DELETE_IMAGE, uploadedUrls);
+            }
+        } catch (Throwable e) {
+            // Auch Errors (z.B. OutOfMemoryError beim Dekodieren), sonst bliebe der Reveal für immer PENDING
+            log.warn("Image upload for reveal {} failed", revealId, e);
+            deleteQuietly(uploadedUrls);
+            if (isLatest(revealId, ticket)) {
+                revealService.failImageUpload(revealId);
+            }
+            if (e instanceof Error error) {
+                throw error;
+            }
+        } finally {
+            latestUploads.remove(revealId, ticket);
+            queueSlots.release();
+        }
+    }
+
+    private String uploadTracked(byte[] image, List<String> uploadedUrls) throws IOException {
+        String url = cloudinaryService.uploadImage(image);
+        uploadedUrls.add(url);
+        return url;
+    }
+
+    // Aufräumen nach einem Fehler darf den eigentlichen Fehlerstatus nicht verhindern
+    private void deleteQuietly(List<String> imageUrls) {
+        try {
+            jobQueueService.enqueueAll(JobType.DELETE_IMAGE, imageUrls);
+        } catch (RuntimeException ignored) {
+            // Bilder bleiben als Leichen beim Image-Host liegen
+        }
+    }
+
+    private boolean isLatest(String revealId, long ticket) {
+        Long latest = latestUploads.get(revealId);
+        return latest != null && latest == ticket;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Laufende Uploads noch zu Ende bringen
+        executor.close();
+    }
+
+    public record UploadHandle(RevealModel reveal, CompletableFuture<Void> completion) {
+    }
+}
@@ -0,0 +1,11 @@
+package ropold.backend.Service;
+
+import ropold.backend.model.JobType;
+
+// Führt einen Job-Typ aus. Wirft der Handler, wird der Job später erneut versucht.
+public interface JobHandler {
+
+    JobType type();
+
+    void handle(String payload) throws Exception;
+}
@@ -0,0 +1,201 @@
+package ropold.backend.Service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ropold.backend.model.JobModel;
+import ropold.backend.model.JobStatus;
+import ropold.backend.model.JobType;
+import ropold.backend.repository.JobRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Dauerhafte Job-Queue in Mongo für Seiteneffekte, auf die ein Request nicht warten soll (z.B. Bilder beim Image-Host löschen).
+ * Der Worker holt fällige Jobs stapelweise, jeder Job wird atomar per findAndModify übernommen, damit mehrere Instanzen
+ * parallel arbeiten können. Fehlgeschlagene Jobs werden mit exponentiellem Backoff wiederholt und landen nach
+ * {@code app.jobs.max-attempts} Versuchen als DEAD in der Collection (Dead Letter).
+ */
+@Service
+public class JobQueueService {
+
+    private final JobRepository jobRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Map<JobType, JobHandler> handlers = new EnumMap<>(JobType.class);
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long leaseMs;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("job-", 0).factory());
+
+    public JobQueueService(JobRepository jobRepository,
+                           MongoTemplate mongoTemplate,
+                           List<JobHandler> handlers,
+                           @Value("${app.jobs.batch-size:20}") int batchSize,
+                           @Value("${app.jobs.max-attempts:8}") int maxAttempts,
+                           @Value("${app.jobs.initial-backoff-ms:10000}") long initialBackoffMs,
+                           @Value("${app.jobs.max-backoff-ms:3600000}") long maxBackoffMs,
+                           @Value("${app.jobs.lease-ms:300000}") long leaseMs) {
+        this.jobRepository = jobRepository;
+        this.mongoTemplate = mongoTemplate;
+        handlers.forEach(handler -> this.handlers.put(handler.type(), handler));
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.leaseMs = leaseMs;
+    }
+
+    public void enqueue(JobType type, String payload) {
+        enqueueAll(type, List.of(payload));
+    }
+
+    // Ein Insert für alle Jobs, der Request wartet nur auf Mongo
+    public void enqueueAll(JobType type, Collection<String> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<JobModel> jobs = payloads.stream()
+                .map(payload -> new JobModel(null, type, payload, JobStatus.PENDING, 0, now, null, null, now))
+                .toList();
+        jobRepository.insert(jobs);
+    }
+
+    public List<JobModel> getDeadJobs() {
+        return jobRepository.findByStatus(JobStatus.DEAD);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.poll-interval-ms:2000}")
+    public void processDueJobs() {
+        List<JobModel> batch;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty()) {
+                runBatch(batch);
+            }
+        } while (batch.size() == batchSize && !Thread.currentThread().isInterrupted());
+    }
+
+    // Fällige Jobs und solche, deren Worker abgestürzt ist (Lease abgelaufen), werden übernommen
+    private List<JobModel> claimBatch() {
+        Instant now = Instant.now();
+        deadLetterExpiredLeases(now);
+        Query due = new Query(new Criteria().orOperator(
+                Criteria.where("status").is(JobStatus.PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(JobStatus.RUNNING).and("lockedUntil").lte(now).and("attempts").lt(maxAttempts)
+        )).with(Sort.by("nextAttemptAt"));
+        Update claim = new Update()
+                .set("status", JobStatus.RUNNING)
+                .set("lockedUntil", now.plusMillis(leaseMs))
+                .inc("attempts", 1);
+
+        List<JobModel> claimed = new ArrayList<>();
+        while (claimed.size() < batchSize) {
+            JobModel job = mongoTemplate.findAndModify(due, claim, FindAndModifyOptions.options().returnNew(true), JobModel.class);
+            if (job == null) {
+                break;
+            }
+            claimed.add(job);
+        }
+        return claimed;
+    }
+
+    // Stirbt der Worker beim letzten Versuch, wird failureUpdate nie erreicht - ohne das hier liefe der Job ewig im Kreis
+    private void deadLetterExpiredLeases(Instant now) {
+        Query expired = Query.query(Criteria.where("status").is(JobStatus.RUNNING)
+                .and("lockedUntil").lte(now)
+                .and("attempts").gte(maxAttempts));
+        Update dead = new Update()
+                .set("status", JobStatus.DEAD)
+                .set("lastError", "Lease expired after " + maxAttempts + " attempts")
+                .unset("lockedUntil");
+        mongoTemplate.updateMulti(expired, dead, JobModel.class);
+    }
+
+    private void runBatch(List<JobModel> batch) {
+        List<Callable<Void>> tasks = batch.stream().<Callable<Void>>map(job -> () -> {
+            execute(job);
+            return null;
+        }).toList();
+
+        List<Future<Void>> results;
+        try {
+            results = executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            // Lease läuft ab, die Jobs werden später erneut übernommen
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        Instant now = Instant.now();
+        List<String> doneIds = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            JobModel job = batch.get(i);
+            try {
+                results.get(i).get();
+                doneIds.add(job.id());
+            } catch (ExecutionException e) {
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(job.id())), failureUpdate(job, e.getCause(), now), JobModel.class);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (!doneIds.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(doneIds)), JobModel.class);
+        }
+    }
+
+    private void execute(JobModel job) throws Exception {
+        JobHandler handler = handlers.get(job.type());
+        if (handler == null) {
+            throw new IllegalStateException("No handler for job type: " + job.type());
+        }
+        handler.handle(job.payload());
+    }
+
+    private Update failureUpdate(JobModel job, Throwable error, Instant now) {
+        Update update = new Update()
+                .set("lastError", error.getClass().getSimpleName() + ": " + error.getMessage())
+                .unset("lockedUntil");
+        if (job.attempts() >= maxAttempts) {
+            return update.set("status", JobStatus.DEAD);
+        }
+        return update
+                .set("status", JobStatus.PENDING)
+                .set("nextAttemptAt", now.plusMillis(backoffMs(job.attempts())));
+    }
+
+    // Exponentiell mit Jitter, damit nach einem Ausfall des Image-Hosts nicht alle Jobs gleichzeitig wiederkommen
+    private long backoffMs(int attempts) {
+        long backoff = Math.min(initialBackoffMs << Math.min(attempts - 1, 30), maxBackoffMs);
+        long half = backoff / 2;
+        return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+}
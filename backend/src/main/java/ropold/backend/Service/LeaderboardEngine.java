@@ -0,0 +1,363 @@
+package ropold.backend.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import ropold.backend.model.Category;
+import ropold.backend.model.ChangeVersion;
+import ropold.backend.model.GameMode;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.repository.HighScoreRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@RequiredArgsConstructor
+public class LeaderboardEngine {
+
+    public static final int CAPACITY = 10;
+    // Ranglisten pro Reveal gibt es beliebig viele, im Speicher liegen nur die zuletzt gebrauchten
+    private static final int MAX_CACHED_REVEAL_BOARDS = 10_000;
+
+    private final HighScoreRepository highScoreRepository;
+    private final ChangeVersionService changeVersionService;
+
+    private final Map<GameMode, ReentrantLock> locks = createLocks();
+    private final Map<BoardKey, Board> boards = createBoards();
+    // Scores anderer Instanzen kommen über RemoteChangeEvent an, der Ablauf nach einer Minute ist nur die Rückfallebene
+    private final Cache<RevealBoardKey, List<HighScoreModel>> revealBoards = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_REVEAL_BOARDS)
+            .expireAfterWrite(1, TimeUnit.MINUTES)
+            .build();
+
+    // category == null steht für die Gesamtliste eines Spielmodus
+    private record BoardKey(GameMode gameMode, Category category) {
+    }
+
+    private record RevealBoardKey(GameMode gameMode, String revealId) {
+    }
+
+    private static Map<GameMode, ReentrantLock> createLocks() {
+        Map<GameMode, ReentrantLock> result = new EnumMap<>(GameMode.class);
+        for (GameMode gameMode : GameMode.values()) {
+            result.put(gameMode, new ReentrantLock());
+        }
+        return result;
+    }
+
+    // Pro Spielmodus, damit neue Zeiten nicht die ETags der Klick-Ranglisten ungültig machen
+    public static String changesOf(GameMode gameMode) {
+        return "highscores-" + gameMode.name().toLowerCase();
+    }
+
+    private Map<BoardKey, Board> createBoards() {
+        Map<BoardKey, Board> result = new HashMap<>();
+        for (GameMode gameMode : GameMode.values()) {
+            result.put(new BoardKey(gameMode, null), new Board(new BoardKey(gameMode, null)));
+            for (Category category : Category.values()) {
+                result.put(new BoardKey(gameMode, category), new Board(new BoardKey(gameMode, category)));
+            }
+        }
+        return result;
+    }
+
+    private static Comparator<HighScoreModel> order(GameMode gameMode) {
+        return switch (gameMode) {
+            case REVEAL_OVER_TIME -> Comparator.comparingDouble(HighScoreModel::scoreTime);
+            case REVEAL_WITH_CLICKS -> Comparator.comparingInt(HighScoreModel::numberOfClicks);
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        for (GameMode gameMode : GameMode.values()) {
+            ReentrantLock lock = locks.get(gameMode);
+            lock.lock();
+            try {
+                boards.values().stream()
+                        .filter(board -> board.key.gameMode() == gameMode)
+                        .forEach(Board::load);
+                invalidateRevealBoards(gameMode);
+            } finally {
+                lock.unlock();
+            }
+            changeVersionService.increment(changesOf(gameMode));
+        }
+    }
+
+    // Eine andere Instanz hat Scores geändert: Ranglisten des Spielmodus beim nächsten Zugriff aus Mongo laden
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        for (GameMode gameMode : GameMode.values()) {
+            if (!changesOf(gameMode).equals(event.name())) {
+                continue;
+            }
+            ReentrantLock lock = locks.get(gameMode);
+            lock.lock();
+            try {
+                invalidate(gameMode);
+                invalidateRevealBoards(gameMode);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Gilt für alle Ranglisten eines Spielmodus, auch die pro Reveal aus Mongo
+    public ChangeVersion getChangeVersion(GameMode gameMode) {
+        return changeVersionService.current(changesOf(gameMode));
+    }
+
+    public List<HighScoreModel> getTopScores(GameMode gameMode) {
+        return getTopScores(gameMode, null);
+    }
+
+    public List<HighScoreModel> getTopScores(GameMode gameMode, Category category) {
+        Board board = boards.get(new BoardKey(gameMode, category));
+        List<HighScoreModel> current = board.entries;
+        if (current != null) {
+            return current;
+        }
+        ReentrantLock lock = locks.get(gameMode);
+        lock.lock();
+        try {
+            return board.ensureLoaded();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Fehlt die Rangliste im Cache, wird sie ohne Lock aus Mongo geladen
+    public List<HighScoreModel> getTopScoresForReveal(GameMode gameMode, String revealId) {
+        return revealBoards.get(new RevealBoardKey(gameMode, revealId), this::loadTopScoresForReveal);
+    }
+
+    private List<HighScoreModel> loadTopScoresForReveal(RevealBoardKey key) {
+        return List.copyOf(switch (key.gameMode()) {
+            case REVEAL_OVER_TIME -> highScoreRepository.findByGameModeAndRevealIdOrderByScoreTimeAsc(key.gameMode(), key.revealId(), Limit.of(CAPACITY));
+            case REVEAL_WITH_CLICKS -> highScoreRepository.findByGameModeAndRevealIdOrderByNumberOfClicksAsc(key.gameMode(), key.revealId(), Limit.of(CAPACITY));
+        });
+    }
+
+    // Gibt den gespeicherten Score zurück oder null, wenn er es in keine Rangliste schafft
+    public HighScoreModel submit(HighScoreModel highScoreModel) {
+        GameMode gameMode = highScoreModel.gameMode();
+        Board overall = boards.get(new BoardKey(gameMode, null));
+        Board byCategory = highScoreModel.category() == null ? null : boards.get(new BoardKey(gameMode, highScoreModel.category()));
+
+        // Die Rangliste des Reveals vor dem Lock holen, damit keine Mongo-Abfrage andere Einreichungen aufhält
+        List<HighScoreModel> cachedRevealScores = highScoreModel.revealId() == null
+                ? List.of()
+                : getTopScoresForReveal(gameMode, highScoreModel.revealId());
+
+        // Schneller Weg ohne Lock: schlechter als Platz 10 in allen Listen im Speicher
+        if (overall.rejects(highScoreModel)
+                && (byCategory == null || byCategory.rejects(highScoreModel))
+                && !entersRevealBoard(highScoreModel, cachedRevealScores)) {
+            return null;
+        }
+
+        ReentrantLock lock = locks.get(gameMode);
+        lock.lock();
+        try {
+            boolean entersOverall = overall.qualifies(overall.ensureLoaded(), highScoreModel);
+            boolean entersCategory = byCategory != null && byCategory.qualifies(byCategory.ensureLoaded(), highScoreModel);
+            // Erneut unter dem Lock aus dem Cache: Einfügungen in die Rangliste des Reveals laufen nur hier
+            List<HighScoreModel> revealScores = highScoreModel.revealId() == null
+                    ? List.of()
+                    : getTopScoresForReveal(gameMode, highScoreModel.revealId());
+            boolean entersReveal = entersRevealBoard(highScoreModel, revealScores);
+
+            if (!entersOverall && !entersCategory && !entersReveal) {
+                return null;
+            }
+
+            HighScoreModel saved = highScoreRepository.save(highScoreModel);
+
+            // Verdrängte Scores werden nur gelöscht, wenn sie in keiner ihrer Listen mehr stehen
+            Set<HighScoreModel> displaced = new LinkedHashSet<>();
+            if (entersOverall) {
+                addIfPresent(displaced, overall.insert(saved));
+            }
+            if (entersCategory) {
+                addIfPresent(displaced, byCategory.insert(saved));
+            }
+            if (entersReveal) {
+                addIfPresent(displaced, insertIntoRevealBoard(saved, revealScores));
+            }
+            for (HighScoreModel candidate : displaced) {
+                if (!isRanked(candidate)) {
+                    highScoreRepository.deleteById(candidate.id());
+                }
+            }
+            changeVersionService.increment(changesOf(gameMode));
+            return saved;
+        } catch (RuntimeException e) {
+            // Zustand in Mongo ist unklar, beim nächsten Zugriff neu laden
+            invalidate(gameMode);
+            invalidateRevealBoards(gameMode);
+            changeVersionService.increment(changesOf(gameMode));
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onDeleted(String highScoreId) {
+        for (GameMode gameMode : GameMode.values()) {
+            ReentrantLock lock = locks.get(gameMode);
+            lock.lock();
+            try {
+                // Betroffene Listen neu laden, damit der nächstbeste Score nachrückt
+                boards.values().stream()
+                        .filter(board -> board.key.gameMode() == gameMode && board.contains(highScoreId))
+                        .forEach(board -> board.entries = null);
+                revealBoards.asMap().entrySet()
+                        .removeIf(entry -> entry.getKey().gameMode() == gameMode && containsId(entry.getValue(), highScoreId));
+            } finally {
+                lock.unlock();
+            }
+            // Der Score kann auch in einer Rangliste pro Reveal gestanden haben, die nicht im Speicher liegt
+            changeVersionService.increment(changesOf(gameMode));
+        }
+    }
+
+    private void invalidate(GameMode gameMode) {
+        boards.values().stream()
+                .filter(board -> board.key.gameMode() == gameMode)
+                .forEach(board -> board.entries = null);
+    }
+
+    private void invalidateRevealBoards(GameMode gameMode) {
+        revealBoards.asMap().keySet().removeIf(key -> key.gameMode() == gameMode);
+    }
+
+    private static boolean entersRevealBoard(HighScoreModel highScoreModel, List<HighScoreModel> revealScores) {
+        return highScoreModel.revealId() != null
+                && (revealScores.size() < CAPACITY || order(highScoreModel.gameMode()).compare(highScoreModel, revealScores.getLast()) < 0);
+    }
+
+    // Wie Board.insert, nur für die Rangliste im Cache. Gibt den verdrängten Eintrag zurück.
+    private HighScoreModel insertIntoRevealBoard(HighScoreModel highScoreModel, List<HighScoreModel> revealScores) {
+        List<HighScoreModel> next = insertSorted(revealScores, highScoreModel, order(highScoreModel.gameMode()));
+        HighScoreModel evicted = next.size() > CAPACITY ? next.removeLast() : null;
+        revealBoards.put(new RevealBoardKey(highScoreModel.gameMode(), highScoreModel.revealId()), List.copyOf(next));
+        return evicted;
+    }
+
+    // Gleich gute Scores werden hinter den bereits vorhandenen eingereiht
+    private static List<HighScoreModel> insertSorted(List<HighScoreModel> current, HighScoreModel highScoreModel,
+                                                     Comparator<HighScoreModel> order) {
+        List<HighScoreModel> next = new ArrayList<>(current.size() + 1);
+        next.addAll(current);
+        int index = 0;
+        while (index < current.size() && order.compare(current.get(index), highScoreModel) <= 0) {
+            index++;
+        }
+        next.add(index, highScoreModel);
+        return next;
+    }
+
+    private static void addIfPresent(Set<HighScoreModel> target, HighScoreModel highScoreModel) {
+        if (highScoreModel != null) {
+            target.add(highScoreModel);
+        }
+    }
+
+    private boolean isRanked(HighScoreModel highScoreModel) {
+        GameMode gameMode = highScoreModel.gameMode();
+        if (containsId(boards.get(new BoardKey(gameMode, null)).ensureLoaded(), highScoreModel.id())) {
+            return true;
+        }
+        if (highScoreModel.category() != null
+                && containsId(boards.get(new BoardKey(gameMode, highScoreModel.category())).ensureLoaded(), highScoreModel.id())) {
+            return true;
+        }
+        return highScoreModel.revealId() != null
+                && containsId(getTopScoresForReveal(gameMode, highScoreModel.revealId()), highScoreModel.id());
+    }
+
+    private static boolean containsId(List<HighScoreModel> highScores, String highScoreId) {
+        return highScores.stream().anyMatch(entry -> highScoreId.equals(entry.id()));
+    }
+
+    private List<HighScoreModel> loadTopScores(BoardKey key) {
+        Limit limit = Limit.of(CAPACITY);
+        if (key.category() == null) {
+            return switch (key.gameMode()) {
+                case REVEAL_OVER_TIME -> highScoreRepository.findByGameModeOrderByScoreTimeAsc(key.gameMode(), limit);
+                case REVEAL_WITH_CLICKS -> highScoreRepository.findByGameModeOrderByNumberOfClicksAsc(key.gameMode(), limit);
+            };
+        }
+        return switch (key.gameMode()) {
+            case REVEAL_OVER_TIME -> highScoreRepository.findByGameModeAndCategoryOrderByScoreTimeAsc(key.gameMode(), key.category(), limit);
+            case REVEAL_WITH_CLICKS -> highScoreRepository.findByGameModeAndCategoryOrderByNumberOfClicksAsc(key.gameMode(), key.category(), limit);
+        };
+    }
+
+    /**
+     * Top-K Liste im Speicher. Lesende Zugriffe sehen immer einen unveränderlichen Snapshot,
+     * Änderungen laufen unter dem Lock des Spielmodus, damit nie mehr als K Einträge entstehen.
+     */
+    private final class Board {
+
+        private final BoardKey key;
+        private final Comparator<HighScoreModel> order;
+
+        // null bedeutet: noch nicht aus Mongo geladen
+        private volatile List<HighScoreModel> entries;
+
+        private Board(BoardKey key) {
+            this.key = key;
+            this.order = order(key.gameMode());
+        }
+
+        private void load() {
+            entries = List.copyOf(loadTopScores(key));
+        }
+
+        private List<HighScoreModel> ensureLoaded() {
+            if (entries == null) {
+                load();
+            }
+            return entries;
+        }
+
+        // Nur sicher entscheidbar, wenn die Liste geladen und voll ist
+        private boolean rejects(HighScoreModel candidate) {
+            List<HighScoreModel> current = entries;
+            return current != null && !qualifies(current, candidate);
+        }
+
+        // Bei voller Liste muss der neue Score echt besser sein als der bisher schlechteste
+        private boolean qualifies(List<HighScoreModel> current, HighScoreModel candidate) {
+            return current.size() < CAPACITY || order.compare(candidate, current.getLast()) < 0;
+        }
+
+        private boolean contains(String highScoreId) {
+            List<HighScoreModel> current = entries;
+            return current != null && containsId(current, highScoreId);
+        }
+
+        // Fügt den Score ein und gibt den verdrängten Eintrag zurück
+        private HighScoreModel insert(HighScoreModel highScoreModel) {
+            List<HighScoreModel> next = insertSorted(entries, highScoreModel, order);
+            HighScoreModel evicted = next.size() > CAPACITY ? next.removeLast() : null;
+            entries = List.copyOf(next);
+            return evicted;
+        }
+    }
+}
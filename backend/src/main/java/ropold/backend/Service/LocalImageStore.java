@@ -0,0 +1,104 @@
+package ropold.backend.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import ropold.backend.exception.ImageDeletionException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Legt Bilder im lokalen Dateisystem ab, z.B. für Knoten ohne Zugriff auf Cloudinary.
+ * Ausgeliefert werden sie vom {@link ropold.backend.controller.ImageController}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.image-store.type", havingValue = "local")
+public class LocalImageStore implements ImageStore {
+
+    public static final String URL_PREFIX = "/api/images/";
+
+    // Nur selbst vergebene Namen, damit kein Pfad außerhalb des Verzeichnisses erreichbar ist
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9-]+\\.(jpg|png|gif|webp)");
+
+    private final IdService idService;
+    private final Path directory;
+
+    public LocalImageStore(IdService idService, @Value("${app.image-store.local.directory:images}") String directory) throws IOException {
+        this.idService = idService;
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        Files.createDirectories(this.directory);
+    }
+
+    @Override
+    public String store(byte[] image) throws IOException {
+        String fileName = idService.generateRandomId() + "." + detectExtension(image);
+        Path target = directory.resolve(fileName);
+
+        // Erst vollständig schreiben, dann umbenennen, damit nie eine halbe Datei ausgeliefert wird
+        Path part = directory.resolve(fileName + ".part");
+        Files.write(part, image, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+        return URL_PREFIX + fileName;
+    }
+
+    @Override
+    public void delete(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith(URL_PREFIX)) {
+            return; // Bild liegt nicht in diesem Store
+        }
+        Optional<Path> path = resolve(imageUrl.substring(URL_PREFIX.length()));
+        if (path.isEmpty()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path.get());
+        } catch (IOException e) {
+            throw new ImageDeletionException("Error deleting image from local store: " + imageUrl);
+        }
+    }
+
+    public Optional<Path> resolve(String fileName) {
+        if (!FILE_NAME.matcher(fileName).matches()) {
+            return Optional.empty();
+        }
+        Path path = directory.resolve(fileName).normalize();
+        if (!path.startsWith(directory) || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(path);
+    }
+
+    public static String contentType(Path path) {
+        String fileName = path.getFileName().toString();
+        return switch (fileName.substring(fileName.lastIndexOf('.') + 1)) {
+            case "png" -> "image/png";
+            case "gif" -> "image/gif";
+            case "webp" -> "image/webp";
+            default -> "image/jpeg";
+        };
+    }
+
+    // Dateityp anhand der ersten Bytes, der Dateiname vom Client wird nicht verwendet
+    static String detectExtension(byte[] image) throws IOException {
+        if (image.length >= 3 && (image[0] & 0xff) == 0xff && (image[1] & 0xff) == 0xd8 && (image[2] & 0xff) == 0xff) {
+            return "jpg";
+        }
+        if (image.length >= 8 && (image[0] & 0xff) == 0x89 && image[1] == 'P' && image[2] == 'N' && image[3] == 'G') {
+            return "png";
+        }
+        if (image.length >= 6 && image[0] == 'G' && image[1] == 'I' && image[2] == 'F' && image[3] == '8') {
+            return "gif";
+        }
+        if (image.length >= 12 && image[0] == 'R' && image[1] == 'I' && image[2] == 'F' && image[3] == 'F'
+                && image[8] == 'W' && image[9] == 'E' && image[10] == 'B' && image[11] == 'P') {
+            return "webp";
+        }
+        throw new IOException("Unsupported image format");
+    }
+}
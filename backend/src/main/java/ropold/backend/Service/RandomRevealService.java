@@ -0,0 +1,40 @@
+package ropold.backend.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ropold.backend.exception.RevealNotFoundException;
+import ropold.backend.model.Category;
+import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealSummary;
+
+@Service
+@RequiredArgsConstructor
+public class RandomRevealService {
+
+    private final ActiveCategoryRegistry activeCategoryRegistry;
+    private final RevealService revealService;
+
+    // Die id kommt aus dem Pool der Registry, geladen wird nur dieser eine Reveal (meist aus dem Cache)
+    public RevealSummary getRandomActiveReveal(Category category, RevealShuffleBags shuffleBags) {
+        String id = shuffleBags == null
+                ? activeCategoryRegistry.getRandomActiveId(category)
+                : shuffleBags.next(category, indexForSize -> activeCategoryRegistry.selectActiveId(category, indexForSize));
+        if (id == null) {
+            throw new RevealNotFoundException("No active reveal found" + (category == null ? "" : " in category " + category));
+        }
+        return toSummary(revealService.getRevealById(id));
+    }
+
+    private static RevealSummary toSummary(RevealModel reveal) {
+        return new RevealSummary(
+                reveal.id(),
+                reveal.name(),
+                reveal.category(),
+                reveal.isActive(),
+                reveal.githubId(),
+                reveal.imageUrl(),
+                reveal.imageStatus(),
+                reveal.imageVariants()
+        );
+    }
+}
@@ -0,0 +1,5 @@
+package ropold.backend.Service;
+
+// Ein Änderungszähler wurde von einer anderen Instanz erhöht, lokale Caches zu diesem Namen sind veraltet
+public record RemoteChangeEvent(String name) {
+}
@@ -0,0 +1,160 @@
+package ropold.backend.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.RevealImportError;
+import ropold.backend.model.RevealImportResult;
+import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealModelDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Importiert Reveals aus NDJSON (eine RevealModelDto pro Zeile). Der Request wird zeilenweise gelesen und in Batches
+ * geschrieben, im Speicher liegt also nie mehr als ein Batch. Die nächste Zeile wird erst gelesen, wenn der Batch in
+ * Mongo ist, so bremst ein langsames Mongo über TCP auch den Client (Backpressure).
+ */
+@Service
+public class RevealImportService {
+
+    private final RevealService revealService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public RevealImportService(RevealService revealService,
+                               ObjectMapper objectMapper,
+                               Validator validator,
+                               @Value("${app.import.batch-size:500}") int batchSize,
+                               @Value("${app.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.revealService = revealService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public RevealImportResult importNdjson(InputStream input, String githubId) throws IOException {
+        ImportState state = new ImportState(maxReportedErrors);
+        List<RevealModel> batch = new ArrayList<>(batchSize);
+        List<Integer> batchLines = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            RevealModelDto revealModelDto;
+            try {
+                revealModelDto = objectMapper.readValue(line, RevealModelDto.class);
+            } catch (JsonProcessingException e) {
+                state.reject(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            String error = validate(revealModelDto, githubId);
+            if (error != null) {
+                state.reject(lineNumber, error);
+                continue;
+            }
+            batch.add(toRevealModel(revealModelDto, githubId));
+            batchLines.add(lineNumber);
+            if (batch.size() == batchSize) {
+                flush(batch, batchLines, state);
+            }
+        }
+        flush(batch, batchLines, state);
+        return state.toResult();
+    }
+
+    private String validate(RevealModelDto revealModelDto, String githubId) {
+        if (revealModelDto == null) {
+            return "Line must contain a JSON object";
+        }
+        var violations = validator.validate(revealModelDto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        // Wie beim einzelnen Anlegen: nur eigene Reveals
+        if (revealModelDto.githubId() != null && !revealModelDto.githubId().equals(githubId)) {
+            return "githubId: You are not allowed to import reveals for another user";
+        }
+        return null;
+    }
+
+    private RevealModel toRevealModel(RevealModelDto revealModelDto, String githubId) {
+        return new RevealModel(
+                null,
+                revealModelDto.name(),
+                revealModelDto.solutionWords(),
+                revealModelDto.closeSolutionWords(),
+                revealModelDto.category(),
+                revealModelDto.description(),
+                revealModelDto.isActive(),
+                githubId,
+                revealModelDto.imageUrl(),
+                ImageStatus.READY,
+                null,
+                null,
+                null
+        );
+    }
+
+    private void flush(List<RevealModel> batch, List<Integer> batchLines, ImportState state) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Integer, String> failures = revealService.addReveals(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            String failure = failures.get(i);
+            if (failure == null) {
+                state.imported++;
+            } else {
+                state.reject(batchLines.get(i), failure);
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    // Gezählt werden alle Fehler, gemeldet nur die ersten maxReportedErrors
+    private static final class ImportState {
+        private final int maxReportedErrors;
+        private final List<RevealImportError> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        private ImportState(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void reject(int line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RevealImportError(line, message));
+            }
+        }
+
+        private RevealImportResult toResult() {
+            return new RevealImportResult(imported, failed, List.copyOf(errors));
+        }
+    }
+}
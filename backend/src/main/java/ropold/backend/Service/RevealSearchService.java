@@ -0,0 +1,71 @@
+package ropold.backend.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Service;
+import ropold.backend.exception.InvalidCursorException;
+import ropold.backend.model.Category;
+import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealPage;
+import ropold.backend.model.RevealSummary;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class RevealSearchService {
+
+    public static final String SEARCH_CACHE = "revealSearch";
+
+    // Felder von RevealSummary, der Text-Score kommt über sortByScore hinzu
+    static final String[] SUMMARY_FIELDS = {"name", "category", "isActive", "githubId", "imageUrl", "imageStatus", "imageVariants"};
+
+    private final MongoTemplate mongoTemplate;
+
+    // Volltextsuche über name und description (Text-Index), sortiert nach Relevanz.
+    // Der Cursor kodiert hier den Offset, weil nach Score und nicht nach _id sortiert wird.
+    @Cacheable(value = SEARCH_CACHE, key = "{#query.trim().toLowerCase(), #category, #cursor, #limit}")
+    public RevealPage searchActiveReveals(String query, Category category, String cursor, Integer limit) {
+        String normalizedQuery = query.trim();
+        if (normalizedQuery.isEmpty()) {
+            return new RevealPage(List.of(), null);
+        }
+
+        int pageSize = RevealService.resolvePageSize(limit);
+        int offset = decodeOffset(cursor);
+
+        TextQuery textQuery = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(normalizedQuery))
+                .sortByScore();
+        textQuery.addCriteria(Criteria.where("isActive").is(true));
+        if (category != null) {
+            textQuery.addCriteria(Criteria.where("category").is(category));
+        }
+        textQuery.with(Sort.by(Sort.Direction.ASC, "id"))
+                .skip(offset)
+                .limit(pageSize + 1);
+        textQuery.fields().include(SUMMARY_FIELDS);
+
+        List<RevealSummary> reveals = mongoTemplate.find(textQuery, RevealSummary.class, mongoTemplate.getCollectionName(RevealModel.class));
+        if (reveals.size() <= pageSize) {
+            return new RevealPage(reveals, null);
+        }
+        return new RevealPage(reveals.subList(0, pageSize), RevealService.encodeCursor(String.valueOf(offset + pageSize)));
+    }
+
+    private int decodeOffset(String cursor) {
+        String decoded = RevealService.decodeCursor(cursor);
+        if (decoded.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(decoded));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
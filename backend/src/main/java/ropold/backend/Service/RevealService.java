@@ -1,26 +1,129 @@
 package ropold.backend.Service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import ropold.backend.exception.InvalidCursorException;
 import ropold.backend.exception.RevealNotFoundException;
+import ropold.backend.model.Category;
+import ropold.backend.model.ChangeVersion;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.ImageStatusModel;
+import ropold.backend.model.ImageVariants;
+import ropold.backend.model.JobType;
 import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealPage;
+import ropold.backend.model.RevealSummary;
 import ropold.backend.repository.RevealRepository;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
+@Timed("revealhub.service")
 public class RevealService {
 
     private final IdService idService;
     private final RevealRepository revealRepository;
-    private final CloudinaryService cloudinaryService;
+    private final JobQueueService jobQueueService;
+    private final ActiveCategoryRegistry activeCategoryRegistry;
+    private final GuessMatcherRegistry guessMatcherRegistry;
+    private final ChangeVersionService changeVersionService;
 
-    public List<RevealModel> getAllReveals() {
-        return revealRepository.findAll();
+    public static final String REVEAL_CACHE = "reveals";
+    // Jede Änderung an Reveals erhöht den Zähler, daraus entstehen die ETags der Listen-Endpunkte
+    public static final String REVEAL_CHANGES = "reveals";
+    public static final int DEFAULT_PAGE_SIZE = 12;
+    public static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_CONFLICT_RETRIES = 3;
+
+    public ChangeVersion getChangeVersion() {
+        return changeVersionService.current(REVEAL_CHANGES);
+    }
+
+    // Reveals von vor der Einführung der Version
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeVersions() {
+        revealRepository.initializeMissingVersions();
+    }
+
+    // Reveals wurden auf einer anderen Instanz geändert: Caches verwerfen, Pools und Matcher aus Mongo neu aufbauen
+    @EventListener(condition = "#event.name() == '" + REVEAL_CHANGES + "'")
+    @Caching(evict = {
+            @CacheEvict(value = REVEAL_CACHE, allEntries = true),
+            @CacheEvict(value = RevealSearchService.SEARCH_CACHE, allEntries = true)
+    })
+    public void onRemoteChange(RemoteChangeEvent event) {
+        activeCategoryRegistry.reload();
+        guessMatcherRegistry.invalidateAll();
+    }
+
+    public RevealPage getRevealsPage(String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        return toPage(revealRepository.findByIdGreaterThanOrderByIdAsc(decodeCursor(cursor), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    public RevealPage getActiveRevealsPage(Category category, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        String lastId = decodeCursor(cursor);
+        List<RevealSummary> reveals = category == null
+                ? revealRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(lastId, Limit.of(pageSize + 1))
+                : revealRepository.findByIsActiveTrueAndCategoryAndIdGreaterThanOrderByIdAsc(category, lastId, Limit.of(pageSize + 1));
+        return toPage(reveals, pageSize);
+    }
+
+    public RevealPage getRevealsForGithubUserPage(String githubId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        return toPage(revealRepository.findByGithubIdAndIdGreaterThanOrderByIdAsc(githubId, decodeCursor(cursor), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    static int resolvePageSize(Integer limit) {
+        if (limit == null || limit < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
     }
 
+    // Es wird ein Eintrag mehr geladen als angefordert, um zu wissen, ob es eine weitere Seite gibt
+    private RevealPage toPage(List<RevealSummary> reveals, int pageSize) {
+        if (reveals.size() <= pageSize) {
+            return new RevealPage(reveals, null);
+        }
+        List<RevealSummary> page = reveals.subList(0, pageSize);
+        return new RevealPage(page, encodeCursor(page.getLast().id()));
+    }
 
+    static String encodeCursor(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return "";
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+
+    @CacheEvict(value = RevealSearchService.SEARCH_CACHE, allEntries = true)
     public RevealModel addReveal(RevealModel revealModel) {
         RevealModel newRevealModel = new RevealModel(
                 idService.generateRandomId(),
@@ -31,39 +134,107 @@ public class RevealService {
                 revealModel.description(),
                 revealModel.isActive(),
                 revealModel.githubId(),
-                revealModel.imageUrl()
+                revealModel.imageUrl(),
+                revealModel.imageStatus(),
+                revealModel.imageVariants(),
+                null,
+                null
         );
-        return revealRepository.save(newRevealModel);
+        RevealModel savedRevealModel = revealRepository.save(newRevealModel);
+        activeCategoryRegistry.onAdded(savedRevealModel);
+        guessMatcherRegistry.onRevealSaved(savedRevealModel);
+        changeVersionService.increment(REVEAL_CHANGES);
+        return savedRevealModel;
     }
 
-    public List<RevealModel> getActiveReveals() {
-        return revealRepository.findAll().stream()
-                .filter(RevealModel::isActive)
+    // Bulk-Import: ein ungeordneter Insert pro Batch, liefert die Fehler je Index in revealModels
+    @CacheEvict(value = RevealSearchService.SEARCH_CACHE, allEntries = true)
+    public Map<Integer, String> addReveals(List<RevealModel> revealModels) {
+        // Version und Zeitstempel werden gesetzt, weil Bulk-Inserts Versionierung und Auditing nicht durchlaufen
+        Instant now = Instant.now();
+        List<RevealModel> newRevealModels = revealModels.stream()
+                .map(revealModel -> new RevealModel(
+                        idService.generateRandomId(),
+                        revealModel.name(),
+                        revealModel.solutionWords(),
+                        revealModel.closeSolutionWords(),
+                        revealModel.category(),
+                        revealModel.description(),
+                        revealModel.isActive(),
+                        revealModel.githubId(),
+                        revealModel.imageUrl(),
+                        revealModel.imageStatus(),
+                        revealModel.imageVariants(),
+                        0L,
+                        now
+                ))
                 .toList();
+        Map<Integer, String> failures = revealRepository.insertUnordered(newRevealModels);
+        for (int i = 0; i < newRevealModels.size(); i++) {
+            if (!failures.containsKey(i)) {
+                activeCategoryRegistry.onAdded(newRevealModels.get(i));
+                guessMatcherRegistry.onRevealSaved(newRevealModels.get(i));
+            }
+        }
+        if (failures.size() < newRevealModels.size()) {
+            changeVersionService.increment(REVEAL_CHANGES);
+        }
+        return failures;
     }
 
+    @Cacheable(REVEAL_CACHE)
     public RevealModel getRevealById(String id) {
         return revealRepository.findById(id).orElseThrow(() -> new RevealNotFoundException("No Reveal found with id: " + id));
     }
 
 
+    @Caching(evict = {
+            @CacheEvict(value = REVEAL_CACHE, key = "#id"),
+            @CacheEvict(value = RevealSearchService.SEARCH_CACHE, allEntries = true)
+    })
     public void deleteReveal(String id) {
         RevealModel revealModel = revealRepository.findById(id).orElseThrow(() -> new RevealNotFoundException("No Reveal found with id: " + id));
 
-        if(revealModel.imageUrl() != null) {
-            cloudinaryService.deleteImage(revealModel.imageUrl());
-        }
         revealRepository.deleteById(id);
+        activeCategoryRegistry.onRemoved(revealModel);
+        guessMatcherRegistry.onRevealDeleted(id);
+        changeVersionService.increment(REVEAL_CHANGES);
+        // Bilder erst nach dem Dokument löschen, der Image-Host wird im Hintergrund angesprochen
+        jobQueueService.enqueueAll(JobType.DELETE_IMAGE, imageUrls(revealModel));
     }
 
-    public List<RevealModel> getRevealsForGithubUser(String githubId) {
-        return revealRepository.findAll().stream()
-                .filter(revealModel -> revealModel.githubId().equals(githubId))
-                .toList();
+    private List<String> imageUrls(RevealModel revealModel) {
+        List<String> imageUrls = new ArrayList<>();
+        if(revealModel.imageUrl() != null) {
+            imageUrls.add(revealModel.imageUrl());
+        }
+        ImageVariants imageVariants = revealModel.imageVariants();
+        if(imageVariants != null) {
+            if(imageVariants.thumbnailUrl() != null) {
+                imageUrls.add(imageVariants.thumbnailUrl());
+            }
+            if(imageVariants.playUrl() != null) {
+                imageUrls.add(imageVariants.playUrl());
+            }
+        }
+        return imageUrls;
     }
 
+    @Caching(
+            put = @CachePut(value = REVEAL_CACHE, key = "#id"),
+            evict = @CacheEvict(value = RevealSearchService.SEARCH_CACHE, allEntries = true)
+    )
     public RevealModel updateReveal(String id, RevealModel revealModel) {
-        if(revealRepository.existsById(id)) {
+        RevealModel savedRevealModel = retryOnConflict(() -> replaceReveal(id, revealModel));
+        changeVersionService.increment(REVEAL_CHANGES);
+        return savedRevealModel;
+    }
+
+    private RevealModel replaceReveal(String id, RevealModel revealModel) {
+        RevealModel existingRevealModel = revealRepository.findById(id).orElse(null);
+        if(existingRevealModel != null) {
+            // Ohne neuen Upload gelten die Bild-Felder aus der Datenbank, ein laufender Upload kann sie gerade gesetzt haben
+            boolean newUpload = revealModel.imageStatus() == ImageStatus.PENDING;
             RevealModel updatedRevealModel = new RevealModel(
                     id,
                     revealModel.name(),
@@ -73,47 +244,105 @@ public class RevealService {
                     revealModel.description(),
                     revealModel.isActive(),
                     revealModel.githubId(),
-                    revealModel.imageUrl()
+                    newUpload ? revealModel.imageUrl() : existingRevealModel.imageUrl(),
+                    newUpload ? revealModel.imageStatus() : existingRevealModel.imageStatus(),
+                    newUpload ? revealModel.imageVariants() : existingRevealModel.imageVariants(),
+                    existingRevealModel.version(),
+                    null
             );
-            return revealRepository.save(updatedRevealModel);
+            RevealModel savedRevealModel = revealRepository.save(updatedRevealModel);
+            activeCategoryRegistry.onReplaced(existingRevealModel, savedRevealModel);
+            guessMatcherRegistry.onRevealSaved(savedRevealModel);
+            return savedRevealModel;
         }
         throw new RevealNotFoundException("No Reveal found with id: " + id);
     }
 
-    public List<RevealModel> getRevealsByIds(List<String> favoriteRevealIds) {
-        return revealRepository.findAllById(favoriteRevealIds);
+    // Ein paralleler Schreibzugriff (z.B. ein fertiger Bild-Upload) hat die Version erhöht: mit frischem Stand wiederholen
+    private static <T> T retryOnConflict(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_CONFLICT_RETRIES) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Caching(evict = {
+            @CacheEvict(value = REVEAL_CACHE, key = "#id"),
+            @CacheEvict(value = RevealSearchService.SEARCH_CACHE, allEntries = true)
+    })
+    public boolean completeImageUpload(String id, String imageUrl, ImageVariants imageVariants) {
+        boolean updated = revealRepository.updateImage(id, imageUrl, imageVariants, ImageStatus.READY) > 0;
+        // Gelöscht oder von einem neueren Upload überholt: nichts geändert, die ETags bleiben gültig
+        if (updated) {
+            changeVersionService.increment(REVEAL_CHANGES);
+        }
+        return updated;
     }
 
+    @CacheEvict(value = REVEAL_CACHE, key = "#id")
+    public void failImageUpload(String id) {
+        if (revealRepository.updateImageStatus(id, ImageStatus.FAILED) > 0) {
+            changeVersionService.increment(REVEAL_CHANGES);
+        }
+    }
+
+    public ImageStatusModel getImageStatus(String id) {
+        RevealModel reveal = getRevealById(id);
+        ImageStatus imageStatus = reveal.imageStatus();
+        if (imageStatus == null) {
+            // Reveals von vor der Einführung des Status
+            imageStatus = reveal.imageUrl() == null ? ImageStatus.NONE : ImageStatus.READY;
+        }
+        return new ImageStatusModel(id, imageStatus, reveal.imageUrl());
+    }
+
+    public List<RevealSummary> getRevealsByIds(List<String> favoriteRevealIds) {
+        return revealRepository.findByIdIn(favoriteRevealIds);
+    }
+
+    @Caching(
+            put = @CachePut(value = REVEAL_CACHE, key = "#id"),
+            evict = @CacheEvict(value = RevealSearchService.SEARCH_CACHE, allEntries = true)
+    )
     public RevealModel toggleRevealActive(String id) {
-        RevealModel reveal = revealRepository.findById(id)
-                .orElseThrow(() -> new RevealNotFoundException("No Reveal found with id: " + id));
-
-        RevealModel updatedReveal = new RevealModel(
-                id,
-                reveal.name(),
-                reveal.solutionWords(),
-                reveal.closeSolutionWords(),
-                reveal.category(),
-                reveal.description(),
-                !reveal.isActive(),
-                reveal.githubId(),
-                reveal.imageUrl()
-        );
-        return revealRepository.save(updatedReveal);
+        RevealModel savedReveal = retryOnConflict(() -> {
+            RevealModel reveal = revealRepository.findById(id)
+                    .orElseThrow(() -> new RevealNotFoundException("No Reveal found with id: " + id));
+
+            RevealModel updatedReveal = new RevealModel(
+                    id,
+                    reveal.name(),
+                    reveal.solutionWords(),
+                    reveal.closeSolutionWords(),
+                    reveal.category(),
+                    reveal.description(),
+                    !reveal.isActive(),
+                    reveal.githubId(),
+                    reveal.imageUrl(),
+                    reveal.imageStatus(),
+                    reveal.imageVariants(),
+                    reveal.version(),
+                    null
+            );
+            RevealModel saved = revealRepository.save(updatedReveal);
+            activeCategoryRegistry.onReplaced(reveal, saved);
+            return saved;
+        });
+        changeVersionService.increment(REVEAL_CHANGES);
+        return savedReveal;
     }
 
 
     public List<String> getActiveRevealCategories() {
-        return revealRepository.findAll().stream()
-                .filter(RevealModel::isActive) // Nur aktive Einträge filtern
-                .map(reveal -> reveal.category().name()) // Enum-Namen extrahieren
-                .distinct() // Doppelte Kategorien entfernen
-                .toList();
+        return activeCategoryRegistry.getActiveCategories();
     }
 
-    public List<RevealModel> getActiveRevealsByCategory(String category) {
-        return revealRepository.findAll().stream()
-                .filter(reveal -> reveal.isActive() && reveal.category().name().equals(category))
-                .toList();
+    public Map<Category, Integer> getActiveRevealCategoryCounts() {
+        return activeCategoryRegistry.getActiveCounts();
     }
 }
@@ -0,0 +1,85 @@
+package ropold.backend.Service;
+
+import ropold.backend.model.Category;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Shuffle-Bags eines Spielers, eine je Kategorie (und eine für alle Kategorien). Jede Position im Pool wird je Runde
+ * höchstens einmal gezogen, danach beginnt eine neue Runde. Lebt in der HTTP-Session.
+ * Gespeichert werden je Beutel nur Seed, Position und Poolgröße: eine mit dem Seed gebildete Permutation der
+ * Indizes 0..size-1 bildet die Position in O(1) auf einen Index im Pool ab. Ändert sich die Größe des Pools
+ * (Reveal aktiviert, deaktiviert oder gelöscht), beginnt eine neue Runde.
+ */
+public class RevealShuffleBags implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final String SESSION_ATTRIBUTE = "revealShuffleBags";
+
+    private static final String ALL_CATEGORIES = "ALL";
+
+    private final Map<String, Bag> bags = new HashMap<>();
+
+    // selectFromPool ruft den Operator mit der aktuellen Poolgröße auf und liefert die id am zurückgegebenen Index,
+    // null bei leerem Pool. So passen Größe und Index auch bei parallelen Änderungen am Pool zusammen.
+    public synchronized String next(Category category, Function<IntUnaryOperator, String> selectFromPool) {
+        Bag bag = bags.computeIfAbsent(category == null ? ALL_CATEGORIES : category.name(), key -> new Bag());
+        return selectFromPool.apply(bag::nextIndex);
+    }
+
+    private static class Bag implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private static final int ROUNDS = 4;
+
+        private long seed;
+        private int position;
+        private int size;
+
+        int nextIndex(int poolSize) {
+            if (poolSize != size || position >= size) {
+                seed = ThreadLocalRandom.current().nextLong();
+                position = 0;
+                size = poolSize;
+            }
+            return permute(position++);
+        }
+
+        // Feistel-Netz über 2^bits >= size, Werte außerhalb des Pools werden erneut verschlüsselt (Cycle Walking).
+        // Das bleibt eine Bijektion auf 0..size-1, der Bereich ist kleiner als 4 * size, also im Mittel wenige Schritte.
+        private int permute(int index) {
+            int halfBits = Math.max(1, (32 - Integer.numberOfLeadingZeros(Math.max(1, size - 1)) + 1) / 2);
+            int mask = (1 << halfBits) - 1;
+            int value = index;
+            do {
+                int left = value >>> halfBits;
+                int right = value & mask;
+                for (int round = 0; round < ROUNDS; round++) {
+                    int next = left ^ (roundFunction(right, round) & mask);
+                    left = right;
+                    right = next;
+                }
+                value = (left << halfBits) | right;
+            } while (value >= size);
+            return value;
+        }
+
+        // Finalizer von SplitMix64 über Seed, Runde und Hälfte
+        private int roundFunction(int half, int round) {
+            long z = seed + (((long) round << 32) | half) * 0x9e3779b97f4a7c15L;
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return (int) (z ^ (z >>> 31));
+        }
+    }
+}
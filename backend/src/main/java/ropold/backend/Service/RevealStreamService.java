@@ -0,0 +1,69 @@
+package ropold.backend.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import ropold.backend.model.Category;
+import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealSummary;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Listen als Stream über den reaktiven Mongo-Treiber. Jeder Reveal wird geschrieben, sobald er vom Cursor kommt,
+ * die vollständige Liste liegt nie im Speicher. Der Cursor liest erst weiter, wenn der Client die bisherigen
+ * Elemente abgenommen hat (Backpressure).
+ */
+@Service
+public class RevealStreamService {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public RevealStreamService(ReactiveMongoTemplate reactiveMongoTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${app.stream.batch-size:500}") int batchSize) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    // category ist nur zusammen mit activeOnly relevant, wie bei den Listen-Endpunkten
+    public Flux<RevealSummary> streamReveals(boolean activeOnly, Category category) {
+        Criteria criteria = new Criteria();
+        if (activeOnly) {
+            criteria = criteria.and("isActive").is(true);
+            if (category != null) {
+                criteria = criteria.and("category").is(category);
+            }
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by("_id"))
+                .cursorBatchSize(batchSize);
+        query.fields().include(RevealSearchService.SUMMARY_FIELDS);
+        return reactiveMongoTemplate.find(query, RevealSummary.class, reactiveMongoTemplate.getCollectionName(RevealModel.class));
+    }
+
+    // Ein JSON-Array, das Stück für Stück entsteht: "[", die Reveals mit Komma getrennt, "]"
+    public Flux<String> streamRevealsAsJsonArray(boolean activeOnly, Category category) {
+        Flux<String> elements = streamReveals(activeOnly, category)
+                .index()
+                .map(indexed -> (indexed.getT1() == 0 ? "" : ",") + toJson(indexed.getT2()));
+        return Flux.concat(Flux.just("["), elements, Flux.just("]"));
+    }
+
+    private String toJson(RevealSummary reveal) {
+        try {
+            return objectMapper.writeValueAsString(reveal);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
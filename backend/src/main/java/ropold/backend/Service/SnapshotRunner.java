@@ -0,0 +1,59 @@
+package ropold.backend.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Kommandozeile für Snapshots, z.B.
+ * {@code java -jar backend.jar --spring.main.web-application-type=none --app.snapshot.export=backup.ndjson.gz}
+ * bzw. {@code --app.snapshot.restore=backup.ndjson.gz}. Die Anwendung beendet sich danach.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SnapshotRunner implements ApplicationRunner {
+
+    private final SnapshotService snapshotService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${app.snapshot.export:}")
+    private String exportPath;
+
+    @Value("${app.snapshot.restore:}")
+    private String restorePath;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (exportPath.isBlank() && restorePath.isBlank()) {
+            return;
+        }
+        Map<String, Long> counts;
+        if (!exportPath.isBlank()) {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Path.of(exportPath)))) {
+                counts = snapshotService.exportSnapshot(out);
+            }
+            log.info("Snapshot exported to {}: {}", exportPath, counts);
+        } else {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(Path.of(restorePath)))) {
+                counts = snapshotService.restoreSnapshot(in);
+            }
+            log.info("Snapshot restored from {}: {}", restorePath, counts);
+        }
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
@@ -0,0 +1,281 @@
+package ropold.backend.Service;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.RenameCollectionOptions;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonParseException;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import ropold.backend.exception.SnapshotException;
+import ropold.backend.model.AppUser;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.RevealModel;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sicherung und Wiederherstellung der Reveal-, HighScore- und AppUser-Collections als ein gzip-Archiv.
+ * <p>
+ * Format: mehrere aneinandergehängte gzip-Member, einer pro Collection. Jeder beginnt mit einer Zeile
+ * {@code #collection <name>}, danach folgt ein Dokument pro Zeile als Extended JSON (Datumswerte und Zahlentypen
+ * bleiben erhalten). Beim Export schreibt jede Collection parallel über einen Mongo-Cursor in eine temporäre Datei,
+ * die Teile werden danach der Reihe nach in den Ausgabestrom kopiert. Beim Restore werden die Dokumente in Batches
+ * ungeordnet eingefügt, höchstens {@code app.snapshot.max-in-flight-batches} gleichzeitig. Der Speicherbedarf hängt
+ * so nur von Batchgröße und Parallelität ab, nicht von der Datenmenge.
+ * <p>
+ * Der Restore schreibt in temporäre Collections ({@code <name>_restore}) mit den Indizes der Ziel-Collection und
+ * ersetzt die Ziel-Collections erst, wenn das ganze Archiv eingelesen ist, per {@code renameCollection} mit
+ * dropTarget. Bricht er vorher ab, bleiben die bisherigen Daten unverändert.
+ */
+@Service
+public class SnapshotService {
+
+    static final String COLLECTION_HEADER = "#collection ";
+    static final String RESTORE_SUFFIX = "_restore";
+
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+    private final int maxInFlightBatches;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("snapshot-", 0).factory());
+
+    public SnapshotService(MongoTemplate mongoTemplate,
+                           @Value("${app.snapshot.batch-size:1000}") int batchSize,
+                           @Value("${app.snapshot.max-in-flight-batches:4}") int maxInFlightBatches) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+        this.maxInFlightBatches = maxInFlightBatches;
+    }
+
+    public List<String> getCollectionNames() {
+        return List.of(
+                mongoTemplate.getCollectionName(RevealModel.class),
+                mongoTemplate.getCollectionName(HighScoreModel.class),
+                mongoTemplate.getCollectionName(AppUser.class)
+        );
+    }
+
+    // Liefert die Anzahl exportierter Dokumente je Collection
+    public Map<String, Long> exportSnapshot(OutputStream out) throws IOException {
+        List<String> collectionNames = getCollectionNames();
+        List<Path> parts = new ArrayList<>();
+        List<Future<Long>> writers = new ArrayList<>();
+        try {
+            for (String collectionName : collectionNames) {
+                Path part = Files.createTempFile("snapshot-" + collectionName + "-", ".gz");
+                parts.add(part);
+                writers.add(executor.submit(() -> writePart(collectionName, part)));
+            }
+
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (int i = 0; i < collectionNames.size(); i++) {
+                counts.put(collectionNames.get(i), await(writers.get(i)));
+                Files.copy(parts.get(i), out);
+            }
+            out.flush();
+            return counts;
+        } finally {
+            writers.forEach(writer -> writer.cancel(true));
+            for (Path part : parts) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    private long writePart(String collectionName, Path part) throws IOException {
+        long count = 0;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(part)), StandardCharsets.UTF_8));
+             MongoCursor<Document> cursor = mongoTemplate.getCollection(collectionName).find().batchSize(batchSize).iterator()) {
+            writer.write(COLLECTION_HEADER + collectionName + "\n");
+            while (cursor.hasNext()) {
+                writer.write(cursor.next().toJson(JSON_SETTINGS));
+                writer.write('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Ersetzt den Inhalt jeder im Archiv enthaltenen Collection durch die Dokumente aus dem Archiv.
+     * Laufende Instanzen halten Registries und Caches im Speicher und sollten danach neu gestartet werden.
+     */
+    public Map<String, Long> restoreSnapshot(InputStream in) throws IOException {
+        List<String> allowedCollections = getCollectionNames();
+        Map<String, AtomicLong> counts = new LinkedHashMap<>();
+        // Ziel-Collection -> temporäre Collection, in die eingelesen wird
+        Map<String, MongoCollection<Document>> staging = new LinkedHashMap<>();
+        boolean replaced = false;
+        Semaphore inFlight = new Semaphore(maxInFlightBatches);
+        List<Future<?>> pending = new ArrayList<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(in), StandardCharsets.UTF_8));
+        MongoCollection<Document> collection = null;
+        AtomicLong count = null;
+        List<Document> batch = new ArrayList<>(batchSize);
+        String line;
+        int lineNumber = 0;
+        try {
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (line.startsWith(COLLECTION_HEADER)) {
+                    submitBatch(collection, batch, count, inFlight, pending);
+                    batch = new ArrayList<>(batchSize);
+                    String collectionName = line.substring(COLLECTION_HEADER.length()).trim();
+                    if (!allowedCollections.contains(collectionName)) {
+                        throw new SnapshotException("Unknown collection in snapshot line " + lineNumber + ": " + collectionName);
+                    }
+                    collection = staging.computeIfAbsent(collectionName, this::createStagingCollection);
+                    count = counts.computeIfAbsent(collectionName, name -> new AtomicLong());
+                    continue;
+                }
+                if (collection == null) {
+                    throw new SnapshotException("Snapshot must start with a collection header");
+                }
+                try {
+                    batch.add(Document.parse(line));
+                } catch (JsonParseException e) {
+                    throw new SnapshotException("Invalid document in snapshot line " + lineNumber + ": " + e.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    submitBatch(collection, batch, count, inFlight, pending);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            submitBatch(collection, batch, count, inFlight, pending);
+            for (Future<?> future : pending) {
+                await(future);
+            }
+            staging.forEach(this::replaceWithStaging);
+            replaced = true;
+        } finally {
+            if (!replaced) {
+                // Laufende Batches abwarten, sonst legt ein später Insert die gelöschte Collection wieder an
+                pending.forEach(SnapshotService::awaitQuietly);
+                staging.values().forEach(MongoCollection::drop);
+            }
+        }
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.forEach((name, restored) -> result.put(name, restored.get()));
+        return result;
+    }
+
+    private MongoCollection<Document> createStagingCollection(String collectionName) {
+        String stagingName = collectionName + RESTORE_SUFFIX;
+        mongoTemplate.getCollection(stagingName).drop();
+        // Explizit anlegen, damit auch eine leere Collection im Archiv umbenannt werden kann
+        mongoTemplate.getDb().createCollection(stagingName);
+        return mongoTemplate.getCollection(stagingName);
+    }
+
+    // Übernimmt die Indizes der Ziel-Collection (TTL, Unique, Text) und ersetzt sie dann in einem Schritt
+    private void replaceWithStaging(String collectionName, MongoCollection<Document> stagingCollection) {
+        List<Document> indexes = new ArrayList<>();
+        for (Document index : mongoTemplate.getCollection(collectionName).listIndexes()) {
+            if (!"_id_".equals(index.getString("name"))) {
+                index.remove("v");
+                index.remove("ns");
+                indexes.add(index);
+            }
+        }
+        MongoNamespace stagingNamespace = stagingCollection.getNamespace();
+        if (!indexes.isEmpty()) {
+            mongoTemplate.getDb().runCommand(new Document("createIndexes", stagingNamespace.getCollectionName()).append("indexes", indexes));
+        }
+        stagingCollection.renameCollection(new MongoNamespace(stagingNamespace.getDatabaseName(), collectionName),
+                new RenameCollectionOptions().dropTarget(true));
+    }
+
+    // Blockiert, solange schon maxInFlightBatches Batches geschrieben werden
+    private void submitBatch(MongoCollection<Document> collection, List<Document> batch, AtomicLong count,
+                             Semaphore inFlight, List<Future<?>> pending) {
+        if (collection == null || batch.isEmpty()) {
+            return;
+        }
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SnapshotException("Snapshot restore interrupted");
+        }
+        // Fertige Batches abräumen, ein Fehler bricht den Restore sofort ab
+        Iterator<Future<?>> futures = pending.iterator();
+        while (futures.hasNext()) {
+            Future<?> future = futures.next();
+            if (future.isDone()) {
+                await(future);
+                futures.remove();
+            }
+        }
+        pending.add(executor.submit(() -> {
+            try {
+                collection.insertMany(batch, new InsertManyOptions().ordered(false));
+                count.addAndGet(batch.size());
+            } finally {
+                inFlight.release();
+            }
+        }));
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new SnapshotException("Snapshot failed: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SnapshotException("Snapshot interrupted");
+        }
+    }
+
+    private static void awaitQuietly(Future<?> future) {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            // Der erste Fehler wurde schon geworfen
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+}
@@ -0,0 +1,30 @@
+package ropold.backend.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import ropold.backend.model.ChangeVersion;
+
+import java.util.function.Supplier;
+
+// Conditional GET: passt If-None-Match, wird 304 geantwortet, ohne den Body zu laden oder zu serialisieren
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> ifModified(WebRequest request, ChangeVersion version, Supplier<T> body) {
+        long lastModified = version.lastModified() == null ? -1 : version.lastModified().toEpochMilli();
+        if (request.checkNotModified(version.eTag(), lastModified)) {
+            // Status 304 und ETag hat checkNotModified bereits gesetzt
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(version.eTag())
+                .cacheControl(CacheControl.noCache());
+        if (version.lastModified() != null) {
+            response.lastModified(version.lastModified());
+        }
+        return response.body(body.get());
+    }
+}
@@ -0,0 +1,65 @@
+package ropold.backend.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.web.bind.annotation.*;
+import ropold.backend.Service.GameSessionService;
+import ropold.backend.model.GameFinishRequest;
+import ropold.backend.model.GameSessionModel;
+import ropold.backend.model.GameStartRequest;
+import ropold.backend.model.GuessRequest;
+import ropold.backend.model.GuessResponse;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.RevealedTileModel;
+import ropold.backend.security.ClientKeys;
+
+@RestController
+@RequestMapping("/api/game-sessions")
+@RequiredArgsConstructor
+public class GameSessionController {
+
+    private static final String ANONYMOUS_USER = "anonymousUser";
+
+    private final GameSessionService gameSessionService;
+
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping
+    public GameSessionModel startGame(@RequestBody @Valid GameStartRequest gameStartRequest, HttpServletRequest request) {
+        return gameSessionService.startGame(gameStartRequest.revealId(), gameStartRequest.gameMode(), ClientKeys.of(request));
+    }
+
+    @GetMapping("/{id}")
+    public GameSessionModel getGame(@PathVariable String id) {
+        return gameSessionService.getGame(id);
+    }
+
+    @PostMapping("/{id}/tiles")
+    public RevealedTileModel revealTile(@PathVariable String id) {
+        return gameSessionService.revealTile(id);
+    }
+
+    @PostMapping("/{id}/guess")
+    public GuessResponse guess(@PathVariable String id, @RequestBody @Valid GuessRequest guessRequest) {
+        return gameSessionService.guess(id, guessRequest.guess());
+    }
+
+    // Ohne Lösung beenden, die Antwort enthält dann die Lösungswörter
+    @PostMapping("/{id}/give-up")
+    public GameSessionModel giveUp(@PathVariable String id) {
+        return gameSessionService.giveUp(id);
+    }
+
+    // Zeit und Klicks kommen aus dem Spiel auf dem Server, der Body enthält nur den Namen
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping("/{id}/finish")
+    public HighScoreModel finishGame(@PathVariable String id,
+                                     @RequestBody @Valid GameFinishRequest gameFinishRequest,
+                                     @AuthenticationPrincipal OAuth2User authentication) {
+        String githubId = authentication == null ? ANONYMOUS_USER : authentication.getName();
+        return gameSessionService.finishGame(id, gameFinishRequest.playerName(), githubId);
+    }
+}
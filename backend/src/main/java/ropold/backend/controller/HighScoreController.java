@@ -1,10 +1,13 @@
 package ropold.backend.controller;
 
-import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ropold.backend.Service.HighScoreService;
+import ropold.backend.model.Category;
+import ropold.backend.model.GameMode;
 import ropold.backend.model.HighScoreModel;
 
 import java.util.List;
@@ -12,24 +15,41 @@ import java.util.List;
 @RestController
 @RequestMapping("api/high-score")
 @RequiredArgsConstructor
+// Highscores entstehen nur über /api/game-sessions/{id}/finish aus dem Spielstand auf dem Server
 public class HighScoreController {
 
     private final HighScoreService highScoreService;
 
     @GetMapping("/reveal-over-time")
-    public List<HighScoreModel> getBestHighScoresOverTime(){
-        return highScoreService.getBestHighScoresOverTime();
+    public ResponseEntity<List<HighScoreModel>> getBestHighScoresOverTime(@RequestParam(required = false) Category category, WebRequest request){
+        return ConditionalResponses.ifModified(request, highScoreService.getChangeVersion(GameMode.REVEAL_OVER_TIME), () -> {
+            if (category != null) {
+                return highScoreService.getBestHighScores(GameMode.REVEAL_OVER_TIME, category);
+            }
+            return highScoreService.getBestHighScoresOverTime();
+        });
     }
 
     @GetMapping("/reveal-with-clicks")
-    public List<HighScoreModel> getBestHighScoresWithClicks(){
-        return highScoreService.getBestHighScoresWithClicks();
+    public ResponseEntity<List<HighScoreModel>> getBestHighScoresWithClicks(@RequestParam(required = false) Category category, WebRequest request){
+        return ConditionalResponses.ifModified(request, highScoreService.getChangeVersion(GameMode.REVEAL_WITH_CLICKS), () -> {
+            if (category != null) {
+                return highScoreService.getBestHighScores(GameMode.REVEAL_WITH_CLICKS, category);
+            }
+            return highScoreService.getBestHighScoresWithClicks();
+        });
     }
 
-    @ResponseStatus(HttpStatus.CREATED)
-    @PostMapping()
-    public HighScoreModel addHighScore(@RequestBody @Valid HighScoreModel highScoreModel) {
-        return highScoreService.addHighScore(highScoreModel);
+    @GetMapping("/reveal-over-time/reveal/{revealId}")
+    public ResponseEntity<List<HighScoreModel>> getBestHighScoresOverTimeForReveal(@PathVariable String revealId, WebRequest request){
+        return ConditionalResponses.ifModified(request, highScoreService.getChangeVersion(GameMode.REVEAL_OVER_TIME),
+                () -> highScoreService.getBestHighScoresForReveal(GameMode.REVEAL_OVER_TIME, revealId));
+    }
+
+    @GetMapping("/reveal-with-clicks/reveal/{revealId}")
+    public ResponseEntity<List<HighScoreModel>> getBestHighScoresWithClicksForReveal(@PathVariable String revealId, WebRequest request){
+        return ConditionalResponses.ifModified(request, highScoreService.getChangeVersion(GameMode.REVEAL_WITH_CLICKS),
+                () -> highScoreService.getBestHighScoresForReveal(GameMode.REVEAL_WITH_CLICKS, revealId));
     }
 
     @ResponseStatus(HttpStatus.NO_CONTENT)
@@ -1,22 +1,48 @@
 package ropold.backend.controller;
 
+import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
 import ropold.backend.Service.AppUserService;
-import ropold.backend.Service.CloudinaryService;
+import ropold.backend.Service.CacheStatsService;
+import ropold.backend.Service.GuessMatcherRegistry;
+import ropold.backend.Service.ImageUploadService;
+import ropold.backend.Service.RandomRevealService;
+import ropold.backend.Service.RevealImportService;
+import ropold.backend.Service.RevealSearchService;
 import ropold.backend.Service.RevealService;
+import ropold.backend.Service.RevealShuffleBags;
+import ropold.backend.Service.RevealStreamService;
 import ropold.backend.exception.AccessDeniedException;
 import ropold.backend.exception.RevealNotFoundException;
+import ropold.backend.model.CacheStatsModel;
+import ropold.backend.model.Category;
+import ropold.backend.model.ChangeVersion;
+import ropold.backend.model.FavoriteUpdateModel;
+import ropold.backend.model.GuessRequest;
+import ropold.backend.model.GuessResponse;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.ImageStatusModel;
+import ropold.backend.model.RevealDetails;
+import ropold.backend.model.RevealImportResult;
 import ropold.backend.model.RevealModel;
 import ropold.backend.model.RevealModelDto;
+import ropold.backend.model.RevealPage;
+import ropold.backend.model.RevealSummary;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/reveal-hub")
@@ -24,42 +50,86 @@ import java.util.List;
 public class RevealController {
 
     private final RevealService revealService;
-    private final CloudinaryService cloudinaryService;
+    private final ImageUploadService imageUploadService;
     private final AppUserService appUserService;
+    private final CacheStatsService cacheStatsService;
+    private final RevealSearchService revealSearchService;
+    private final GuessMatcherRegistry guessMatcherRegistry;
+    private final RevealImportService revealImportService;
+    private final RevealStreamService revealStreamService;
+    private final RandomRevealService randomRevealService;
 
-    @GetMapping
-    public List<RevealModel> getAllReveals() {
-        return revealService.getAllReveals();
+    // Ungeteilte Listen gibt es nicht mehr: seitenweise über /page oder vollständig als Stream.
+    // Streams lesen direkt vom Cursor, ohne die Liste vorher im Speicher aufzubauen. Standard ist NDJSON,
+    // mit ?format=json kommt ein JSON-Array. Als asynchrone Anfragen enden sie spätestens nach
+    // spring.mvc.async.request-timeout.
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RevealSummary> streamAllReveals() {
+        return revealStreamService.streamReveals(false, null);
     }
 
-    @GetMapping("/active/category/{category}")
-    public List<RevealModel> getActiveRevealsByCategory(@PathVariable String category) {
-        return revealService.getActiveRevealsByCategory(category);
+    @GetMapping(value = "/stream", params = "format=json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<String> streamAllRevealsAsJsonArray() {
+        return revealStreamService.streamRevealsAsJsonArray(false, null);
+    }
+
+    @GetMapping(value = "/active/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RevealSummary> streamActiveReveals(@RequestParam(required = false) Category category) {
+        return revealStreamService.streamReveals(true, category);
+    }
+
+    @GetMapping(value = "/active/stream", params = "format=json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<String> streamActiveRevealsAsJsonArray(@RequestParam(required = false) Category category) {
+        return revealStreamService.streamRevealsAsJsonArray(true, category);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<RevealPage> getRevealsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        return ConditionalResponses.ifModified(request, revealService.getChangeVersion().forVariant(cursor, limit),
+                () -> revealService.getRevealsPage(cursor, limit));
     }
 
     @GetMapping("/active/categories")
-    public List<String> getActiveRevealCategories() {
-        return revealService.getActiveRevealCategories();
+    public ResponseEntity<List<String>> getActiveRevealCategories(WebRequest request) {
+        return ConditionalResponses.ifModified(request, revealService.getChangeVersion(), revealService::getActiveRevealCategories);
+    }
+
+    @GetMapping("/active/categories/counts")
+    public ResponseEntity<Map<Category, Integer>> getActiveRevealCategoryCounts(WebRequest request) {
+        return ConditionalResponses.ifModified(request, revealService.getChangeVersion(), revealService::getActiveRevealCategoryCounts);
+    }
+
+    @GetMapping("/cache/stats")
+    public CacheStatsModel getRevealCacheStats() {
+        return cacheStatsService.getCacheStats(RevealService.REVEAL_CACHE);
     }
 
     @GetMapping("/favorites")
-    public List<RevealModel> getUserFavorites(@AuthenticationPrincipal OAuth2User authentication) {
+    public List<RevealSummary> getUserFavorites(@AuthenticationPrincipal OAuth2User authentication) {
         List<String> favoriteRevealIds = appUserService.getUserFavorites(authentication.getName());
         return revealService.getRevealsByIds(favoriteRevealIds);
     }
 
+    // 201 wenn hinzugefügt, 200 wenn der Reveal schon Favorit war
     @PostMapping("/favorites/{revealId}")
-    @ResponseStatus(HttpStatus.CREATED)
-    public void addRevealToFavorites(@PathVariable String revealId, @AuthenticationPrincipal OAuth2User authentication) {
+    public ResponseEntity<FavoriteUpdateModel> addRevealToFavorites(@PathVariable String revealId, @AuthenticationPrincipal OAuth2User authentication) {
         String authenticatedUserId = authentication.getName();
-        appUserService.addRevealToFavorites(authenticatedUserId, revealId);
+        boolean changed = appUserService.addRevealToFavorites(authenticatedUserId, revealId);
+        return ResponseEntity.status(changed ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(new FavoriteUpdateModel(revealId, changed));
     }
 
+    // 204 wenn entfernt, 200 mit changed=false wenn der Reveal kein Favorit war
     @DeleteMapping("/favorites/{revealId}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void removeRevealFromFavorites(@PathVariable String revealId, @AuthenticationPrincipal OAuth2User authentication) {
+    public ResponseEntity<FavoriteUpdateModel> removeRevealFromFavorites(@PathVariable String revealId, @AuthenticationPrincipal OAuth2User authentication) {
         String authenticatedUserId = authentication.getName();
-        appUserService.removeRevealFromFavorites(authenticatedUserId, revealId);
+        if (appUserService.removeRevealFromFavorites(authenticatedUserId, revealId)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(new FavoriteUpdateModel(revealId, false));
     }
 
     @PutMapping("/{id}/toggle-active")
@@ -85,22 +155,75 @@ public class RevealController {
                         revealModelDto.description(),
                         revealModelDto.isActive(),
                         revealModelDto.githubId(),
-                        revealModelDto.imageUrl()
+                        revealModelDto.imageUrl(),
+                        revealModelDto.imageUrl() == null ? ImageStatus.NONE : ImageStatus.READY,
+                        null,
+                        null,
+                        null
                 ));
     }
 
-    @GetMapping("/active")
-    public List<RevealModel> getActiveReveals() {
-        return revealService.getActiveReveals();
+    // NDJSON mit einer RevealModelDto pro Zeile, ungültige Zeilen werden mit Zeilennummer gemeldet und übersprungen
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public RevealImportResult importReveals(InputStream body, @AuthenticationPrincipal OAuth2User authentication) throws IOException {
+        return revealImportService.importNdjson(body, authentication.getName());
+    }
+
+    // Zufälliger aktiver Reveal, innerhalb einer Session ohne Wiederholung bis alle einmal dran waren
+    @GetMapping("/active/random")
+    public RevealSummary getRandomActiveReveal(@RequestParam(required = false) Category category, HttpSession session) {
+        RevealShuffleBags shuffleBags = (RevealShuffleBags) session.getAttribute(RevealShuffleBags.SESSION_ATTRIBUTE);
+        if (shuffleBags == null) {
+            shuffleBags = new RevealShuffleBags();
+        }
+        RevealSummary reveal = randomRevealService.getRandomActiveReveal(category, shuffleBags);
+        // Erneut setzen, damit ein externer Session-Store den geänderten Beutel speichert
+        session.setAttribute(RevealShuffleBags.SESSION_ATTRIBUTE, shuffleBags);
+        return reveal;
+    }
+
+    @GetMapping("/active/page")
+    public ResponseEntity<RevealPage> getActiveRevealsPage(
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        return ConditionalResponses.ifModified(request, revealService.getChangeVersion().forVariant(category, cursor, limit),
+                () -> revealService.getActiveRevealsPage(category, cursor, limit));
     }
 
+    @GetMapping("/search")
+    public RevealPage searchReveals(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return revealSearchService.searchActiveReveals(query, category, cursor, limit);
+    }
+
+    // Ohne Lösungswörter, sonst könnte jeder die Antwort vor dem Spiel nachlesen. Der Besitzer lädt sie über /api/users/me/reveals/{id}.
     @GetMapping("/{id}")
-    public RevealModel getRevealById(@PathVariable String id) {
+    public ResponseEntity<RevealDetails> getRevealById(@PathVariable String id, WebRequest request) {
         RevealModel reveal = revealService.getRevealById(id);
         if(reveal == null) {
             throw new RevealNotFoundException("No Reveal found with id: " + id);
         }
-        return reveal;
+        RevealDetails details = RevealDetails.of(reveal);
+        // Einzelne Reveals tragen ihre eigene Version, das Laden ist dank Cache günstig
+        if(reveal.version() == null) {
+            return ResponseEntity.ok(details);
+        }
+        return ConditionalResponses.ifModified(request, new ChangeVersion(id + "-" + reveal.version(), reveal.lastModified()), () -> details);
+    }
+
+    @PostMapping("/{id}/guess")
+    public GuessResponse checkGuess(@PathVariable String id, @RequestBody @Valid GuessRequest guessRequest) {
+        return guessMatcherRegistry.checkGuess(id, guessRequest.guess());
+    }
+
+    @GetMapping("/{id}/image-status")
+    public ImageStatusModel getImageStatus(@PathVariable String id) {
+        return revealService.getImageStatus(id);
     }
 
     @ResponseStatus(HttpStatus.CREATED)
@@ -115,26 +238,30 @@ public class RevealController {
             throw new AccessDeniedException("You are not allowed to add this reveal");
         }
 
-        String imageUrl = null;
-        if (image != null && !image.isEmpty()) {
-            imageUrl = cloudinaryService.uploadImage(image);
-        }
+        boolean hasImage = image != null && !image.isEmpty();
+        RevealModel revealModel = new RevealModel(
+                null,
+                revealModelDto.name(),
+                revealModelDto.solutionWords(),
+                revealModelDto.closeSolutionWords(),
+                revealModelDto.category(),
+                revealModelDto.description(),
+                revealModelDto.isActive(),
+                revealModelDto.githubId(),
+                null,
+                hasImage ? ImageStatus.PENDING : ImageStatus.NONE,
+                null,
+                null,
+                null
+        );
 
-        return revealService.addReveal(
-                new RevealModel(
-                        null,
-                        revealModelDto.name(),
-                        revealModelDto.solutionWords(),
-                        revealModelDto.closeSolutionWords(),
-                        revealModelDto.category(),
-                        revealModelDto.description(),
-                        revealModelDto.isActive(),
-                        revealModelDto.githubId(),
-                        imageUrl
-                ));
+        if (!hasImage) {
+            return revealService.addReveal(revealModel);
+        }
+        // Der Upload läuft im Hintergrund, der Status kann über /{id}/image-status abgefragt werden
+        return imageUploadService.saveAndUpload(image.getBytes(), () -> revealService.addReveal(revealModel)).reveal();
     }
 
-
     @PutMapping("/{id}")
     public RevealModel updateReveal(
             @PathVariable String id,
@@ -149,28 +276,28 @@ public class RevealController {
             throw new AccessDeniedException("You are not allowed to update this reveal");
         }
 
-        String newImageUrl;
-        if (image != null && !image.isEmpty()) {
-            newImageUrl = cloudinaryService.uploadImage(image);
-        } else {
-            newImageUrl = existingReveal.imageUrl();
-        }
-
-        return revealService.updateReveal(
+        // Bis der neue Upload fertig ist, bleibt das bisherige Bild sichtbar
+        boolean hasImage = image != null && !image.isEmpty();
+        RevealModel revealModel = new RevealModel(
                 id,
-                new RevealModel(
-                        id,
-                        revealModelDto.name(),
-                        revealModelDto.solutionWords(),
-                        revealModelDto.closeSolutionWords(),
-                        revealModelDto.category(),
-                        revealModelDto.description(),
-                        revealModelDto.isActive(),
-                        revealModelDto.githubId(),
-                        newImageUrl
-                )
+                revealModelDto.name(),
+                revealModelDto.solutionWords(),
+                revealModelDto.closeSolutionWords(),
+                revealModelDto.category(),
+                revealModelDto.description(),
+                revealModelDto.isActive(),
+                revealModelDto.githubId(),
+                existingReveal.imageUrl(),
+                hasImage ? ImageStatus.PENDING : existingReveal.imageStatus(),
+                existingReveal.imageVariants(),
+                null,
+                null
         );
 
+        if (!hasImage) {
+            return revealService.updateReveal(id, revealModel);
+        }
+        return imageUploadService.saveAndUpload(image.getBytes(), () -> revealService.updateReveal(id, revealModel)).reveal();
     }
 
 
@@ -0,0 +1,8 @@
+package ropold.backend.exception;
+
+public class GameSessionStateException extends RuntimeException {
+
+    public GameSessionStateException(String message) {
+        super(message);
+    }
+}
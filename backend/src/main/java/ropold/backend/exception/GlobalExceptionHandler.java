@@ -1,5 +1,6 @@
 package ropold.backend.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -19,6 +20,44 @@ public class GlobalExceptionHandler {
         return new RevealError(e.getMessage());
     }
 
+    @ExceptionHandler(ImageNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public RevealError handleImageNotFoundException(ImageNotFoundException e) {
+        return new RevealError(e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public RevealError handleInvalidCursorException(InvalidCursorException e) {
+        return new RevealError(e.getMessage());
+    }
+
+    @ExceptionHandler(ImageUploadRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public RevealError handleImageUploadRejectedException(ImageUploadRejectedException e) {
+        return new RevealError(e.getMessage());
+    }
+
+    @ExceptionHandler(GameSessionNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public RevealError handleGameSessionNotFoundException(GameSessionNotFoundException e) {
+        return new RevealError(e.getMessage());
+    }
+
+    // Spielzug passt nicht zum Stand des Spiels, z.B. Raten nach dem Lösen
+    @ExceptionHandler(GameSessionStateException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public RevealError handleGameSessionStateException(GameSessionStateException e) {
+        return new RevealError(e.getMessage());
+    }
+
+    // Reveal wurde zwischen Lesen und Speichern mehrfach von anderer Seite geändert
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public RevealError handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        return new RevealError(e.getMessage());
+    }
+
     @ExceptionHandler(RuntimeException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public RevealError handleRuntimeException(RuntimeException e) {
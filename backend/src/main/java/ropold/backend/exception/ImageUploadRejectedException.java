@@ -0,0 +1,7 @@
+package ropold.backend.exception;
+
+public class ImageUploadRejectedException extends RuntimeException {
+    public ImageUploadRejectedException(String message) {
+        super(message);
+    }
+}
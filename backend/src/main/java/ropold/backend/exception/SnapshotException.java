@@ -0,0 +1,7 @@
+package ropold.backend.exception;
+
+public class SnapshotException extends RuntimeException {
+    public SnapshotException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package ropold.backend.model;
+
+public record CacheStatsModel(
+        String name,
+        long size,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount
+) {
+}
@@ -0,0 +1,21 @@
+package ropold.backend.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// Stand einer Ressource für Conditional GETs (ETag ohne Anführungszeichen)
+public record ChangeVersion(
+        String eTag,
+        Instant lastModified
+) {
+    // Eigener Validator je Parameterkombination (Seite, Kategorie), sonst teilen sich verschiedene Seiten ein ETag
+    public ChangeVersion forVariant(Object... parts) {
+        StringBuilder variant = new StringBuilder();
+        for (Object part : parts) {
+            variant.append(part == null ? "" : part).append('|');
+        }
+        String encoded = Base64.getUrlEncoder().withoutPadding().encodeToString(variant.toString().getBytes(StandardCharsets.UTF_8));
+        return new ChangeVersion(eTag + "-" + encoded, lastModified);
+    }
+}
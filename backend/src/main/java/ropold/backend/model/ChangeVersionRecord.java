@@ -0,0 +1,20 @@
+package ropold.backend.model;
+
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Änderungszähler je Datenbestand (z.B. "reveals"), wird nach jedem Schreiben atomar per $inc erhöht.
+// createdAt gehört zum ETag, damit nach dem Neuanlegen der Collection kein altes ETag wieder passt.
+@Document("changeVersions")
+public record ChangeVersionRecord(
+        String id,
+        long count,
+        Instant createdAt,
+        Instant lastModified
+) {
+
+    public ChangeVersion toChangeVersion() {
+        return new ChangeVersion(id + "-" + Long.toString(createdAt.toEpochMilli(), 36) + "-" + count, lastModified);
+    }
+}
@@ -0,0 +1,7 @@
+package ropold.backend.model;
+
+public record FavoriteUpdateModel(
+        String revealId,
+        boolean changed
+) {
+}
@@ -0,0 +1,11 @@
+package ropold.backend.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record GameFinishRequest(
+        @NotBlank(message = "Player name must not be blank")
+        @Size(min = 3, message = "Name must contain at least 3 characters")
+        String playerName
+) {
+}
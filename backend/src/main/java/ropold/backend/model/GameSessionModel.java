@@ -0,0 +1,15 @@
+package ropold.backend.model;
+
+import java.util.List;
+
+// solutionWords ist leer, bis das Spiel gelöst oder aufgegeben wurde
+public record GameSessionModel(
+        String id,
+        String revealId,
+        Category category,
+        GameMode gameMode,
+        int numberOfClicks,
+        boolean solved,
+        List<String> solutionWords
+) {
+}
@@ -0,0 +1,12 @@
+package ropold.backend.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record GameStartRequest(
+        @NotBlank(message = "Reveal id must not be blank")
+        String revealId,
+        @NotNull(message = "Game mode is required")
+        GameMode gameMode
+) {
+}
@@ -0,0 +1,9 @@
+package ropold.backend.model;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record GuessRequest(
+        @NotBlank(message = "Guess must not be blank")
+        String guess
+) {
+}
@@ -0,0 +1,7 @@
+package ropold.backend.model;
+
+public enum GuessResult {
+    CORRECT,
+    CLOSE,
+    WRONG
+}
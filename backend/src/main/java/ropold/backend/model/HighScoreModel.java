@@ -3,9 +3,22 @@ package ropold.backend.model;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
+// Jede Rangliste (gesamt, pro Kategorie, pro Reveal) liest über einen eigenen Index nur die Top-Einträge
+@Document
+@CompoundIndexes({
+        @CompoundIndex(name = "gameMode_scoreTime", def = "{'gameMode': 1, 'scoreTime': 1}"),
+        @CompoundIndex(name = "gameMode_numberOfClicks", def = "{'gameMode': 1, 'numberOfClicks': 1}"),
+        @CompoundIndex(name = "gameMode_category_scoreTime", def = "{'gameMode': 1, 'category': 1, 'scoreTime': 1}"),
+        @CompoundIndex(name = "gameMode_category_numberOfClicks", def = "{'gameMode': 1, 'category': 1, 'numberOfClicks': 1}"),
+        @CompoundIndex(name = "gameMode_revealId_scoreTime", def = "{'gameMode': 1, 'revealId': 1, 'scoreTime': 1}"),
+        @CompoundIndex(name = "gameMode_revealId_numberOfClicks", def = "{'gameMode': 1, 'revealId': 1, 'numberOfClicks': 1}")
+})
 public record HighScoreModel(
         String id,
         @NotBlank(message = "Player name must not be blank")
@@ -13,9 +26,11 @@ public record HighScoreModel(
         String playerName,
         String githubId,
         Category category,
+        @NotNull(message = "Game mode is required")
         GameMode gameMode,
         double scoreTime,
         int numberOfClicks,
-        @NotNull LocalDateTime date
+        @NotNull LocalDateTime date,
+        String revealId
 ) {
 }
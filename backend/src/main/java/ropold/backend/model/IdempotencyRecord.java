@@ -0,0 +1,21 @@
+package ropold.backend.model;
+
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Erste Antwort auf eine Anfrage mit Idempotency-Key. Die id enthält Nutzer bzw. IP, Methode, Pfad und Key,
+// requestHash den SHA-256 des Bodys, damit ein wiederverwendeter Key mit anderem Inhalt auffällt.
+// Mongo löscht den Eintrag über den TTL-Index auf createdAt nach 24 Stunden.
+@Document
+public record IdempotencyRecord(
+        String id,
+        String requestHash,
+        int status,
+        String contentType,
+        byte[] body,
+        @Indexed(expireAfter = "24h")
+        Instant createdAt
+) {
+}
@@ -0,0 +1,8 @@
+package ropold.backend.model;
+
+public enum ImageStatus {
+    NONE,
+    PENDING,
+    READY,
+    FAILED
+}
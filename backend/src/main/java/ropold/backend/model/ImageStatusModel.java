@@ -0,0 +1,8 @@
+package ropold.backend.model;
+
+public record ImageStatusModel(
+        String revealId,
+        ImageStatus imageStatus,
+        String imageUrl
+) {
+}
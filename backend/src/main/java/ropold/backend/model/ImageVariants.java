@@ -0,0 +1,8 @@
+package ropold.backend.model;
+
+public record ImageVariants(
+        String thumbnailUrl,
+        String playUrl,
+        String placeholder
+) {
+}
@@ -0,0 +1,27 @@
+package ropold.backend.model;
+
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Hintergrund-Job, z.B. das Löschen eines Bildes beim Image-Host.
+// Fällige Jobs werden über status + nextAttemptAt gefunden, hängengebliebene über status + lockedUntil.
+@Document
+@CompoundIndexes({
+        @CompoundIndex(name = "status_nextAttemptAt", def = "{'status': 1, 'nextAttemptAt': 1}"),
+        @CompoundIndex(name = "status_lockedUntil", def = "{'status': 1, 'lockedUntil': 1}")
+})
+public record JobModel(
+        String id,
+        JobType type,
+        String payload,
+        JobStatus status,
+        int attempts,
+        Instant nextAttemptAt,
+        Instant lockedUntil,
+        String lastError,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,7 @@
+package ropold.backend.model;
+
+public enum JobStatus {
+    PENDING,
+    RUNNING,
+    DEAD
+}
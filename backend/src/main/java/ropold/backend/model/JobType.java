@@ -0,0 +1,5 @@
+package ropold.backend.model;
+
+public enum JobType {
+    DELETE_IMAGE
+}
@@ -0,0 +1,28 @@
+package ropold.backend.model;
+
+// Öffentliche Detailansicht: Zusammenfassung plus Beschreibung, ohne Lösungswörter. Die bekommt nur der Besitzer.
+public record RevealDetails(
+        String id,
+        String name,
+        Category category,
+        String description,
+        boolean isActive,
+        String githubId,
+        String imageUrl,
+        ImageStatus imageStatus,
+        ImageVariants imageVariants
+) {
+    public static RevealDetails of(RevealModel reveal) {
+        return new RevealDetails(
+                reveal.id(),
+                reveal.name(),
+                reveal.category(),
+                reveal.description(),
+                reveal.isActive(),
+                reveal.githubId(),
+                reveal.imageUrl(),
+                reveal.imageStatus(),
+                reveal.imageVariants()
+        );
+    }
+}
@@ -0,0 +1,7 @@
+package ropold.backend.model;
+
+public record RevealImportError(
+        int line,
+        String message
+) {
+}
@@ -0,0 +1,10 @@
+package ropold.backend.model;
+
+import java.util.List;
+
+public record RevealImportResult(
+        int imported,
+        int failed,
+        List<RevealImportError> errors
+) {
+}
@@ -1,16 +1,39 @@
 package ropold.backend.model;
 
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
 import java.util.List;
 
+@Document
+@CompoundIndexes({
+        @CompoundIndex(name = "active_id", def = "{'isActive': 1, '_id': 1}"),
+        @CompoundIndex(name = "active_category_id", def = "{'isActive': 1, 'category': 1, '_id': 1}"),
+        @CompoundIndex(name = "githubId_id", def = "{'githubId': 1, '_id': 1}")
+})
 public record RevealModel(
         String id,
+        @TextIndexed(weight = 3)
         String name,
         List<String> solutionWords,
         List<String> closeSolutionWords,
         Category category,
+        @TextIndexed
         String description,
         boolean isActive,
         String githubId,
-        String imageUrl
+        String imageUrl,
+        ImageStatus imageStatus,
+        ImageVariants imageVariants,
+        // Wird bei jedem Speichern erhöht (optimistisches Locking) und dient als ETag
+        @Version
+        Long version,
+        @LastModifiedDate
+        Instant lastModified
 ) {
 }
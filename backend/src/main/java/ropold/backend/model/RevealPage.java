@@ -0,0 +1,9 @@
+package ropold.backend.model;
+
+import java.util.List;
+
+public record RevealPage(
+        List<RevealSummary> reveals,
+        String next
+) {
+}
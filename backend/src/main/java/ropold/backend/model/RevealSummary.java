@@ -0,0 +1,14 @@
+package ropold.backend.model;
+
+// Listenansicht eines Reveals: nur was Karten brauchen. Lösungswörter und Beschreibung werden gar nicht erst aus Mongo gelesen.
+public record RevealSummary(
+        String id,
+        String name,
+        Category category,
+        boolean isActive,
+        String githubId,
+        String imageUrl,
+        ImageStatus imageStatus,
+        ImageVariants imageVariants
+) {
+}
@@ -0,0 +1,8 @@
+package ropold.backend.model;
+
+// Vom Server gewähltes Feld (0 bis 35) und die bisherigen Klicks
+public record RevealedTileModel(
+        int tile,
+        int numberOfClicks
+) {
+}
@@ -0,0 +1,20 @@
+package ropold.backend.model;
+
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// HTTP-Session im externen Session-Store, die Attribute JDK-serialisiert. Mongo löscht abgelaufene Sessions
+// über den TTL-Index auf expireAt, ohne expireAt (Session ohne Timeout) bleibt sie bis zum Logout.
+@Document("sessions")
+public record SessionRecord(
+        String id,
+        Instant createdAt,
+        Instant lastAccessedAt,
+        long maxInactiveSeconds,
+        @Indexed(expireAfter = "0s")
+        Instant expireAt,
+        byte[] attributes
+) {
+}
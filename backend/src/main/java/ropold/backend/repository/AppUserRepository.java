@@ -1,8 +1,18 @@
 package ropold.backend.repository;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import ropold.backend.model.AppUser;
 
 public interface AppUserRepository extends MongoRepository<AppUser, String> {
-}
 
+    // Atomare Updates direkt in Mongo, Rückgabe ist die Anzahl der geänderten Dokumente
+    @Query("{ '_id': ?0 }")
+    @Update("{ '$addToSet': { 'favorites': ?1 } }")
+    long addFavorite(String userId, String revealId);
+
+    @Query("{ '_id': ?0 }")
+    @Update("{ '$pull': { 'favorites': ?1 } }")
+    long removeFavorite(String userId, String revealId);
+}
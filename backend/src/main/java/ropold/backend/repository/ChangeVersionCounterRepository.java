@@ -0,0 +1,12 @@
+package ropold.backend.repository;
+
+import ropold.backend.model.ChangeVersionRecord;
+
+public interface ChangeVersionCounterRepository {
+
+    // Erhöht den Zähler um eins und liefert den neuen Stand, legt ihn bei Bedarf an
+    ChangeVersionRecord increment(String id);
+
+    // Liefert den aktuellen Stand, legt ihn bei Bedarf mit 0 an
+    ChangeVersionRecord findOrCreate(String id);
+}
@@ -0,0 +1,43 @@
+package ropold.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import ropold.backend.model.ChangeVersionRecord;
+
+import java.time.Instant;
+
+@RequiredArgsConstructor
+public class ChangeVersionCounterRepositoryImpl implements ChangeVersionCounterRepository {
+
+    private static final FindAndModifyOptions UPSERT_RETURN_NEW = FindAndModifyOptions.options().upsert(true).returnNew(true);
+
+    private final MongoTemplate mongoTemplate;
+
+    // Ein einziges findAndModify: parallele Schreiber auf mehreren Instanzen bekommen verschiedene Zählerstände
+    @Override
+    public ChangeVersionRecord increment(String id) {
+        Update update = new Update()
+                .inc("count", 1)
+                .currentDate("lastModified")
+                .setOnInsert("createdAt", Instant.now());
+        return mongoTemplate.findAndModify(byId(id), update, UPSERT_RETURN_NEW, ChangeVersionRecord.class);
+    }
+
+    @Override
+    public ChangeVersionRecord findOrCreate(String id) {
+        Instant now = Instant.now();
+        Update update = new Update()
+                .setOnInsert("count", 0L)
+                .setOnInsert("createdAt", now)
+                .setOnInsert("lastModified", now);
+        return mongoTemplate.findAndModify(byId(id), update, UPSERT_RETURN_NEW, ChangeVersionRecord.class);
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+}
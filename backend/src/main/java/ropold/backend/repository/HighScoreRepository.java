@@ -1,7 +1,9 @@
 package ropold.backend.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
+import ropold.backend.model.Category;
 import ropold.backend.model.GameMode;
 import ropold.backend.model.HighScoreModel;
 
@@ -11,8 +13,18 @@ import java.util.List;
 public interface HighScoreRepository extends MongoRepository<HighScoreModel, String> {
 
     // Methode, um HighScores für REVEAL_OVER_TIME nach scoreTime (kleinste Zeit zuerst) zu sortieren
-    List<HighScoreModel> findByGameModeOrderByScoreTimeAsc(GameMode gameMode);
+    List<HighScoreModel> findByGameModeOrderByScoreTimeAsc(GameMode gameMode, Limit limit);
 
     // Methode, um HighScores für REVEAL_WITH_CLICKS nach numberOfClicks (wenigste Klicks zuerst) zu sortieren
-    List<HighScoreModel> findByGameModeOrderByNumberOfClicksAsc(GameMode gameMode);
+    List<HighScoreModel> findByGameModeOrderByNumberOfClicksAsc(GameMode gameMode, Limit limit);
+
+    // Ranglisten pro Kategorie
+    List<HighScoreModel> findByGameModeAndCategoryOrderByScoreTimeAsc(GameMode gameMode, Category category, Limit limit);
+
+    List<HighScoreModel> findByGameModeAndCategoryOrderByNumberOfClicksAsc(GameMode gameMode, Category category, Limit limit);
+
+    // Ranglisten pro Reveal
+    List<HighScoreModel> findByGameModeAndRevealIdOrderByScoreTimeAsc(GameMode gameMode, String revealId, Limit limit);
+
+    List<HighScoreModel> findByGameModeAndRevealIdOrderByNumberOfClicksAsc(GameMode gameMode, String revealId, Limit limit);
 }
@@ -0,0 +1,12 @@
+package ropold.backend.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import ropold.backend.model.JobModel;
+import ropold.backend.model.JobStatus;
+
+import java.util.List;
+
+public interface JobRepository extends MongoRepository<JobModel, String> {
+
+    List<JobModel> findByStatus(JobStatus status);
+}
@@ -0,0 +1,12 @@
+package ropold.backend.repository;
+
+import ropold.backend.model.RevealModel;
+
+import java.util.List;
+import java.util.Map;
+
+public interface RevealBulkRepository {
+
+    // Liefert die Fehler je Index in der übergebenen Liste, leer wenn alles eingefügt wurde
+    Map<Integer, String> insertUnordered(List<RevealModel> reveals);
+}
@@ -0,0 +1,35 @@
+package ropold.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import ropold.backend.model.RevealModel;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class RevealBulkRepositoryImpl implements RevealBulkRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    // Ungeordnet: Mongo schreibt alle gültigen Dokumente, ein fehlerhaftes bricht den Batch nicht ab
+    @Override
+    public Map<Integer, String> insertUnordered(List<RevealModel> reveals) {
+        if (reveals.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RevealModel.class)
+                    .insert(reveals)
+                    .execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            Map<Integer, String> failures = new HashMap<>();
+            e.getErrors().forEach(error -> failures.put(error.getIndex(), error.getMessage()));
+            return failures;
+        }
+    }
+}
@@ -1,7 +1,47 @@
 package ropold.backend.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import ropold.backend.model.Category;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.ImageVariants;
 import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealSummary;
 
-public interface RevealRepository extends MongoRepository<RevealModel, String> {
+import java.util.Collection;
+import java.util.List;
+
+public interface RevealRepository extends MongoRepository<RevealModel, String>, RevealBulkRepository {
+
+    // Listen liefern RevealSummary, Spring Data liest dabei nur dessen Felder aus Mongo (DTO-Projektion)
+    List<RevealSummary> findByIdIn(Collection<String> ids);
+
+    // Nur für den Aufbau der Id-Pools beim Start, die Listen-Endpunkte lesen seitenweise
+    List<RevealSummary> findByIsActiveTrue();
+
+    // Keyset-Pagination: immer nach _id sortiert, der Cursor ist die letzte gelieferte id
+    List<RevealSummary> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    List<RevealSummary> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    List<RevealSummary> findByIsActiveTrueAndCategoryAndIdGreaterThanOrderByIdAsc(Category category, String id, Limit limit);
+
+    List<RevealSummary> findByGithubIdAndIdGreaterThanOrderByIdAsc(String githubId, String id, Limit limit);
+
+    // Setzt nur Bild-Felder, damit parallele Änderungen am Reveal nicht überschrieben werden.
+    // Version und lastModified werden trotzdem fortgeschrieben, sonst bliebe das ETag des Reveals gleich.
+    @Query("{ '_id': ?0 }")
+    @Update("{ '$set': { 'imageUrl': ?1, 'imageVariants': ?2, 'imageStatus': ?3 }, '$inc': { 'version': 1 }, '$currentDate': { 'lastModified': true } }")
+    long updateImage(String id, String imageUrl, ImageVariants imageVariants, ImageStatus imageStatus);
+
+    // Reveals ohne Version würde save() als neu ansehen und erneut einfügen wollen
+    @Query("{ 'version': { '$exists': false } }")
+    @Update("{ '$set': { 'version': 0 }, '$currentDate': { 'lastModified': true } }")
+    long initializeMissingVersions();
+
+    @Query("{ '_id': ?0 }")
+    @Update("{ '$set': { 'imageStatus': ?1 }, '$inc': { 'version': 1 }, '$currentDate': { 'lastModified': true } }")
+    long updateImageStatus(String id, ImageStatus imageStatus);
 }
@@ -0,0 +1,9 @@
+package ropold.backend.repository;
+
+import ropold.backend.model.SessionRecord;
+
+public interface SessionRecordUpdateRepository {
+
+    // Überschreibt eine vorhandene Session, legt aber keine an. false, wenn sie nicht (mehr) existiert.
+    boolean replaceIfPresent(SessionRecord sessionRecord);
+}
@@ -0,0 +1,26 @@
+package ropold.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import ropold.backend.model.SessionRecord;
+
+@RequiredArgsConstructor
+public class SessionRecordUpdateRepositoryImpl implements SessionRecordUpdateRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    // Update ohne Upsert: eine auf einer anderen Instanz abgemeldete Session wird nicht wieder angelegt
+    @Override
+    public boolean replaceIfPresent(SessionRecord sessionRecord) {
+        Update update = new Update()
+                .set("lastAccessedAt", sessionRecord.lastAccessedAt())
+                .set("maxInactiveSeconds", sessionRecord.maxInactiveSeconds())
+                .set("expireAt", sessionRecord.expireAt())
+                .set("attributes", sessionRecord.attributes());
+        Query query = Query.query(Criteria.where("_id").is(sessionRecord.id()));
+        return mongoTemplate.updateFirst(query, update, SessionRecord.class).getMatchedCount() > 0;
+    }
+}
@@ -0,0 +1,21 @@
+package ropold.backend.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+// Wem eine Anfrage zugerechnet wird: angemeldete Nutzer über ihre GitHub-id, alle anderen über die IP-Adresse
+public final class ClientKeys {
+
+    private ClientKeys() {
+    }
+
+    public static String of(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return request.getRemoteAddr();
+    }
+}
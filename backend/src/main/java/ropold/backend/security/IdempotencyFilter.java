@@ -0,0 +1,257 @@
+package ropold.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import ropold.backend.Service.IdempotencyService;
+import ropold.backend.exception.RevealError;
+import ropold.backend.model.IdempotencyRecord;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key für POST auf {@code app.idempotency.paths}: die erste Antwort wird gespeichert und bei
+ * Wiederholungen mit demselben Key unverändert zurückgegeben (Header Idempotency-Replayed). Läuft nach der
+ * Autorisierung, der Key gilt je angemeldetem Nutzer, ohne Anmeldung je IP-Adresse. Kommt derselbe Key mit
+ * einem anderen Body, wird mit 422 abgelehnt statt die fremde Antwort zu wiederholen.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotency-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    // Die Pfade nehmen nur kleine JSON-Bodys oder Multipart an, Multipart wird nicht gepuffert
+    private static final int MAX_BUFFERED_BODY = 1024 * 1024;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    private final List<PathPattern> paths;
+    private final long waitTimeoutMs;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper, List<String> paths, long waitTimeoutMs) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+        this.paths = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(KEY_HEADER) == null
+                || !matchesPath(request.getRequestURI());
+    }
+
+    private boolean matchesPath(String path) {
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        return paths.stream().anyMatch(pattern -> pattern.matches(pathContainer));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, KEY_HEADER + " must contain 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        String id = ClientKeys.of(request) + " " + request.getMethod() + " " + request.getRequestURI() + " " + key;
+
+        HttpServletRequest requestToUse = request;
+        MessageDigest digest = sha256();
+        if (isMultipart(request)) {
+            hashParts(request, digest);
+        } else {
+            byte[] body = request.getInputStream().readNBytes(MAX_BUFFERED_BODY + 1);
+            if (body.length > MAX_BUFFERED_BODY) {
+                writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large for " + KEY_HEADER);
+                return;
+            }
+            digest.update(body);
+            requestToUse = new BufferedBodyRequest(request, body);
+        }
+        String requestHash = HexFormat.of().formatHex(digest.digest());
+
+        IdempotencyRecord stored = idempotencyService.getStoredResponse(id);
+        if (stored != null) {
+            replay(response, stored, requestHash);
+            return;
+        }
+
+        CompletableFuture<IdempotencyRecord> execution = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> running = idempotencyService.joinInFlight(id, execution);
+        if (running != null) {
+            awaitAndReplay(response, running, requestHash);
+            return;
+        }
+        // Zwischen Nachsehen und Registrieren kann die erste Ausführung fertig geworden sein
+        stored = idempotencyService.getStoredResponse(id);
+        if (stored != null) {
+            idempotencyService.complete(id, execution, stored);
+            replay(response, stored, requestHash);
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(requestToUse, responseWrapper);
+            idempotencyService.complete(id, execution, new IdempotencyRecord(id, requestHash, responseWrapper.getStatus(),
+                    responseWrapper.getContentType(), responseWrapper.getContentAsByteArray(), Instant.now()));
+        } catch (IOException | ServletException | RuntimeException e) {
+            idempotencyService.fail(id, execution, e);
+            throw e;
+        } finally {
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void awaitAndReplay(HttpServletResponse response, CompletableFuture<IdempotencyRecord> running, String requestHash)
+            throws IOException {
+        try {
+            replay(response, running.get(waitTimeoutMs, TimeUnit.MILLISECONDS), requestHash);
+        } catch (ExecutionException e) {
+            writeError(response, HttpStatus.CONFLICT, "The original request with this " + KEY_HEADER + " failed, please retry");
+        } catch (TimeoutException e) {
+            writeError(response, HttpStatus.CONFLICT, "A request with this " + KEY_HEADER + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeError(response, HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the original request");
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyRecord stored, String requestHash) throws IOException {
+        if (!requestHash.equals(stored.requestHash())) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, KEY_HEADER + " was already used with a different request body");
+            return;
+        }
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null && stored.body().length > 0) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new RevealError(message));
+    }
+
+    private static boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/");
+    }
+
+    // Spring liest Multipart über getParts() statt über den Eingabestrom, daher wird über die Teile gehasht
+    private static void hashParts(HttpServletRequest request, MessageDigest digest) throws IOException, ServletException {
+        for (Part part : request.getParts()) {
+            updateField(digest, part.getName());
+            updateField(digest, part.getSubmittedFileName());
+            updateField(digest, part.getContentType());
+            try (InputStream in = part.getInputStream();
+                 OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+                in.transferTo(out);
+            }
+        }
+    }
+
+    // Mit Trennzeichen, damit verschobene Grenzen zwischen Feldern einen anderen Hash ergeben
+    private static void updateField(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // Der Body wurde für den Hash schon gelesen und wird dem Controller aus dem Puffer gegeben
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Buffered request bodies are read synchronously");
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() == null ? StandardCharsets.UTF_8 : Charset.forName(getCharacterEncoding());
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ropold.backend.security;
+
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+// MapSession plus die Information, ob die Session schon in Mongo steht. Nur neue Sessions werden eingefügt,
+// bestehende nur überschrieben, solange es sie noch gibt.
+public final class MongoSession implements Session {
+
+    private final MapSession delegate;
+    // id, unter der die Session in Mongo steht, null solange sie nur im Speicher existiert
+    private String persistedId;
+
+    MongoSession(MapSession delegate, String persistedId) {
+        this.delegate = delegate;
+        this.persistedId = persistedId;
+    }
+
+    String getPersistedId() {
+        return persistedId;
+    }
+
+    void setPersistedId(String persistedId) {
+        this.persistedId = persistedId;
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public String changeSessionId() {
+        return delegate.changeSessionId();
+    }
+
+    @Override
+    public <T> T getAttribute(String attributeName) {
+        return delegate.getAttribute(attributeName);
+    }
+
+    @Override
+    public Set<String> getAttributeNames() {
+        return delegate.getAttributeNames();
+    }
+
+    @Override
+    public void setAttribute(String attributeName, Object attributeValue) {
+        delegate.setAttribute(attributeName, attributeValue);
+    }
+
+    @Override
+    public void removeAttribute(String attributeName) {
+        delegate.removeAttribute(attributeName);
+    }
+
+    @Override
+    public Instant getCreationTime() {
+        return delegate.getCreationTime();
+    }
+
+    @Override
+    public void setLastAccessedTime(Instant lastAccessedTime) {
+        delegate.setLastAccessedTime(lastAccessedTime);
+    }
+
+    @Override
+    public Instant getLastAccessedTime() {
+        return delegate.getLastAccessedTime();
+    }
+
+    @Override
+    public void setMaxInactiveInterval(Duration interval) {
+        delegate.setMaxInactiveInterval(interval);
+    }
+
+    @Override
+    public Duration getMaxInactiveInterval() {
+        return delegate.getMaxInactiveInterval();
+    }
+
+    @Override
+    public boolean isExpired() {
+        return delegate.isExpired();
+    }
+}
@@ -0,0 +1,143 @@
+package ropold.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.session.MapSession;
+import org.springframework.session.SessionRepository;
+import ropold.backend.model.SessionRecord;
+import ropold.backend.repository.SessionRecordRepository;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sessions in Mongo statt im Heap, damit die Anmeldung auf jeder Instanz gilt. Gelesene Sessions liegen
+ * kurz ({@code app.session.near-cache-ttl}) im lokalen Near-Cache, die meisten Anfragen lesen Mongo daher nicht.
+ * Eine Abmeldung auf einer anderen Instanz wird hier spätestens nach dieser Zeit sichtbar. Ändert eine Anfrage
+ * nur den Zugriffszeitpunkt, wird höchstens einmal pro {@link #TOUCH_INTERVAL} geschrieben. Bestehende Sessions
+ * werden nur überschrieben, solange sie in Mongo noch existieren: eine Anfrage, die noch mit der alten Session
+ * läuft, legt eine anderswo abgemeldete Session nicht wieder an.
+ */
+public class MongoSessionRepository implements SessionRepository<MongoSession> {
+
+    static final Duration TOUCH_INTERVAL = Duration.ofMinutes(1);
+
+    private final SessionRecordRepository sessionRecordRepository;
+    private final Duration maxInactiveInterval;
+    // Unveränderliche Records, jede Anfrage bekommt daraus eine eigene MapSession
+    private final Cache<String, SessionRecord> nearCache;
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final DeserializingConverter deserializer = new DeserializingConverter(getClass().getClassLoader());
+
+    public MongoSessionRepository(SessionRecordRepository sessionRecordRepository, Duration maxInactiveInterval,
+                                  Duration nearCacheTtl, long nearCacheSize) {
+        this(sessionRecordRepository, maxInactiveInterval, nearCacheTtl, nearCacheSize, Ticker.systemTicker());
+    }
+
+    public MongoSessionRepository(SessionRecordRepository sessionRecordRepository, Duration maxInactiveInterval,
+                                  Duration nearCacheTtl, long nearCacheSize, Ticker ticker) {
+        this.sessionRecordRepository = sessionRecordRepository;
+        this.maxInactiveInterval = maxInactiveInterval;
+        this.nearCache = Caffeine.newBuilder()
+                .expireAfterWrite(nearCacheTtl.toNanos(), TimeUnit.NANOSECONDS)
+                .maximumSize(nearCacheSize)
+                .ticker(ticker)
+                .build();
+    }
+
+    // Nur im Speicher, gespeichert wird erst, wenn die Anfrage die Session tatsächlich benutzt hat
+    @Override
+    public MongoSession createSession() {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(maxInactiveInterval);
+        return new MongoSession(session, null);
+    }
+
+    @Override
+    public void save(MongoSession session) {
+        String persistedId = session.getPersistedId();
+        if (persistedId != null && !persistedId.equals(session.getId())) {
+            // Neue id nach dem Login (Schutz vor Session Fixation), unter der neuen id wird neu angelegt
+            deleteById(persistedId);
+            persistedId = null;
+        }
+        byte[] attributes = serialize(session);
+        SessionRecord stored = persistedId == null ? null : nearCache.getIfPresent(session.getId());
+        if (stored != null
+                && Arrays.equals(stored.attributes(), attributes)
+                && stored.maxInactiveSeconds() == session.getMaxInactiveInterval().toSeconds()
+                && session.getLastAccessedTime().isBefore(stored.lastAccessedAt().plus(TOUCH_INTERVAL))) {
+            return;
+        }
+        SessionRecord sessionRecord = new SessionRecord(
+                session.getId(),
+                session.getCreationTime(),
+                session.getLastAccessedTime(),
+                session.getMaxInactiveInterval().toSeconds(),
+                session.getMaxInactiveInterval().isNegative() ? null : session.getLastAccessedTime().plus(session.getMaxInactiveInterval()),
+                attributes);
+        if (persistedId == null) {
+            sessionRecordRepository.insert(sessionRecord);
+            session.setPersistedId(sessionRecord.id());
+        } else if (!sessionRecordRepository.replaceIfPresent(sessionRecord)) {
+            // Inzwischen abgemeldet oder abgelaufen
+            nearCache.invalidate(sessionRecord.id());
+            return;
+        }
+        nearCache.put(sessionRecord.id(), sessionRecord);
+    }
+
+    @Override
+    public MongoSession findById(String id) {
+        // Fehlende Sessions werden nicht gecacht, eine gerade auf einer anderen Instanz angelegte ist sofort sichtbar
+        SessionRecord sessionRecord = nearCache.get(id, key -> sessionRecordRepository.findById(key).orElse(null));
+        if (sessionRecord == null) {
+            return null;
+        }
+        MongoSession session = toSession(sessionRecord);
+        if (session.isExpired()) {
+            deleteById(id);
+            return null;
+        }
+        return session;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        nearCache.invalidate(id);
+        sessionRecordRepository.deleteById(id);
+    }
+
+    public long getNearCacheSize() {
+        return nearCache.estimatedSize();
+    }
+
+    private MongoSession toSession(SessionRecord sessionRecord) {
+        MapSession session = new MapSession(sessionRecord.id());
+        session.setCreationTime(sessionRecord.createdAt());
+        session.setLastAccessedTime(sessionRecord.lastAccessedAt());
+        session.setMaxInactiveInterval(Duration.ofSeconds(sessionRecord.maxInactiveSeconds()));
+        deserialize(sessionRecord.attributes()).forEach(session::setAttribute);
+        return new MongoSession(session, sessionRecord.id());
+    }
+
+    // TreeMap, damit gleiche Attribute immer dieselben Bytes ergeben und unveränderte Sessions erkannt werden
+    private byte[] serialize(MongoSession session) {
+        Map<String, Object> attributes = new TreeMap<>();
+        for (String name : session.getAttributeNames()) {
+            attributes.put(name, session.getAttribute(name));
+        }
+        return serializer.convert(attributes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> deserialize(byte[] attributes) {
+        return (Map<String, Object>) deserializer.convert(attributes);
+    }
+}
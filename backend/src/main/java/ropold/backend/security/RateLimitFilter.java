@@ -0,0 +1,64 @@
+package ropold.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ropold.backend.exception.RevealError;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Läuft in der Security-Chain nach der Authentifizierung, damit angemeldete Nutzer über ihre id gezählt werden.
+ * Antwortet mit 429 und Retry-After, sonst werden nur die RateLimit-Header gesetzt.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimiter.Limit limit = rateLimiter.findLimit(request.getMethod(), request.getRequestURI());
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long result = rateLimiter.tryAcquire(limit, ClientKeys.of(request));
+        response.setIntHeader(LIMIT_HEADER, limit.getCapacity());
+        if (result > 0) {
+            response.setHeader(REMAINING_HEADER, Long.toString(limit.remaining(result)));
+            response.setHeader(RESET_HEADER, Long.toString(toSeconds(result)));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = toSeconds(-result);
+        response.setIntHeader(REMAINING_HEADER, 0);
+        response.setHeader(RESET_HEADER, Long.toString(retryAfterSeconds));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new RevealError("Too many requests for " + limit.getName() + ", retry in " + retryAfterSeconds + " seconds"));
+    }
+
+    // Aufgerundet, damit ein Client nach Retry-After sicher wieder ein Token hat
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
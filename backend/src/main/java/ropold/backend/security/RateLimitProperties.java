@@ -0,0 +1,37 @@
+package ropold.backend.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grenzen je Endpunkt-Gruppe, z.B.
+ * {@code app.rate-limit.rules.reveals.paths=/api/reveal-hub}, {@code ...methods=POST},
+ * {@code ...capacity=10} und {@code ...refill-period=1m}: bis zu 10 Anfragen am Stück, danach eine
+ * alle 6 Sekunden. Gezählt wird je angemeldetem Nutzer, sonst je IP-Adresse.
+ */
+@ConfigurationProperties("app.rate-limit")
+public record RateLimitProperties(
+        Duration idleTimeout,
+        Map<String, Rule> rules
+) {
+
+    public RateLimitProperties {
+        if (idleTimeout == null) {
+            idleTimeout = Duration.ofMinutes(10);
+        }
+        if (rules == null) {
+            rules = Map.of();
+        }
+    }
+
+    public record Rule(
+            List<String> methods,
+            List<String> paths,
+            int capacity,
+            Duration refillPeriod
+    ) {
+    }
+}
@@ -0,0 +1,138 @@
+package ropold.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Token-Buckets nach dem GCRA-Verfahren: pro Client nur ein {@link AtomicLong} mit dem Zeitpunkt, zu dem der
+ * Bucket wieder voll wäre. Eine Anfrage schiebt ihn per CAS um ein Intervall weiter, ohne Locks. Die Buckets
+ * liegen je Regel in einem Caffeine-Cache (intern gestreift wie eine ConcurrentHashMap) und verfallen nach
+ * {@code app.rate-limit.idle-timeout} ohne Anfrage, ein frischer Bucket ist ohnehin voll.
+ */
+@Component
+public class RateLimiter {
+
+    private final List<Limit> limits = new ArrayList<>();
+    private final Ticker ticker;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.ticker = ticker;
+        properties.rules().forEach((name, rule) -> limits.add(new Limit(name, rule, properties, meterRegistry, ticker)));
+    }
+
+    // Erste passende Regel oder null. Nicht begrenzte Methoden (GET) scheiden ohne Pfadvergleich aus.
+    public Limit findLimit(String method, String path) {
+        PathContainer pathContainer = null;
+        for (Limit limit : limits) {
+            if (!limit.methods.contains(method)) {
+                continue;
+            }
+            if (pathContainer == null) {
+                pathContainer = PathContainer.parsePath(path);
+            }
+            for (PathPattern pattern : limit.paths) {
+                if (pattern.matches(pathContainer)) {
+                    return limit;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Verbraucht ein Token. Ergebnis größer 0: erlaubt, Nanosekunden bis der Bucket wieder voll ist.
+     * Ergebnis kleiner 0: abgelehnt, minus die Nanosekunden bis zum nächsten freien Token.
+     */
+    public long tryAcquire(Limit limit, String client) {
+        AtomicLong bucket = limit.buckets.get(client, key -> new AtomicLong(Long.MIN_VALUE));
+        long now = ticker.read();
+        while (true) {
+            long fullAt = bucket.get();
+            // Ein lange ungenutzter Bucket ist voll, der Rückstand beginnt bei jetzt
+            long newFullAt = Math.max(fullAt, now) + limit.intervalNanos;
+            long backlog = newFullAt - now;
+            if (backlog > limit.burstNanos) {
+                limit.rejected.increment();
+                return -(backlog - limit.burstNanos);
+            }
+            if (bucket.compareAndSet(fullAt, newFullAt)) {
+                limit.allowed.increment();
+                return backlog;
+            }
+        }
+    }
+
+    public static final class Limit {
+
+        private final String name;
+        private final Set<String> methods;
+        private final List<PathPattern> paths;
+        private final int capacity;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Cache<String, AtomicLong> buckets;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        private Limit(String name, RateLimitProperties.Rule rule, RateLimitProperties properties,
+                      MeterRegistry meterRegistry, Ticker ticker) {
+            if (rule.capacity() < 1 || rule.refillPeriod() == null || rule.paths() == null || rule.methods() == null) {
+                throw new IllegalArgumentException("Rate limit rule " + name + " needs methods, paths, capacity and refill-period");
+            }
+            this.name = name;
+            this.methods = rule.methods().stream().map(method -> method.toUpperCase(Locale.ROOT)).collect(Collectors.toUnmodifiableSet());
+            this.paths = rule.paths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+            this.capacity = rule.capacity();
+            this.intervalNanos = Math.max(1, rule.refillPeriod().toNanos() / capacity);
+            this.burstNanos = intervalNanos * capacity;
+            this.buckets = Caffeine.newBuilder()
+                    .expireAfterAccess(properties.idleTimeout().toNanos(), TimeUnit.NANOSECONDS)
+                    .ticker(ticker)
+                    .build();
+            this.allowed = Counter.builder("revealhub.ratelimit.requests")
+                    .tag("rule", name).tag("outcome", "allowed")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("revealhub.ratelimit.requests")
+                    .tag("rule", name).tag("outcome", "rejected")
+                    .register(meterRegistry);
+            Gauge.builder("revealhub.ratelimit.buckets", buckets, Cache::estimatedSize)
+                    .tag("rule", name)
+                    .register(meterRegistry);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        // Tokens, die nach einer erlaubten Anfrage mit diesem Rückstand noch übrig sind
+        public long remaining(long backlogNanos) {
+            return (burstNanos - backlogNanos) / intervalNanos;
+        }
+    }
+}
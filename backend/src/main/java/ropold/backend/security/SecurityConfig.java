@@ -1,25 +1,38 @@
 package ropold.backend.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
 import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.savedrequest.NullRequestCache;
+import ropold.backend.Service.IdempotencyService;
 import ropold.backend.model.AppUser;
 import ropold.backend.repository.AppUserRepository;
 
 import java.util.Collections;
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
@@ -29,32 +42,78 @@ public class SecurityConfig {
     @Value("${app.url}")
     private String appUrl;
 
+    @Value("${app.idempotency.paths:/api/reveal-hub,/api/game-sessions/*/finish}")
+    private List<String> idempotencyPaths;
+
+    @Value("${app.idempotency.wait-timeout-ms:30000}")
+    private long idempotencyWaitTimeoutMs;
+
     private final AppUserRepository appUserRepository;
 
     private static final String REVEAL_HUB_PATH = "/api/reveal-hub/**";
+    private static final String METRICS_ROLE = "METRICS";
+
+    // Actuator in einer eigenen Kette: health ist öffentlich, Metriken nur für den Scraper per HTTP Basic.
+    // Ohne app.metrics.password gibt es keinen Zugang zu /actuator/prometheus.
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http,
+                                                   @Value("${app.metrics.username:prometheus}") String metricsUsername,
+                                                   @Value("${app.metrics.password:}") String metricsPassword) throws Exception {
+        List<UserDetails> scrapers = metricsPassword.isBlank()
+                ? List.of()
+                : List.of(User.withUsername(metricsUsername).password(metricsPassword).roles(METRICS_ROLE).build());
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(scrapers));
+
+        http
+                .securityMatcher("/actuator/**")
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(a -> a
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/prometheus").hasRole(METRICS_ROLE)
+                        .anyRequest().denyAll()
+                )
+                .authenticationManager(new ProviderManager(provider))
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .requestCache(r -> r.requestCache(new NullRequestCache()));
+        return http.build();
+    }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    @Order(2)
+    public SecurityFilterChain filterChain(HttpSecurity http, RateLimiter rateLimiter, IdempotencyService idempotencyService,
+                                           ObjectMapper objectMapper) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
 
                 .authorizeHttpRequests(a -> a
                         .requestMatchers(HttpMethod.GET, REVEAL_HUB_PATH).permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/reveal-hub/*/guess").permitAll()
                         .requestMatchers(HttpMethod.POST, REVEAL_HUB_PATH).authenticated()
                         .requestMatchers(HttpMethod.PUT, REVEAL_HUB_PATH).authenticated()
                         .requestMatchers(HttpMethod.DELETE, REVEAL_HUB_PATH).authenticated()
+                        .requestMatchers("/api/users/me/reveals/**").authenticated()
                         .requestMatchers("/api/users/me").permitAll()
                         .requestMatchers("/api/users/me/details").permitAll()
-                        .requestMatchers("/api/high-score").permitAll()
                         .anyRequest().permitAll()
                 )
                 .logout(l -> l.logoutUrl("/api/users/logout")
                         .logoutSuccessHandler((request, response, authentication) -> response.setStatus(200)))
 
-                .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.ALWAYS))
+                // Sessions erst bei Bedarf (Login, Zufalls-Reveals), anonyme Aufrufe bleiben ohne Session
+                .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
+                // Abgelehnte API-Aufrufe nicht in der Session merken, nach dem Login geht es ohnehin zu app.url
+                .requestCache(r -> r.requestCache(new NullRequestCache()))
                 .exceptionHandling(e -> e
                         .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
-                .oauth2Login(o -> o.defaultSuccessUrl(appUrl));
+                .oauth2Login(o -> o.defaultSuccessUrl(appUrl))
+                // Nach der Authentifizierung, damit angemeldete Nutzer nach id statt IP begrenzt werden
+                .addFilterBefore(new RateLimitFilter(rateLimiter, objectMapper), AuthorizationFilter.class)
+                // Nach der Autorisierung, damit nur erlaubte Anfragen gespeichert und wiederholt werden
+                .addFilterAfter(new IdempotencyFilter(idempotencyService, objectMapper, idempotencyPaths, idempotencyWaitTimeoutMs),
+                        AuthorizationFilter.class);
 
         return http.build();
     }
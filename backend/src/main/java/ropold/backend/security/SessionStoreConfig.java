@@ -0,0 +1,32 @@
+package ropold.backend.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import ropold.backend.repository.SessionRecordRepository;
+
+import java.time.Duration;
+
+// Mit app.session.store=mongo liegen HTTP-Sessions in Mongo (Spring Session), sonst wie bisher im Speicher des Servers
+@Configuration
+@EnableSpringHttpSession
+@ConditionalOnProperty(name = "app.session.store", havingValue = "mongo")
+public class SessionStoreConfig {
+
+    @Bean
+    public MongoSessionRepository mongoSessionRepository(
+            SessionRecordRepository sessionRecordRepository,
+            MeterRegistry meterRegistry,
+            @Value("${server.servlet.session.timeout:30m}") Duration timeout,
+            @Value("${app.session.near-cache-ttl:10s}") Duration nearCacheTtl,
+            @Value("${app.session.near-cache-size:10000}") long nearCacheSize) {
+        MongoSessionRepository repository = new MongoSessionRepository(sessionRecordRepository, timeout, nearCacheTtl, nearCacheSize);
+        Gauge.builder("revealhub.sessions.near-cache", repository, MongoSessionRepository::getNearCacheSize)
+                .register(meterRegistry);
+        return repository;
+    }
+}
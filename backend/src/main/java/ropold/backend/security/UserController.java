@@ -7,11 +7,13 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ropold.backend.Service.RevealService;
+import ropold.backend.exception.AccessDeniedException;
 import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealPage;
 
-import java.util.List;
 import java.util.Map;
 
 @RequiredArgsConstructor
@@ -34,8 +36,21 @@ public class UserController {
         return user.getAttributes();
     }
 
-    @GetMapping("/me/my-reveals/{githubId}")
-    public List<RevealModel> getRevealsForGithubUser(@PathVariable String githubId) {
-        return revealService.getRevealsForGithubUser(githubId);
+    // Vollständiger Reveal mit Lösungswörtern zum Bearbeiten, nur für den Besitzer
+    @GetMapping("/me/reveals/{id}")
+    public RevealModel getOwnReveal(@PathVariable String id, @AuthenticationPrincipal OAuth2User authentication) {
+        RevealModel reveal = revealService.getRevealById(id);
+        if (!reveal.githubId().equals(authentication.getName())) {
+            throw new AccessDeniedException("You are not allowed to view the solution of this reveal");
+        }
+        return reveal;
+    }
+
+    @GetMapping("/me/my-reveals/{githubId}/page")
+    public RevealPage getRevealsForGithubUserPage(
+            @PathVariable String githubId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return revealService.getRevealsForGithubUserPage(githubId, cursor, limit);
     }
 }
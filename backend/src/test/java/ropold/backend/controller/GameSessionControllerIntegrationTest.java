@@ -0,0 +1,135 @@
+package ropold.backend.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ropold.backend.Service.GuessMatcherRegistry;
+import ropold.backend.Service.LeaderboardEngine;
+import ropold.backend.Service.RevealService;
+import ropold.backend.model.Category;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.RevealModel;
+import ropold.backend.repository.HighScoreRepository;
+import ropold.backend.repository.RevealRepository;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GameSessionControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RevealRepository revealRepository;
+
+    @Autowired
+    private HighScoreRepository highScoreRepository;
+
+    @Autowired
+    private LeaderboardEngine leaderboardEngine;
+
+    @Autowired
+    private GuessMatcherRegistry guessMatcherRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setup() {
+        revealRepository.deleteAll();
+        highScoreRepository.deleteAll();
+        leaderboardEngine.reload();
+        RevealModel reveal = revealRepository.save(new RevealModel("1", "Bobby Brown", List.of("word1"), List.of("closeWord1"),
+                Category.ANIMAL, "description", true, "user", "https://example.com/image1.jpg", ImageStatus.READY,
+                null, null, null));
+        // Direkte Repository-Zugriffe umgehen Cache und Matcher, beide könnten noch Reveal "1" aus anderen Tests kennen
+        cacheManager.getCache(RevealService.REVEAL_CACHE).clear();
+        guessMatcherRegistry.onRevealSaved(reveal);
+    }
+
+    private String startGame() throws Exception {
+        String json = mockMvc.perform(MockMvcRequestBuilders.post("/api/game-sessions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "revealId": "1", "gameMode": "REVEAL_WITH_CLICKS" }
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.category").value("ANIMAL"))
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(json, "$.id");
+    }
+
+    @Test
+    void playGame_shouldSaveHighScoreFromServerState() throws Exception {
+        String id = startGame();
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/game-sessions/" + id + "/tiles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numberOfClicks").value(1));
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/game-sessions/" + id + "/guess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "guess": "word1" }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value("CORRECT"));
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/game-sessions/" + id + "/finish")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "playerName": "player1" }
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.playerName").value("player1"))
+                .andExpect(jsonPath("$.githubId").value("anonymousUser"))
+                .andExpect(jsonPath("$.numberOfClicks").value(1))
+                .andExpect(jsonPath("$.revealId").value("1"));
+
+        Assertions.assertEquals(1, highScoreRepository.count());
+    }
+
+    @Test
+    void finishGame_beforeSolving_shouldReturnConflict() throws Exception {
+        String id = startGame();
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/game-sessions/" + id + "/finish")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "playerName": "player1" }
+                                """))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void giveUp_shouldReturnSolutionWordsOnlyAfterwards() throws Exception {
+        String id = startGame();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/game-sessions/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.solutionWords.length()").value(0));
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/game-sessions/" + id + "/give-up"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.solved").value(false))
+                .andExpect(jsonPath("$.solutionWords[0]").value("word1"));
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/game-sessions/" + id + "/tiles"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void revealTile_forUnknownGame_shouldReturnNotFound() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/game-sessions/unknown/tiles"))
+                .andExpect(status().isNotFound());
+    }
+}
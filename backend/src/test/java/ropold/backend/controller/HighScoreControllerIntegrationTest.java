@@ -9,6 +9,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ropold.backend.Service.HighScoreService;
+import ropold.backend.Service.LeaderboardEngine;
 import ropold.backend.model.Category;
 import ropold.backend.model.GameMode;
 import ropold.backend.model.HighScoreModel;
@@ -26,6 +28,12 @@ class HighScoreControllerIntegrationTest {
     @Autowired
     private HighScoreRepository highScoreRepository;
 
+    @Autowired
+    private LeaderboardEngine leaderboardEngine;
+
+    @Autowired
+    private HighScoreService highScoreService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -37,12 +45,14 @@ class HighScoreControllerIntegrationTest {
         LocalDateTime fixedDate = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
 
         HighScoreModel highScoreModel1 = new HighScoreModel(
-                "1", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 10.2, 0, fixedDate);
+                "1", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 10.2, 0, fixedDate, null);
 
         HighScoreModel highScoreModel2 = new HighScoreModel(
-                "2", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 14.5, 15,fixedDate.minusMinutes(5));
+                "2", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 14.5, 15,fixedDate.minusMinutes(5), null);
 
         highScoreRepository.saveAll(List.of(highScoreModel1, highScoreModel2));
+        // Direkte Repository-Zugriffe an der Rangliste im Speicher vorbei, daher neu laden
+        leaderboardEngine.reload();
     }
 
     @Test
@@ -86,134 +96,82 @@ class HighScoreControllerIntegrationTest {
     }
 
     @Test
-    void postHighScore_shouldReturnSavedHighScore() throws Exception {
-        // GIVEN
-        highScoreRepository.deleteAll();
-
-        String highScoreJson = """
-        {
-            "playerName": "player1",
-            "githubId": "123456",
-            "category": "ANIMAL",
-            "gameMode": "REVEAL_OVER_TIME",
-            "scoreTime": 9.5,
-            "numberOfClicks": 0,
-            "date": "2025-03-05T12:00:00"
-        }
-        """;
-
-        // WHEN
+    void postHighScore_shouldNotBeAvailable() throws Exception {
+        // Highscores entstehen nur über ein beendetes Spiel
         mockMvc.perform(MockMvcRequestBuilders.post("/api/high-score")
                         .contentType("application/json")
-                        .content(highScoreJson))
-                .andExpect(status().isCreated());
-
-        // THEN
-        List<HighScoreModel> allHighScores = highScoreRepository.findAll();
-        Assertions.assertEquals(1, allHighScores.size());
-
-        HighScoreModel savedHighScore = allHighScores.getFirst();
-
-        org.assertj.core.api.Assertions.assertThat(savedHighScore)
-                .usingRecursiveComparison()
-                .ignoringFields("id", "date")
-                .isEqualTo(new HighScoreModel(
-                        null,
-                        "player1",
-                        "123456",
-                        Category.ANIMAL,
-                        GameMode.REVEAL_OVER_TIME,
-                        9.5,
-                        0,
-                        null
-                ));
+                        .content("""
+                        {
+                            "playerName": "player1",
+                            "githubId": "123456",
+                            "category": "ANIMAL",
+                            "gameMode": "REVEAL_OVER_TIME",
+                            "scoreTime": 0.1,
+                            "numberOfClicks": 0,
+                            "date": "2025-03-05T12:00:00"
+                        }
+                        """))
+                .andExpect(status().is4xxClientError());
+
+        Assertions.assertEquals(2, highScoreRepository.count());
     }
 
     @Test
-    void postHighScore_withHighTime_shouldNotSave() throws Exception {
+    void addHighScore_withHighTime_shouldNotSave() {
 
         highScoreRepository.deleteAll();
 
         LocalDateTime fixedDate = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
 
         List<HighScoreModel> existingScores = List.of(
-                new HighScoreModel("1", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 10.2, 0, fixedDate),
-                new HighScoreModel("2", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 10.5, 0, fixedDate),
-                new HighScoreModel("3", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 10.7, 0, fixedDate),
-                new HighScoreModel("4", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 11.0, 0, fixedDate),
-                new HighScoreModel("5", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 11.2, 0, fixedDate),
-                new HighScoreModel("6", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 11.5, 0, fixedDate),
-                new HighScoreModel("7", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 11.7, 0, fixedDate),
-                new HighScoreModel("8", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 12.0, 0, fixedDate),
-                new HighScoreModel("9", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 12.2, 0, fixedDate),
-                new HighScoreModel("10", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 12.5, 0, fixedDate)
+                new HighScoreModel("1", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 10.2, 0, fixedDate, null),
+                new HighScoreModel("2", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 10.5, 0, fixedDate, null),
+                new HighScoreModel("3", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 10.7, 0, fixedDate, null),
+                new HighScoreModel("4", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 11.0, 0, fixedDate, null),
+                new HighScoreModel("5", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 11.2, 0, fixedDate, null),
+                new HighScoreModel("6", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 11.5, 0, fixedDate, null),
+                new HighScoreModel("7", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 11.7, 0, fixedDate, null),
+                new HighScoreModel("8", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 12.0, 0, fixedDate, null),
+                new HighScoreModel("9", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 12.2, 0, fixedDate, null),
+                new HighScoreModel("10", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 12.5, 0, fixedDate, null)
         );
 
         highScoreRepository.saveAll(existingScores);
+        leaderboardEngine.reload();
         Assertions.assertEquals(10, highScoreRepository.count());
 
-        String highScoreJson = """
-        {
-            "playerName": "player1",
-            "githubId": "123456",
-            "category": "ANIMAL",
-            "gameMode": "REVEAL_OVER_TIME",
-            "scoreTime": 12.6,
-            "numberOfClicks": 0,
-            "date": "2025-03-05T12:00:00"
-        }
-        """;
-
-        mockMvc.perform(MockMvcRequestBuilders.post("/api/high-score")
-                        .contentType("application/json")
-                        .content(highScoreJson))
-                .andExpect(status().isCreated())
-                .andExpect(MockMvcResultMatchers.content().string(""));
-
+        Assertions.assertNull(highScoreService.addHighScore(new HighScoreModel(null, "player1", "123456", Category.ANIMAL,
+                GameMode.REVEAL_OVER_TIME, 12.6, 0, fixedDate, null)));
 
         List<HighScoreModel> allHighScores = highScoreRepository.findAll();
         Assertions.assertEquals(10, allHighScores.size());
     }
 
     @Test
-    void postHighScore_withHighClick_shouldNotSave() throws Exception {
+    void addHighScore_withHighClick_shouldNotSave() {
         highScoreRepository.deleteAll();
 
         LocalDateTime fixedDate = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
 
         List<HighScoreModel> existingScores = List.of(
-                new HighScoreModel("1", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 10.2, 0, fixedDate),
-                new HighScoreModel("2", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 10.5, 1, fixedDate),
-                new HighScoreModel("3", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 10.7, 2, fixedDate),
-                new HighScoreModel("4", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 11.0, 3, fixedDate),
-                new HighScoreModel("5", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 11.2, 4, fixedDate),
-                new HighScoreModel("6", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 11.5, 5, fixedDate),
-                new HighScoreModel("7", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 11.7, 6, fixedDate),
-                new HighScoreModel("8", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 12.0, 7, fixedDate),
-                new HighScoreModel("9", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 12.2, 8, fixedDate),
-                new HighScoreModel("10", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 12.5, 9, fixedDate)
+                new HighScoreModel("1", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 10.2, 0, fixedDate, null),
+                new HighScoreModel("2", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 10.5, 1, fixedDate, null),
+                new HighScoreModel("3", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 10.7, 2, fixedDate, null),
+                new HighScoreModel("4", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 11.0, 3, fixedDate, null),
+                new HighScoreModel("5", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 11.2, 4, fixedDate, null),
+                new HighScoreModel("6", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 11.5, 5, fixedDate, null),
+                new HighScoreModel("7", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 11.7, 6, fixedDate, null),
+                new HighScoreModel("8", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 12.0, 7, fixedDate, null),
+                new HighScoreModel("9", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 12.2, 8, fixedDate, null),
+                new HighScoreModel("10", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 12.5, 9, fixedDate, null)
         );
 
         highScoreRepository.saveAll(existingScores);
+        leaderboardEngine.reload();
         Assertions.assertEquals(10, highScoreRepository.count());
 
-        String highScoreJson = """
-        {
-            "playerName": "player1",
-            "githubId": "123456",
-            "category": "ANIMAL",
-            "gameMode": "REVEAL_WITH_CLICKS",
-            "scoreTime": 12.6,
-            "numberOfClicks": 12,
-            "date": "2025-03-05T12:00:00"
-        }
-        """;
-
-        mockMvc.perform(MockMvcRequestBuilders.post("/api/high-score")
-                        .contentType("application/json")
-                        .content(highScoreJson))
-                .andExpect(status().isCreated())
-                .andExpect(MockMvcResultMatchers.content().string(""));
+        Assertions.assertNull(highScoreService.addHighScore(new HighScoreModel(null, "player1", "123456", Category.ANIMAL,
+                GameMode.REVEAL_WITH_CLICKS, 12.6, 12, fixedDate, null)));
 
         List<HighScoreModel> allHighScores = highScoreRepository.findAll();
         Assertions.assertEquals(10, allHighScores.size());
@@ -227,4 +185,72 @@ class HighScoreControllerIntegrationTest {
         Assertions.assertTrue(highScoreRepository.existsById("2"));
     }
 
+    @Test
+    void getBestHighScoresOverTime_withCategory_shouldReturnOnlyCategoryBoard() throws Exception {
+        highScoreRepository.save(new HighScoreModel("3", "player2", "123456", Category.FOOD, GameMode.REVEAL_OVER_TIME, 8.0, 0,
+                LocalDateTime.of(2025, 3, 5, 12, 0, 0), "reveal-1"));
+        leaderboardEngine.reload();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/reveal-over-time").param("category", "FOOD"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value("3"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/reveal-over-time/reveal/reveal-1"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].revealId").value("reveal-1"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/reveal-over-time"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void addHighScore_shouldEvictWorstHighScore_whenBoardIsFull() throws Exception {
+        highScoreRepository.deleteAll();
+        LocalDateTime fixedDate = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
+        for (int i = 1; i <= 10; i++) {
+            highScoreRepository.save(new HighScoreModel(String.valueOf(i), "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 10.0 + i, 0, fixedDate, null));
+        }
+        leaderboardEngine.reload();
+
+        HighScoreModel saved = highScoreService.addHighScore(new HighScoreModel(null, "player2", "123456", Category.ANIMAL,
+                GameMode.REVEAL_OVER_TIME, 9.5, 0, fixedDate, null));
+        Assertions.assertEquals("player2", saved.playerName());
+
+        Assertions.assertEquals(10, highScoreRepository.count());
+        Assertions.assertFalse(highScoreRepository.existsById("10"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/reveal-over-time"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(10))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].scoreTime").value(9.5));
+    }
+
+    @Test
+    void getBestHighScoresOverTime_shouldAnswerNotModified_untilScoreOfSameModeIsAdded() throws Exception {
+        String overTimeETag = mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/reveal-over-time"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        String withClicksETag = mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/reveal-with-clicks"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/reveal-over-time").header("If-None-Match", overTimeETag))
+                .andExpect(status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+
+        highScoreService.addHighScore(new HighScoreModel(null, "player2", "123456", Category.ANIMAL,
+                GameMode.REVEAL_OVER_TIME, 9.5, 0, LocalDateTime.of(2025, 3, 5, 12, 0, 0), null));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/reveal-over-time").header("If-None-Match", overTimeETag))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2));
+
+        // Die Klick-Rangliste hat sich nicht geändert
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/reveal-with-clicks").header("If-None-Match", withClicksETag))
+                .andExpect(status().isNotModified());
+    }
 }
@@ -0,0 +1,80 @@
+package ropold.backend.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ropold.backend.Service.LocalImageStore;
+
+import java.io.IOException;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "app.image-store.type=local",
+        "app.image-store.local.directory=target/test-images"
+})
+@AutoConfigureMockMvc
+class ImageControllerIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    LocalImageStore localImageStore;
+
+    byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 1, 2, 3, 4, 5, 6, 7, 8};
+
+    String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        url = localImageStore.store(png);
+    }
+
+    @Test
+    void getImage_shouldReturnFileWithCachingHeaders() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(png))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void getImage_withMatchingEtag_shouldReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void getImage_withRange_shouldReturnPartialContent() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(url).header(HttpHeaders.RANGE, "bytes=8-11"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 8-11/16"))
+                .andExpect(content().bytes(new byte[]{1, 2, 3, 4}));
+    }
+
+    @Test
+    void getImage_withUnsatisfiableRange_shouldReturn416() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(url).header(HttpHeaders.RANGE, "bytes=100-200"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */16"));
+    }
+
+    @Test
+    void getImage_withUnknownName_shouldReturnNotFound() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/images/missing.png"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,55 @@
+package ropold.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"app.metrics.username=scraper", "app.metrics.password={noop}secret"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void prometheus_shouldExposeServiceEndpointAndMongoMetrics() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/page"))
+                .andExpect(status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/reveal-over-time"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus").with(httpBasic("scraper", "secret")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("revealhub_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("method=\"getActiveRevealsPage\"")))
+                .andExpect(content().string(containsString("method=\"getBestHighScoresOverTime\"")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("mongodb_driver_commands_seconds_bucket{")))
+                .andExpect(content().string(containsString("collection=\"revealModel\"")))
+                .andExpect(content().string(containsString("mongodb_driver_pool_size")));
+    }
+
+    @Test
+    void prometheus_withoutScraperCredentials_shouldBeUnauthorized() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus").with(httpBasic("scraper", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void health_shouldStayPublic() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
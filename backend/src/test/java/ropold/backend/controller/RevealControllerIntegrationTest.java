@@ -2,6 +2,7 @@ package ropold.backend.controller;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.Uploader;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -16,16 +20,25 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ropold.backend.Service.ActiveCategoryRegistry;
+import ropold.backend.Service.JobQueueService;
+import ropold.backend.Service.RevealSearchService;
+import ropold.backend.Service.RevealService;
 import ropold.backend.model.AppUser;
 import ropold.backend.model.Category;
+import ropold.backend.model.ImageStatus;
 import ropold.backend.model.RevealModel;
 import ropold.backend.repository.AppUserRepository;
 import ropold.backend.repository.RevealRepository;
 
+import java.io.IOException;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
@@ -50,6 +63,15 @@ class RevealControllerIntegrationTest {
     @Autowired
     private AppUserRepository appUserRepository;
 
+    @Autowired
+    private ActiveCategoryRegistry activeCategoryRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
     @BeforeEach
     void setup() {
         revealRepository.deleteAll();
@@ -64,7 +86,11 @@ class RevealControllerIntegrationTest {
                 "Sample description for the RevealModel.",
                 true,
                 "user",
-                "https://example.com/image1.jpg"
+                "https://example.com/image1.jpg",
+                ImageStatus.READY,
+                null,
+                null,
+                null
         );
 
         RevealModel revealModel2 = new RevealModel(
@@ -76,7 +102,11 @@ class RevealControllerIntegrationTest {
                 "A brief description",
                 true,
                 "user",
-                "https://example.com/image1.jpg"
+                "https://example.com/image1.jpg",
+                ImageStatus.READY,
+                null,
+                null,
+                null
         );
         revealRepository.saveAll(List.of(revealModel1, revealModel2));
 
@@ -89,6 +119,11 @@ class RevealControllerIntegrationTest {
                 List.of("2")
         );
         appUserRepository.save(user);
+
+        // Die Registry wird nur beim Start befüllt, direkte Repository-Zugriffe umgehen sie
+        activeCategoryRegistry.reload();
+        cacheManager.getCache(RevealService.REVEAL_CACHE).clear();
+        cacheManager.getCache(RevealSearchService.SEARCH_CACHE).clear();
     }
 
     @Test
@@ -102,10 +137,7 @@ class RevealControllerIntegrationTest {
                     {
                         "id": "2",
                         "name": "Johnny Cash",
-                        "solutionWords": ["Solution1", "Solution2"],
-                        "closeSolutionWords": ["Close Solution1", "Close Solution2"],
                         "category": "FOOD",
-                        "description": "A brief description",
                         "isActive": true,
                         "githubId": "user",
                         "imageUrl": "https://example.com/image1.jpg"
@@ -141,6 +173,25 @@ class RevealControllerIntegrationTest {
         Assertions.assertFalse(updatedUser.favorites().contains("2"));
     }
 
+    @Test
+    void addRevealToFavorites_whenAlreadyFavorite_shouldReportUnchanged() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/reveal-hub/favorites/2")
+                        .with(oidcLogin().idToken(i -> i.claim("sub", "user"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed").value(false));
+
+        AppUser updatedUser = appUserRepository.findById("user").orElseThrow();
+        Assertions.assertEquals(List.of("2"), updatedUser.favorites());
+    }
+
+    @Test
+    void removeRevealFromFavorites_whenNotFavorite_shouldReportUnchanged() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/reveal-hub/favorites/1")
+                        .with(oidcLogin().idToken(i -> i.claim("sub", "user"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed").value(false));
+    }
+
     @Test
     void ToggleActiveStatus_shouldToggleActiveStatus() throws Exception {
         RevealModel memoryBefore = revealRepository.findById("1").orElseThrow();
@@ -169,41 +220,63 @@ class RevealControllerIntegrationTest {
     }
 
     @Test
-    void getActiveRevealsByCategory_shouldReturnActiveRevealsByCategory() throws Exception {
-        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/category/ANIMAL")
-                )
+    void getActiveRevealCategoryCounts_shouldReturnCountsPerCategory() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/categories/counts"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                {
+                    "ANIMAL": 1,
+                    "FOOD": 1
+                }
+            """, true));
+    }
+
+    @Test
+    void toggleActiveStatus_shouldUpdateActiveRevealCategories() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/reveal-hub/1/toggle-active")
+                        .with(oidcLogin().idToken(i -> i.claim("sub", "user"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/categories"))
                 .andExpect(status().isOk())
                 .andExpect(content().json("""
                 [
+                    "FOOD"
+                ]
+            """, true));
+    }
+
+    @Test
+    void getActiveRevealsPage_withCategory_shouldReturnActiveRevealsOfCategory() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/page")
+                        .param("category", "ANIMAL")
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                {"reveals": [
                     {
                         "id": "1",
                         "name": "Bobby Brown",
-                        "solutionWords": ["word1", "word2", "word3"],
-                        "closeSolutionWords": ["closeWord1", "closeWord2"],
                         "category": "ANIMAL",
-                        "description": "Sample description for the RevealModel.",
                         "isActive": true,
                         "githubId": "user",
                         "imageUrl": "https://example.com/image1.jpg"
                     }
-                ]
+                ]}
             """));
     }
 
     @Test
-    void getAllReveals_shouldReturnAllReveals() throws Exception {
-        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub")
+    void getRevealsPage_shouldReturnAllReveals() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/page")
                 )
                 .andExpect(status().isOk())
                 .andExpect(content().json("""
-                [
+                {"reveals": [
                     {
                         "id": "1",
                         "name": "Bobby Brown",
-                        "solutionWords": ["word1", "word2", "word3"],
-                        "closeSolutionWords": ["closeWord1", "closeWord2"],
                         "category": "ANIMAL",
-                        "description": "Sample description for the RevealModel.",
                         "isActive": true,
                         "githubId": "user",
                         "imageUrl": "https://example.com/image1.jpg"
@@ -211,33 +284,27 @@ class RevealControllerIntegrationTest {
                     {
                         "id": "2",
                         "name": "Johnny Cash",
-                        "solutionWords": ["Solution1", "Solution2"],
-                        "closeSolutionWords": ["Close Solution1", "Close Solution2"],
                         "category": "FOOD",
-                        "description": "A brief description",
                         "isActive": true,
                         "githubId": "user",
                         "imageUrl": "https://example.com/image1.jpg"
                     }
-                ]
+                ]}
             """));
     }
 
     @Test
-    void getRevealsForGithubUser_shouldReturnRevealsForGithubUser() throws Exception {
-        mockMvc.perform(MockMvcRequestBuilders.get("/api/users/me/my-reveals/user")
+    void getRevealsForGithubUserPage_shouldReturnRevealsForGithubUser() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/users/me/my-reveals/user/page")
                         .with(oidcLogin().idToken(i -> i.claim("sub", "user")))
                 )
                 .andExpect(status().isOk())
                 .andExpect(content().json("""
-                [
+                {"reveals": [
                     {
                         "id": "1",
                         "name": "Bobby Brown",
-                        "solutionWords": ["word1", "word2", "word3"],
-                        "closeSolutionWords": ["closeWord1", "closeWord2"],
                         "category": "ANIMAL",
-                        "description": "Sample description for the RevealModel.",
                         "isActive": true,
                         "githubId": "user",
                         "imageUrl": "https://example.com/image1.jpg"
@@ -245,15 +312,12 @@ class RevealControllerIntegrationTest {
                     {
                         "id": "2",
                         "name": "Johnny Cash",
-                        "solutionWords": ["Solution1", "Solution2"],
-                        "closeSolutionWords": ["Close Solution1", "Close Solution2"],
                         "category": "FOOD",
-                        "description": "A brief description",
                         "isActive": true,
                         "githubId": "user",
                         "imageUrl": "https://example.com/image1.jpg"
                     }
-                ]
+                ]}
             """));
     }
 
@@ -301,19 +365,18 @@ class RevealControllerIntegrationTest {
     }
 
     @Test
-    void getActiveReveals_shouldReturnActiveReveals() throws Exception {
-        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active")
+    void getActiveRevealsPage_shouldReturnSummariesOnly() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/page")
                 )
                 .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reveals[0].solutionWords").doesNotExist())
+                .andExpect(jsonPath("$.reveals[0].description").doesNotExist())
                 .andExpect(content().json("""
-                [
+                {"reveals": [
                     {
                         "id": "1",
                         "name": "Bobby Brown",
-                        "solutionWords": ["word1", "word2", "word3"],
-                        "closeSolutionWords": ["closeWord1", "closeWord2"],
                         "category": "ANIMAL",
-                        "description": "Sample description for the RevealModel.",
                         "isActive": true,
                         "githubId": "user",
                         "imageUrl": "https://example.com/image1.jpg"
@@ -321,18 +384,157 @@ class RevealControllerIntegrationTest {
                     {
                         "id": "2",
                         "name": "Johnny Cash",
-                        "solutionWords": ["Solution1", "Solution2"],
-                        "closeSolutionWords": ["Close Solution1", "Close Solution2"],
                         "category": "FOOD",
-                        "description": "A brief description",
                         "isActive": true,
                         "githubId": "user",
                         "imageUrl": "https://example.com/image1.jpg"
                     }
-                ]
+                ]}
             """));
     }
 
+    @Test
+    void getRandomActiveReveal_shouldNotRepeatWithinSession() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 2; i++) {
+            String json = mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/random").session(session))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.solutionWords").doesNotExist())
+                    .andReturn().getResponse().getContentAsString();
+            ids.add(JsonPath.read(json, "$.id"));
+        }
+
+        Assertions.assertEquals(Set.of("1", "2"), ids);
+    }
+
+    @Test
+    void getRandomActiveReveal_shouldApplyCategoryFilter() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/random").param("category", "FOOD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("2"))
+                .andExpect(jsonPath("$.name").value("Johnny Cash"));
+    }
+
+    @Test
+    void getRandomActiveReveal_withoutActiveRevealsInCategory_shouldReturnNotFound() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/random").param("category", "MUSIC"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void streamActiveReveals_shouldEmitOneSummaryPerLine() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5000);
+
+        Assertions.assertTrue(result.getResponse().getContentType().startsWith(MediaType.APPLICATION_NDJSON_VALUE));
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        Assertions.assertEquals(2, lines.size());
+        Assertions.assertEquals("1", JsonPath.read(lines.get(0), "$.id"));
+        Assertions.assertEquals("Johnny Cash", JsonPath.read(lines.get(1), "$.name"));
+        Assertions.assertFalse(lines.get(0).contains("solutionWords"));
+    }
+
+    @Test
+    void streamActiveReveals_shouldApplyCategoryFilter() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/stream")
+                        .param("category", "FOOD"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5000);
+
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        Assertions.assertEquals(1, lines.size());
+        Assertions.assertEquals("2", JsonPath.read(lines.get(0), "$.id"));
+    }
+
+    @Test
+    void streamAllReveals_asJsonArray_shouldEmitValidArray() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/reveal-hub/1/toggle-active")
+                        .with(oidcLogin().idToken(i -> i.claim("sub", "user"))))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/stream")
+                        .param("format", "json"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5000);
+
+        String json = result.getResponse().getContentAsString();
+        Assertions.assertEquals(List.of("1", "2"), JsonPath.read(json, "$[*].id"));
+        Assertions.assertEquals(List.of(false, true), JsonPath.read(json, "$[*].isActive"));
+        Assertions.assertEquals(List.of(), JsonPath.read(json, "$[*].description"));
+    }
+
+    @Test
+    void searchReveals_shouldReturnMatchingActiveReveals() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/search")
+                        .param("q", "brief"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reveals.length()").value(1))
+                .andExpect(jsonPath("$.reveals[0].id").value("2"))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void searchReveals_shouldApplyCategoryFilter() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/search")
+                        .param("q", "description")
+                        .param("category", "ANIMAL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reveals.length()").value(1))
+                .andExpect(jsonPath("$.reveals[0].id").value("1"));
+    }
+
+    @Test
+    void searchReveals_shouldNotReturnStaleResults_afterToggle() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/search").param("q", "Bobby"))
+                .andExpect(jsonPath("$.reveals.length()").value(1));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/reveal-hub/1/toggle-active")
+                        .with(oidcLogin().idToken(i -> i.claim("sub", "user"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/search").param("q", "Bobby"))
+                .andExpect(jsonPath("$.reveals.length()").value(0));
+    }
+
+    @Test
+    void checkGuess_shouldAcceptCorrectGuessWithoutLogin() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/reveal-hub/1/guess")
+                        .contentType("application/json")
+                        .content("""
+                        { "guess": "  WORD1 " }
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value("CORRECT"))
+                .andExpect(jsonPath("$.solutionWords.length()").value(3));
+    }
+
+    @Test
+    void checkGuess_shouldReportCloseGuessWithoutSolutionWords() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/reveal-hub/1/guess")
+                        .contentType("application/json")
+                        .content("""
+                        { "guess": "closeWord2" }
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value("CLOSE"))
+                .andExpect(jsonPath("$.solutionWords.length()").value(0));
+    }
+
+    @Test
+    void checkGuess_forUnknownReveal_shouldReturnNotFound() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/reveal-hub/unknown/guess")
+                        .contentType("application/json")
+                        .content("""
+                        { "guess": "word1" }
+                        """))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getRevealById_shouldReturnReveal() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/1")
@@ -342,17 +544,159 @@ class RevealControllerIntegrationTest {
                 {
                     "id": "1",
                     "name": "Bobby Brown",
-                    "solutionWords": ["word1", "word2", "word3"],
-                    "closeSolutionWords": ["closeWord1", "closeWord2"],
                     "category": "ANIMAL",
                     "description": "Sample description for the RevealModel.",
                     "isActive": true,
                     "githubId": "user",
                     "imageUrl": "https://example.com/image1.jpg"
                 }
+            """))
+                .andExpect(jsonPath("$.solutionWords").doesNotExist())
+                .andExpect(jsonPath("$.closeSolutionWords").doesNotExist());
+    }
+
+    @Test
+    void getOwnReveal_asOwner_shouldReturnSolutionWords() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/users/me/reveals/1")
+                        .with(oidcLogin().idToken(i -> i.claim("sub", "user"))))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                {
+                    "id": "1",
+                    "solutionWords": ["word1", "word2", "word3"],
+                    "closeSolutionWords": ["closeWord1", "closeWord2"]
+                }
             """));
     }
 
+    @Test
+    void getOwnReveal_asOtherUserOrAnonymous_shouldBeRejected() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/users/me/reveals/1")
+                        .with(oidcLogin().idToken(i -> i.claim("sub", "someone-else"))))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/users/me/reveals/1"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void getActiveRevealCategoryCounts_shouldAnswerNotModified_whenETagMatches() throws Exception {
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/categories/counts"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/categories/counts").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getActiveRevealsPage_shouldAnswerNotModified_perPageAndCategory() throws Exception {
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/page").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/page").param("limit", "1").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        // Andere Seite oder Kategorie hat einen eigenen Validator
+        String categoryETag = mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/page")
+                        .param("limit", "1").param("category", "FOOD").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        Assertions.assertNotEquals(eTag, categoryETag);
+    }
+
+    @Test
+    void getRevealsPage_shouldReturnNewETag_afterToggle() throws Exception {
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/page"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/reveal-hub/1/toggle-active")
+                        .with(oidcLogin().idToken(i -> i.claim("sub", "user"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/page").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"));
+    }
+
+    @Test
+    void getActiveRevealCategories_shouldReturnNewETag_afterToggle() throws Exception {
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/categories"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/reveal-hub/1/toggle-active")
+                        .with(oidcLogin().idToken(i -> i.claim("sub", "user"))))
+                .andExpect(status().isOk());
+
+        String newETag = mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/categories").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                [
+                    "FOOD"
+                ]
+            """, true))
+                .andReturn().getResponse().getHeader("ETag");
+        Assertions.assertNotEquals(eTag, newETag);
+    }
+
+    @Test
+    void getRevealById_shouldAnswerNotModified_untilRevealChanges() throws Exception {
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/1").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/reveal-hub/1/toggle-active")
+                        .with(oidcLogin().idToken(i -> i.claim("sub", "user"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/1").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isActive").value(false));
+    }
+
+    @Test
+    void getRevealById_shouldBeServedFromCache_afterFirstRead() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/1"))
+                .andExpect(status().isOk());
+
+        // Direkt im Repository gelöscht, der Cache liefert trotzdem weiterhin den Reveal
+        revealRepository.deleteById("1");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Bobby Brown"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("reveals"))
+                .andExpect(jsonPath("$.size").value(1));
+    }
+
+    @Test
+    void toggleActiveStatus_shouldUpdateCachedReveal() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/1"))
+                .andExpect(jsonPath("$.isActive").value(true));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/reveal-hub/1/toggle-active")
+                        .with(oidcLogin().idToken(i -> i.claim("sub", "user"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/1"))
+                .andExpect(jsonPath("$.isActive").value(false));
+    }
+
     @Test
     void postReveal_shouldAddReveal() throws Exception {
         OAuth2User mockOAuth2User = mock(OAuth2User.class);
@@ -382,15 +726,17 @@ class RevealControllerIntegrationTest {
                             "imageUrl": "https://example.com/image1.jpg"
                         }
                         """.getBytes())))
-                .andExpect(status().isCreated());
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.imageStatus").value("PENDING"));
 
         List<RevealModel> allReveals = revealRepository.findAll();
         Assertions.assertEquals(1, allReveals.size());
 
-        RevealModel savedReveal = allReveals.getFirst();
+        RevealModel savedReveal = awaitImageStatus(allReveals.getFirst().id(), ImageStatus.READY);
+        Assertions.assertEquals("https://www.test.de/", savedReveal.imageUrl());
         org.assertj.core.api.Assertions.assertThat(savedReveal)
                 .usingRecursiveComparison()
-                .ignoringFields("id", "imageUrl")
+                .ignoringFields("id", "imageUrl", "version", "lastModified")
                 .isEqualTo(new RevealModel(
                         null,
                         "Test Reveal",
@@ -400,7 +746,11 @@ class RevealControllerIntegrationTest {
                         "A brief description",
                         true,
                         "user",
-                        "https://example.com/image1.jpg"
+                        "https://example.com/image1.jpg",
+                        ImageStatus.READY,
+                        null,
+                        null,
+                        null
                 ));
     }
 
@@ -436,9 +786,64 @@ class RevealControllerIntegrationTest {
                 .with(request -> { request.setMethod("PUT"); return request; }))
             .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("Updated Reveal"))
+                .andExpect(jsonPath("$.imageStatus").value("PENDING"));
+
+        RevealModel updatedReveal = awaitImageStatus("1", ImageStatus.READY);
+        Assertions.assertEquals("Updated Reveal", updatedReveal.name());
+        Assertions.assertEquals("https://example.com/updated-image.jpg", updatedReveal.imageUrl());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/1/image-status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imageStatus").value("READY"))
                 .andExpect(jsonPath("$.imageUrl").value("https://example.com/updated-image.jpg"));
+    }
+
+    @Test
+    void postReveal_whenUploadFails_shouldMarkImageAsFailed() throws Exception {
+        OAuth2User mockOAuth2User = mock(OAuth2User.class);
+        when(mockOAuth2User.getName()).thenReturn("user");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(mockOAuth2User, null,
+                        Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")))
+        );
+
+        Uploader mockUploader = mock(Uploader.class);
+        when(mockUploader.upload(any(), anyMap())).thenThrow(new IOException("Cloudinary not reachable"));
+        when(cloudinary.uploader()).thenReturn(mockUploader);
+
+        String response = mockMvc.perform(MockMvcRequestBuilders.multipart("/api/reveal-hub")
+                        .file(new MockMultipartFile("image", "image.jpg", "image/jpeg", "image".getBytes()))
+                        .file(new MockMultipartFile("revealModelDto", "", "application/json", """
+                        {
+                            "name": "Test Reveal",
+                            "solutionWords": ["Solution1"],
+                            "closeSolutionWords": [],
+                            "category": "FOOD",
+                            "description": "A brief description",
+                            "isActive": true,
+                            "githubId": "user",
+                            "imageUrl": "https://example.com/image1.jpg"
+                        }
+                        """.getBytes())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
 
-        Assertions.assertEquals("Updated Reveal", revealRepository.findById("1").orElseThrow().name());
+        String id = JsonPath.read(response, "$.id");
+        RevealModel savedReveal = awaitImageStatus(id, ImageStatus.FAILED);
+        Assertions.assertNull(savedReveal.imageUrl());
+    }
+
+    // Der Bild-Upload läuft asynchron, daher bis zum erwarteten Status warten
+    private RevealModel awaitImageStatus(String id, ImageStatus expected) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            RevealModel reveal = revealRepository.findById(id).orElseThrow();
+            if (reveal.imageStatus() == expected) {
+                return reveal;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Image status of reveal " + id + " did not become " + expected);
     }
 
     @Test
@@ -459,7 +864,77 @@ class RevealControllerIntegrationTest {
                 .andExpect(status().isNoContent());
 
         Assertions.assertTrue(revealRepository.findById("1").isEmpty());
-        verify(mockUploader).destroy(eq("image1"), anyMap());
+
+        // Das Bild wird erst vom Job-Worker beim Image-Host gelöscht
+        jobQueueService.processDueJobs();
+        verify(mockUploader, timeout(5000)).destroy(eq("image1"), anyMap());
+    }
+
+    @Test
+    void getActiveRevealsPage_shouldReturnPagesInIdOrder() throws Exception {
+        String response = mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/page")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reveals.length()").value(1))
+                .andExpect(jsonPath("$.reveals[0].id").value("1"))
+                .andExpect(jsonPath("$.next").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+
+        String next = JsonPath.read(response, "$.next");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/page")
+                        .param("limit", "1")
+                        .param("cursor", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reveals[0].id").value("2"))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void importReveals_shouldImportValidLinesAndReportInvalidOnes() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/reveal-hub/import")
+                        .contentType("application/x-ndjson")
+                        .content("""
+                                {"name": "Imported One", "solutionWords": ["Tiger"], "closeSolutionWords": [], "category": "ANIMAL", "description": "", "isActive": true, "githubId": "user", "imageUrl": "https://example.com/tiger.jpg"}
+                                {"name": "Imported Two", "solutionWords": [], "category": "FOOD", "isActive": true, "imageUrl": "https://example.com/empty.jpg"}
+                                {"name": "Imported Three", "solutionWords": ["Pizza"], "category": "FOOD", "isActive": false, "imageUrl": "https://example.com/pizza.jpg"}
+                                """)
+                        .with(oidcLogin().idToken(i -> i.claim("sub", "user"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("solutionWords: Solution words cannot be empty"));
+
+        // Ohne githubId in der Zeile gehört der Reveal dem importierenden Nutzer
+        Assertions.assertEquals(4, revealRepository.findAll().stream().filter(reveal -> "user".equals(reveal.githubId())).count());
+
+        // Importierte Reveals sind sofort spielbar
+        String id = revealRepository.findAll().stream()
+                .filter(reveal -> reveal.name().equals("Imported One"))
+                .findFirst().orElseThrow().id();
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/reveal-hub/" + id + "/guess")
+                        .contentType("application/json")
+                        .content("""
+                                {"guess": "tiger"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value("CORRECT"));
+    }
+
+    @Test
+    void importReveals_withoutLogin_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/reveal-hub/import")
+                        .contentType("application/x-ndjson")
+                        .content("{}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void getActiveRevealsPage_withInvalidCursor_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/page")
+                        .param("cursor", "not*base64"))
+                .andExpect(status().isBadRequest());
     }
 
 }
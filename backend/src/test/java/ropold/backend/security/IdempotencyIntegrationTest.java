@@ -0,0 +1,165 @@
+package ropold.backend.security;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ropold.backend.Service.GuessMatcherRegistry;
+import ropold.backend.Service.LeaderboardEngine;
+import ropold.backend.Service.RevealService;
+import ropold.backend.model.Category;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.RevealModel;
+import ropold.backend.repository.HighScoreRepository;
+import ropold.backend.repository.IdempotencyRecordRepository;
+import ropold.backend.repository.RevealRepository;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RevealRepository revealRepository;
+
+    @Autowired
+    private HighScoreRepository highScoreRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private LeaderboardEngine leaderboardEngine;
+
+    @Autowired
+    private GuessMatcherRegistry guessMatcherRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setup() {
+        revealRepository.deleteAll();
+        highScoreRepository.deleteAll();
+        idempotencyRecordRepository.deleteAll();
+        leaderboardEngine.reload();
+        RevealModel reveal = revealRepository.save(new RevealModel("1", "Bobby Brown", List.of("word1"), List.of(),
+                Category.ANIMAL, "description", true, "user", "https://example.com/image1.jpg", ImageStatus.READY,
+                null, null, null));
+        cacheManager.getCache(RevealService.REVEAL_CACHE).clear();
+        guessMatcherRegistry.onRevealSaved(reveal);
+    }
+
+    // Startet und löst ein Spiel, Ergebnis ist die id
+    private String solvedGame() throws Exception {
+        String json = mockMvc.perform(MockMvcRequestBuilders.post("/api/game-sessions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "revealId": "1", "gameMode": "REVEAL_OVER_TIME" }
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(json, "$.id");
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/game-sessions/" + id + "/guess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "guess": "word1" }
+                                """))
+                .andExpect(status().isOk());
+        return id;
+    }
+
+    private MockHttpServletRequestBuilder finishGame(String gameId, String idempotencyKey) {
+        return MockMvcRequestBuilders.post("/api/game-sessions/" + gameId + "/finish")
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        { "playerName": "player1" }
+                        """);
+    }
+
+    @Test
+    void finishGame_withSameKey_shouldReplayFirstResponse() throws Exception {
+        String gameId = solvedGame();
+        String first = mockMvc.perform(finishGame(gameId, "key-1"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotency-Replayed"))
+                .andReturn().getResponse().getContentAsString();
+
+        // Ohne Key wäre das Spiel jetzt unbekannt (404)
+        String retry = mockMvc.perform(finishGame(gameId, "key-1"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotency-Replayed", "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        Assertions.assertEquals((String) JsonPath.read(first, "$.id"), JsonPath.read(retry, "$.id"));
+        Assertions.assertEquals(1, highScoreRepository.count());
+    }
+
+    @Test
+    void finishGame_withDifferentKeys_shouldExecuteBoth() throws Exception {
+        String gameId = solvedGame();
+        mockMvc.perform(finishGame(gameId, "key-1")).andExpect(status().isCreated());
+        mockMvc.perform(finishGame(gameId, "key-2"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("Idempotency-Replayed"));
+
+        Assertions.assertEquals(1, highScoreRepository.count());
+    }
+
+    @Test
+    void finishGame_withSameKeyAndDifferentBody_shouldReturnUnprocessableEntity() throws Exception {
+        String gameId = solvedGame();
+        mockMvc.perform(finishGame(gameId, "key-1")).andExpect(status().isCreated());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/game-sessions/" + gameId + "/finish")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "playerName": "player2" }
+                                """))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(header().doesNotExist("Idempotency-Replayed"));
+
+        Assertions.assertEquals(1, highScoreRepository.count());
+    }
+
+    @Test
+    void finishGame_withSameKeyFromOtherAddress_shouldNotReplay() throws Exception {
+        String gameId = solvedGame();
+        mockMvc.perform(finishGame(gameId, "key-1").with(request -> {
+            request.setRemoteAddr("10.0.0.1");
+            return request;
+        })).andExpect(status().isCreated());
+
+        mockMvc.perform(finishGame(gameId, "key-1").with(request -> {
+                    request.setRemoteAddr("10.0.0.2");
+                    return request;
+                }))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("Idempotency-Replayed"));
+    }
+
+    @Test
+    void finishGame_withTooLongKey_shouldReturnBadRequest() throws Exception {
+        String gameId = solvedGame();
+        mockMvc.perform(finishGame(gameId, "k".repeat(256)))
+                .andExpect(status().isBadRequest());
+
+        Assertions.assertEquals(0, highScoreRepository.count());
+    }
+}
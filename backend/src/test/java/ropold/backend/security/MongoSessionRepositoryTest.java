@@ -0,0 +1,157 @@
+package ropold.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.serializer.support.SerializingConverter;
+import ropold.backend.model.SessionRecord;
+import ropold.backend.repository.SessionRecordRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MongoSessionRepositoryTest {
+
+    SessionRecordRepository sessionRecordRepository = mock(SessionRecordRepository.class);
+    AtomicLong nanos = new AtomicLong();
+    MongoSessionRepository mongoSessionRepository = new MongoSessionRepository(
+            sessionRecordRepository, Duration.ofMinutes(30), Duration.ofSeconds(10), 100, nanos::get);
+
+    private MongoSession savedSession() {
+        MongoSession session = mongoSessionRepository.createSession();
+        session.setAttribute("bag", "value");
+        mongoSessionRepository.save(session);
+        return session;
+    }
+
+    @Test
+    void createSession_shouldNotWriteUntilSaved() {
+        MongoSession session = mongoSessionRepository.createSession();
+
+        assertEquals(Duration.ofMinutes(30), session.getMaxInactiveInterval());
+        verifyNoInteractions(sessionRecordRepository);
+    }
+
+    @Test
+    void save_newSession_shouldInsert() {
+        savedSession();
+
+        verify(sessionRecordRepository).insert(any(SessionRecord.class));
+        verify(sessionRecordRepository, never()).replaceIfPresent(any());
+    }
+
+    @Test
+    void findById_afterSave_shouldReadFromNearCache() {
+        MongoSession session = savedSession();
+
+        MongoSession first = mongoSessionRepository.findById(session.getId());
+        MongoSession second = mongoSessionRepository.findById(session.getId());
+
+        assertEquals("value", first.getAttribute("bag"));
+        // Jede Anfrage bekommt ein eigenes Objekt
+        assertNotSame(first, second);
+        verify(sessionRecordRepository, never()).findById(any());
+    }
+
+    @Test
+    void findById_afterNearCacheTtl_shouldReadFromMongo() {
+        MongoSession session = savedSession();
+        ArgumentCaptor<SessionRecord> captor = ArgumentCaptor.forClass(SessionRecord.class);
+        verify(sessionRecordRepository).insert(captor.capture());
+        when(sessionRecordRepository.findById(session.getId())).thenReturn(Optional.of(captor.getValue()));
+
+        nanos.addAndGet(Duration.ofSeconds(11).toNanos());
+        MongoSession found = mongoSessionRepository.findById(session.getId());
+
+        assertEquals("value", found.getAttribute("bag"));
+        assertEquals(session.getCreationTime(), found.getCreationTime());
+        verify(sessionRecordRepository).findById(session.getId());
+    }
+
+    @Test
+    void save_withOnlyRecentAccess_shouldSkipWrite() {
+        MongoSession session = savedSession();
+        MongoSession found = mongoSessionRepository.findById(session.getId());
+        found.setLastAccessedTime(found.getLastAccessedTime().plusSeconds(5));
+
+        mongoSessionRepository.save(found);
+
+        verify(sessionRecordRepository, times(1)).insert(any(SessionRecord.class));
+        verify(sessionRecordRepository, never()).replaceIfPresent(any());
+    }
+
+    @Test
+    void save_withChangedAttributeOrOldAccess_shouldWrite() {
+        MongoSession session = savedSession();
+        when(sessionRecordRepository.replaceIfPresent(any())).thenReturn(true);
+
+        MongoSession changed = mongoSessionRepository.findById(session.getId());
+        changed.setAttribute("bag", "other");
+        mongoSessionRepository.save(changed);
+
+        MongoSession touched = mongoSessionRepository.findById(session.getId());
+        touched.setLastAccessedTime(touched.getLastAccessedTime().plus(MongoSessionRepository.TOUCH_INTERVAL));
+        mongoSessionRepository.save(touched);
+
+        verify(sessionRecordRepository, times(1)).insert(any(SessionRecord.class));
+        verify(sessionRecordRepository, times(2)).replaceIfPresent(any());
+    }
+
+    @Test
+    void save_afterLogoutOnOtherInstance_shouldNotRecreateSession() {
+        MongoSession session = savedSession();
+        MongoSession found = mongoSessionRepository.findById(session.getId());
+        // Auf einer anderen Instanz gelöscht, der Near-Cache hier weiß davon noch nichts
+        when(sessionRecordRepository.replaceIfPresent(any())).thenReturn(false);
+
+        found.setAttribute("bag", "other");
+        mongoSessionRepository.save(found);
+
+        verify(sessionRecordRepository, times(1)).insert(any(SessionRecord.class));
+        assertNull(mongoSessionRepository.findById(session.getId()));
+        verify(sessionRecordRepository).findById(session.getId());
+    }
+
+    @Test
+    void save_withChangedId_shouldDeleteOldSession() {
+        MongoSession session = savedSession();
+        String oldId = session.getId();
+
+        MongoSession found = mongoSessionRepository.findById(oldId);
+        String newId = found.changeSessionId();
+        mongoSessionRepository.save(found);
+
+        verify(sessionRecordRepository).deleteById(oldId);
+        // Unter der neuen id wird eingefügt, nicht überschrieben
+        verify(sessionRecordRepository, times(2)).insert(any(SessionRecord.class));
+        verify(sessionRecordRepository, never()).replaceIfPresent(any());
+        assertEquals("value", mongoSessionRepository.findById(newId).getAttribute("bag"));
+    }
+
+    @Test
+    void findById_withExpiredSession_shouldDeleteAndReturnNull() {
+        Instant lastAccess = Instant.now().minus(Duration.ofHours(2));
+        SessionRecord expired = new SessionRecord("old", lastAccess, lastAccess, 1800, lastAccess.plusSeconds(1800),
+                new SerializingConverter().convert(new TreeMap<String, Object>()));
+        when(sessionRecordRepository.findById("old")).thenReturn(Optional.of(expired));
+
+        assertNull(mongoSessionRepository.findById("old"));
+        verify(sessionRecordRepository).deleteById("old");
+    }
+
+    @Test
+    void deleteById_shouldInvalidateNearCache() {
+        MongoSession session = savedSession();
+
+        mongoSessionRepository.deleteById(session.getId());
+
+        assertNull(mongoSessionRepository.findById(session.getId()));
+        verify(sessionRecordRepository).findById(session.getId());
+    }
+}
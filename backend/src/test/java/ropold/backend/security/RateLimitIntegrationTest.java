@@ -0,0 +1,65 @@
+package ropold.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "app.rate-limit.rules.game-start.methods=POST",
+        "app.rate-limit.rules.game-start.paths=/api/game-sessions",
+        "app.rate-limit.rules.game-start.capacity=2",
+        "app.rate-limit.rules.game-start.refill-period=1h"
+})
+@AutoConfigureMockMvc
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    // Unbekanntes Reveal: der Controller antwortet 404, gezählt wird trotzdem
+    private MockHttpServletRequestBuilder startGame(String remoteAddress) {
+        return MockMvcRequestBuilders.post("/api/game-sessions")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddress);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        { "revealId": "unknown", "gameMode": "REVEAL_WITH_CLICKS" }
+                        """);
+    }
+
+    @Test
+    void startGame_beyondCapacity_shouldReturnTooManyRequests() throws Exception {
+        mockMvc.perform(startGame("10.0.0.1"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("RateLimit-Limit", "2"))
+                .andExpect(header().string("RateLimit-Remaining", "1"));
+        mockMvc.perform(startGame("10.0.0.1"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("RateLimit-Remaining", "0"));
+
+        mockMvc.perform(startGame("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1800"))
+                .andExpect(jsonPath("$.message").exists());
+
+        // Andere Clients haben einen eigenen Bucket
+        mockMvc.perform(startGame("10.0.0.2"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getHighScores_shouldNotBeLimited() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/reveal-over-time"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("RateLimit-Limit"));
+    }
+}
@@ -0,0 +1,68 @@
+package ropold.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    AtomicLong nanos = new AtomicLong();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(Duration.ofMinutes(10), Map.of(
+            "high-score", new RateLimitProperties.Rule(List.of("post"), List.of("/api/high-score"), 3, Duration.ofSeconds(30)))),
+            meterRegistry, nanos::get);
+
+    @Test
+    void findLimit_shouldMatchMethodAndPath() {
+        assertEquals("high-score", rateLimiter.findLimit("POST", "/api/high-score").getName());
+        assertNull(rateLimiter.findLimit("GET", "/api/high-score"));
+        assertNull(rateLimiter.findLimit("POST", "/api/reveal-hub"));
+    }
+
+    @Test
+    void tryAcquire_shouldAllowBurstThenRejectUntilRefilled() {
+        RateLimiter.Limit limit = rateLimiter.findLimit("POST", "/api/high-score");
+
+        assertEquals(2, limit.remaining(rateLimiter.tryAcquire(limit, "user")));
+        assertEquals(1, limit.remaining(rateLimiter.tryAcquire(limit, "user")));
+        assertEquals(0, limit.remaining(rateLimiter.tryAcquire(limit, "user")));
+        long rejected = rateLimiter.tryAcquire(limit, "user");
+        // Ein Token kommt alle 10 Sekunden nach
+        assertEquals(-TimeUnit.SECONDS.toNanos(10), rejected);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(rateLimiter.tryAcquire(limit, "user") > 0);
+        assertTrue(rateLimiter.tryAcquire(limit, "user") < 0);
+        assertEquals(2, meterRegistry.get("revealhub.ratelimit.requests").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void tryAcquire_shouldKeepSeparateBucketsPerClient() {
+        RateLimiter.Limit limit = rateLimiter.findLimit("POST", "/api/high-score");
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(limit, "user");
+        }
+
+        assertTrue(rateLimiter.tryAcquire(limit, "user") < 0);
+        assertTrue(rateLimiter.tryAcquire(limit, "127.0.0.1") > 0);
+    }
+
+    @Test
+    void tryAcquire_afterIdleTimeout_shouldStartWithFullBucket() {
+        RateLimiter.Limit limit = rateLimiter.findLimit("POST", "/api/high-score");
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(limit, "user");
+        }
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(11));
+
+        assertEquals(2, limit.remaining(rateLimiter.tryAcquire(limit, "user")));
+    }
+}
@@ -0,0 +1,88 @@
+package ropold.backend.security;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ropold.backend.Service.ActiveCategoryRegistry;
+import ropold.backend.model.Category;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.RevealModel;
+import ropold.backend.repository.RevealRepository;
+import ropold.backend.repository.SessionRecordRepository;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.session.store=mongo")
+@AutoConfigureMockMvc
+class SessionStoreIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionRecordRepository sessionRecordRepository;
+
+    @Autowired
+    private RevealRepository revealRepository;
+
+    @Autowired
+    private ActiveCategoryRegistry activeCategoryRegistry;
+
+    @BeforeEach
+    void setup() {
+        sessionRecordRepository.deleteAll();
+        revealRepository.deleteAll();
+        revealRepository.saveAll(List.of(
+                new RevealModel("1", "Bobby Brown", List.of("bobby"), List.of(), Category.ANIMAL, "Beschreibung",
+                        true, "user", "https://example.com/image1.jpg", ImageStatus.READY, null, null, null),
+                new RevealModel("2", "Johnny Cash", List.of("johnny"), List.of(), Category.ANIMAL, "Beschreibung",
+                        true, "user", "https://example.com/image2.jpg", ImageStatus.READY, null, null, null)
+        ));
+        activeCategoryRegistry.reload();
+    }
+
+    @Test
+    void anonymousGet_shouldNotCreateSession() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/page"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().doesNotExist("SESSION"));
+
+        Assertions.assertEquals(0, sessionRecordRepository.count());
+    }
+
+    @Test
+    void randomReveal_shouldStoreShuffleBagInMongoSession() throws Exception {
+        Cookie sessionCookie = mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/random"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().exists("SESSION"))
+                .andReturn().getResponse().getCookie("SESSION");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/random").cookie(sessionCookie))
+                .andExpect(status().isOk());
+
+        Assertions.assertEquals(1, sessionRecordRepository.count());
+    }
+
+    @Test
+    void sessionDeletedElsewhere_shouldNotBeRecreatedByRunningClient() throws Exception {
+        Cookie sessionCookie = mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/random"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie("SESSION");
+        // Wie eine Abmeldung auf einer anderen Instanz, der Near-Cache hier kennt die Session noch
+        sessionRecordRepository.deleteAll();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reveal-hub/active/random").cookie(sessionCookie))
+                .andExpect(status().isOk());
+
+        Assertions.assertEquals(0, sessionRecordRepository.count());
+    }
+}
@@ -0,0 +1,110 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.Test;
+import ropold.backend.Service.ActiveCategoryRegistry;
+import ropold.backend.model.Category;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealSummary;
+import ropold.backend.repository.RevealRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class ActiveCategoryRegistryTest {
+
+    RevealRepository revealRepository = mock(RevealRepository.class);
+    ActiveCategoryRegistry activeCategoryRegistry = new ActiveCategoryRegistry(revealRepository);
+
+    private RevealModel reveal(Category category, boolean isActive) {
+        return new RevealModel("1", "Bobby Brown", List.of("word1"), List.of(), category,
+                "description", isActive, "user", "https://example.com/image1.jpg",
+                ImageStatus.READY,
+                null,
+                null,
+                null);
+    }
+
+    private RevealModel reveal(String id, Category category) {
+        return new RevealModel(id, "Bobby Brown", List.of("word1"), List.of(), category,
+                "description", true, "user", "https://example.com/image1.jpg",
+                ImageStatus.READY,
+                null,
+                null,
+                null);
+    }
+
+    private RevealSummary summary(String id, Category category) {
+        return new RevealSummary(id, "Bobby Brown", category, true, "user", "https://example.com/image1.jpg",
+                ImageStatus.READY, null);
+    }
+
+    @Test
+    void reload_shouldSeedCountsFromRepository() {
+        when(revealRepository.findByIsActiveTrue()).thenReturn(List.of(
+                summary("1", Category.ANIMAL), summary("2", Category.ANIMAL), summary("3", Category.ANIMAL)));
+
+        activeCategoryRegistry.reload();
+
+        assertEquals(Map.of(Category.ANIMAL, 3), activeCategoryRegistry.getActiveCounts());
+        assertEquals(Set.of("1", "2", "3"), Set.copyOf(activeCategoryRegistry.getActiveIds(null)));
+        verify(revealRepository, times(1)).findByIsActiveTrue();
+    }
+
+    @Test
+    void onAdded_shouldIgnoreRevealThatIsAlreadyActive() {
+        activeCategoryRegistry.onAdded(reveal(Category.FOOD, true));
+        activeCategoryRegistry.onAdded(reveal(Category.FOOD, true));
+
+        assertEquals(Map.of(Category.FOOD, 1), activeCategoryRegistry.getActiveCounts());
+    }
+
+    @Test
+    void onRemoved_shouldKeepRemainingIdsDrawable() {
+        activeCategoryRegistry.onAdded(reveal("1", Category.FOOD));
+        activeCategoryRegistry.onAdded(reveal("2", Category.FOOD));
+        activeCategoryRegistry.onAdded(reveal("3", Category.MUSIC));
+
+        activeCategoryRegistry.onRemoved(reveal("1", Category.FOOD));
+
+        assertEquals(List.of("2"), activeCategoryRegistry.getActiveIds(Category.FOOD));
+        assertEquals(Set.of("2", "3"), Set.copyOf(activeCategoryRegistry.getActiveIds(null)));
+        assertFalse(activeCategoryRegistry.isActive("1", null));
+        for (int i = 0; i < 20; i++) {
+            assertEquals("2", activeCategoryRegistry.getRandomActiveId(Category.FOOD));
+        }
+        assertNull(activeCategoryRegistry.getRandomActiveId(Category.ANIMAL));
+    }
+
+    @Test
+    void onAdded_shouldOnlyCountActiveReveals() {
+        activeCategoryRegistry.onAdded(reveal(Category.FOOD, true));
+        activeCategoryRegistry.onAdded(reveal(Category.ANIMAL, false));
+
+        assertEquals(List.of("FOOD"), activeCategoryRegistry.getActiveCategories());
+    }
+
+    @Test
+    void onReplaced_shouldMoveCountToNewCategory() {
+        RevealModel before = reveal(Category.FOOD, true);
+        activeCategoryRegistry.onAdded(before);
+
+        activeCategoryRegistry.onReplaced(before, reveal(Category.MUSIC, true));
+
+        assertEquals(Map.of(Category.MUSIC, 1), activeCategoryRegistry.getActiveCounts());
+    }
+
+    @Test
+    void onRemoved_shouldNeverDropBelowZero() {
+        activeCategoryRegistry.onRemoved(reveal(Category.FOOD, true));
+
+        assertTrue(activeCategoryRegistry.getActiveCategories().isEmpty());
+    }
+}
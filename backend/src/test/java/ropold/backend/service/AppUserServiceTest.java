@@ -63,4 +63,22 @@ class AppUserServiceTest {
         assertEquals(favorites, result);
         verify(appUserRepository, times(1)).findById(userId);
     }
+
+    @Test
+    void addRevealToFavorites_UsesSingleAtomicUpdate() {
+        when(appUserRepository.addFavorite("user", "reveal1")).thenReturn(1L);
+
+        assertTrue(appUserService.addRevealToFavorites("user", "reveal1"));
+        verify(appUserRepository, times(1)).addFavorite("user", "reveal1");
+        verify(appUserRepository, never()).findById(any());
+        verify(appUserRepository, never()).save(any());
+    }
+
+    @Test
+    void removeRevealFromFavorites_ReturnsFalse_WhenNothingChanged() {
+        when(appUserRepository.removeFavorite("user", "reveal1")).thenReturn(0L);
+
+        assertFalse(appUserService.removeRevealFromFavorites("user", "reveal1"));
+        verify(appUserRepository, never()).save(any());
+    }
 }
@@ -0,0 +1,123 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import ropold.backend.Service.ChangeVersionService;
+import ropold.backend.Service.RemoteChangeEvent;
+import ropold.backend.model.ChangeVersionRecord;
+import ropold.backend.repository.ChangeVersionRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ChangeVersionServiceTest {
+
+    ChangeVersionRepository changeVersionRepository = mock(ChangeVersionRepository.class);
+    ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    ChangeVersionService changeVersionService = new ChangeVersionService(changeVersionRepository, eventPublisher);
+
+    Instant created = Instant.parse("2025-03-05T12:00:00Z");
+
+    private ChangeVersionRecord record(long count, Instant createdAt) {
+        return new ChangeVersionRecord("reveals", count, createdAt, createdAt.plusSeconds(count));
+    }
+
+    @Test
+    void current_shouldLoadOnceAndThenAnswerFromMemory() {
+        when(changeVersionRepository.findOrCreate("reveals")).thenReturn(record(3, created));
+
+        String eTag = changeVersionService.current("reveals").eTag();
+
+        assertEquals(eTag, changeVersionService.current("reveals").eTag());
+        verify(changeVersionRepository, times(1)).findOrCreate("reveals");
+    }
+
+    @Test
+    void increment_shouldChangeETag() {
+        when(changeVersionRepository.findOrCreate("reveals")).thenReturn(record(3, created));
+        when(changeVersionRepository.increment("reveals")).thenReturn(record(4, created));
+        String before = changeVersionService.current("reveals").eTag();
+
+        changeVersionService.increment("reveals");
+
+        assertNotEquals(before, changeVersionService.current("reveals").eTag());
+    }
+
+    @Test
+    void refresh_shouldTakeNewerCountFromOtherInstances_butNeverGoBack() {
+        when(changeVersionRepository.increment("reveals")).thenReturn(record(5, created));
+        changeVersionService.increment("reveals");
+        String afterIncrement = changeVersionService.current("reveals").eTag();
+
+        when(changeVersionRepository.findAll()).thenReturn(List.of(record(4, created)));
+        changeVersionService.refresh();
+        assertEquals(afterIncrement, changeVersionService.current("reveals").eTag());
+
+        when(changeVersionRepository.findAll()).thenReturn(List.of(record(6, created)));
+        changeVersionService.refresh();
+        assertNotEquals(afterIncrement, changeVersionService.current("reveals").eTag());
+    }
+
+    @Test
+    void refresh_afterCollectionWasRecreated_shouldNotReuseOldETag() {
+        when(changeVersionRepository.increment("reveals")).thenReturn(record(5, created));
+        changeVersionService.increment("reveals");
+        String before = changeVersionService.current("reveals").eTag();
+
+        // Gleicher Zählerstand, aber neu angelegt
+        when(changeVersionRepository.findAll()).thenReturn(List.of(record(5, created.plusSeconds(60))));
+        changeVersionService.refresh();
+
+        assertNotEquals(before, changeVersionService.current("reveals").eTag());
+    }
+
+    @Test
+    void refresh_shouldPublishEventOnlyForChangesOfOtherInstances() {
+        when(changeVersionRepository.increment("reveals")).thenReturn(record(5, created));
+        changeVersionService.increment("reveals");
+
+        when(changeVersionRepository.findAll()).thenReturn(List.of(record(5, created)));
+        changeVersionService.refresh();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        when(changeVersionRepository.findAll()).thenReturn(List.of(record(6, created)));
+        changeVersionService.refresh();
+        verify(eventPublisher).publishEvent(new RemoteChangeEvent("reveals"));
+    }
+
+    @Test
+    void increment_skippingOverOtherInstance_shouldPublishEvent() {
+        when(changeVersionRepository.findOrCreate("reveals")).thenReturn(record(3, created));
+        changeVersionService.current("reveals");
+
+        when(changeVersionRepository.increment("reveals")).thenReturn(record(4, created));
+        changeVersionService.increment("reveals");
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        // Eine andere Instanz hat zwischendurch auf 5 erhöht
+        when(changeVersionRepository.increment("reveals")).thenReturn(record(6, created));
+        changeVersionService.increment("reveals");
+        verify(eventPublisher).publishEvent(new RemoteChangeEvent("reveals"));
+    }
+
+    @Test
+    void refresh_shouldPublishBeforeTakingOverNewVersion() {
+        when(changeVersionRepository.increment("reveals")).thenReturn(record(5, created));
+        changeVersionService.increment("reveals");
+        String before = changeVersionService.current("reveals").eTag();
+        List<String> eTagsSeenByListener = new ArrayList<>();
+        doAnswer(invocation -> eTagsSeenByListener.add(changeVersionService.current("reveals").eTag()))
+                .when(eventPublisher).publishEvent(any(Object.class));
+
+        when(changeVersionRepository.findAll()).thenReturn(List.of(record(6, created)));
+        changeVersionService.refresh();
+
+        // Während die Caches neu laden, gilt noch das alte ETag
+        assertEquals(List.of(before), eTagsSeenByListener);
+        assertNotEquals(before, changeVersionService.current("reveals").eTag());
+    }
+}
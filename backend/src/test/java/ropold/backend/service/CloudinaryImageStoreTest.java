@@ -7,21 +7,18 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.web.multipart.MultipartFile;
-import ropold.backend.Service.CloudinaryService;
+import ropold.backend.Service.CloudinaryImageStore;
 import ropold.backend.exception.ImageDeletionException;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
-class CloudinaryServiceTest {
+class CloudinaryImageStoreTest {
     @Mock
     private Cloudinary cloudinary;
 
@@ -29,7 +26,7 @@ class CloudinaryServiceTest {
     private Uploader uploader;
 
     @InjectMocks
-    private CloudinaryService cloudinaryService;
+    private CloudinaryImageStore cloudinaryImageStore;
 
     @BeforeEach
     void setUp() {
@@ -39,28 +36,21 @@ class CloudinaryServiceTest {
 
     @Test
     void uploadImage_ValidImage_ReturnsSecureUrl() throws IOException {
-        MultipartFile mockImage = mock(MultipartFile.class);
-        when(mockImage.getOriginalFilename()).thenReturn("image.jpg");
-        doAnswer(invocation -> {
-            ((File) invocation.getArgument(0)).createNewFile();
-            return null;
-        }).when(mockImage).transferTo(any(File.class));
+        byte[] image = "image".getBytes();
 
         Map<String, String> mockUploadResult = Map.of("secure_url", "https://example.com/image.jpg");
-        when(uploader.upload(any(File.class), eq(Collections.emptyMap()))).thenReturn(mockUploadResult);
+        when(uploader.upload(image, Collections.emptyMap())).thenReturn(mockUploadResult);
 
-        assertEquals("https://example.com/image.jpg", cloudinaryService.uploadImage(mockImage));
-        verify(uploader, times(1)).upload(any(File.class), eq(Collections.emptyMap()));
+        assertEquals("https://example.com/image.jpg", cloudinaryImageStore.store(image));
+        verify(uploader, times(1)).upload(image, Collections.emptyMap());
     }
 
     @Test
     void uploadImage_ThrowsIOException_ThrowsException() throws IOException {
-        MultipartFile mockImage = mock(MultipartFile.class);
-        when(mockImage.getOriginalFilename()).thenReturn("image.jpg");
-        doThrow(IOException.class).when(mockImage).transferTo(any(File.class));
+        byte[] image = "image".getBytes();
+        when(uploader.upload(image, Collections.emptyMap())).thenThrow(new IOException("Upload failed"));
 
-        assertThrows(IOException.class, () -> cloudinaryService.uploadImage(mockImage));
-        verify(uploader, never()).upload(any(File.class), eq(Collections.emptyMap()));
+        assertThrows(IOException.class, () -> cloudinaryImageStore.store(image));
     }
 
     @Test
@@ -69,7 +59,7 @@ class CloudinaryServiceTest {
         String publicId = "image";
         when(cloudinary.uploader().destroy(publicId, Collections.emptyMap())).thenReturn(Map.of("result", "ok"));
 
-        cloudinaryService.deleteImage(imageUrl);
+        cloudinaryImageStore.delete(imageUrl);
 
         verify(cloudinary.uploader(), times(1)).destroy(publicId, Collections.emptyMap());
     }
@@ -81,7 +71,7 @@ class CloudinaryServiceTest {
 
         doThrow(new IOException("Failed to delete image")).when(uploader).destroy(eq(publicId), eq(Collections.emptyMap()));
 
-        ImageDeletionException exception = assertThrows(ImageDeletionException.class, () -> cloudinaryService.deleteImage(imageUrl));
+        ImageDeletionException exception = assertThrows(ImageDeletionException.class, () -> cloudinaryImageStore.delete(imageUrl));
 
         assertTrue(exception.getMessage().contains("Error deleting image from Cloudinary"));
 
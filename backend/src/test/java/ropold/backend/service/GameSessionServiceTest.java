@@ -0,0 +1,184 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import ropold.backend.Service.GameSessionService;
+import ropold.backend.Service.GuessMatcherRegistry;
+import ropold.backend.Service.HighScoreService;
+import ropold.backend.Service.IdService;
+import ropold.backend.Service.RevealService;
+import ropold.backend.exception.GameSessionNotFoundException;
+import ropold.backend.exception.GameSessionStateException;
+import ropold.backend.exception.RevealNotFoundException;
+import ropold.backend.model.Category;
+import ropold.backend.model.GameMode;
+import ropold.backend.model.GameSessionModel;
+import ropold.backend.model.GuessResponse;
+import ropold.backend.model.GuessResult;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.RevealModel;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GameSessionServiceTest {
+
+    RevealService revealService = mock(RevealService.class);
+    GuessMatcherRegistry guessMatcherRegistry = mock(GuessMatcherRegistry.class);
+    HighScoreService highScoreService = mock(HighScoreService.class);
+    IdService idService = mock(IdService.class);
+    AtomicLong nanos = new AtomicLong();
+    GameSessionService gameSessionService = new GameSessionService(revealService, guessMatcherRegistry, highScoreService,
+            idService, 60_000, 10, 2, nanos::get);
+
+    @BeforeEach
+    void setup() {
+        when(idService.generateRandomId()).thenReturn("game1", "game2", "game3", "game4");
+        when(revealService.getRevealById("1")).thenReturn(new RevealModel("1", "Bobby Brown", List.of("word1"), List.of(),
+                Category.ANIMAL, "description", true, "user", "https://example.com/image1.jpg", ImageStatus.READY,
+                null, null, null));
+        when(guessMatcherRegistry.checkGuess("1", "word1")).thenReturn(new GuessResponse(GuessResult.CORRECT, List.of("word1")));
+        when(guessMatcherRegistry.checkGuess("1", "wrong")).thenReturn(new GuessResponse(GuessResult.WRONG, List.of()));
+        when(highScoreService.addHighScore(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void startGame_shouldTakeCategoryFromReveal() {
+        GameSessionModel result = gameSessionService.startGame("1", GameMode.REVEAL_WITH_CLICKS, "client1");
+
+        assertEquals(new GameSessionModel("game1", "1", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 0, false, List.of()), result);
+    }
+
+    @Test
+    void startGame_forInactiveReveal_shouldOnlyBeAllowedForOwner() {
+        when(revealService.getRevealById("2")).thenReturn(new RevealModel("2", "Johnny Cash", List.of("word1"), List.of(),
+                Category.FOOD, "description", false, "user", "https://example.com/image2.jpg", ImageStatus.READY,
+                null, null, null));
+
+        assertThrows(RevealNotFoundException.class, () -> gameSessionService.startGame("2", GameMode.REVEAL_WITH_CLICKS, "client1"));
+        assertEquals("2", gameSessionService.startGame("2", GameMode.REVEAL_WITH_CLICKS, "user").revealId());
+    }
+
+    @Test
+    void revealTile_shouldNeverRevealTheSameTileTwice() {
+        gameSessionService.startGame("1", GameMode.REVEAL_WITH_CLICKS, "client1");
+
+        Set<Integer> tiles = new HashSet<>();
+        for (int i = 0; i < GameSessionService.TOTAL_TILES; i++) {
+            tiles.add(gameSessionService.revealTile("game1").tile());
+        }
+
+        assertEquals(GameSessionService.TOTAL_TILES, tiles.size());
+        assertThrows(GameSessionStateException.class, () -> gameSessionService.revealTile("game1"));
+        assertEquals(GameSessionService.TOTAL_TILES, gameSessionService.getGame("game1").numberOfClicks());
+    }
+
+    @Test
+    void finishGame_shouldComputeScoreFromServerTime() {
+        gameSessionService.startGame("1", GameMode.REVEAL_OVER_TIME, "client1");
+        gameSessionService.revealTile("game1");
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(12_340));
+        gameSessionService.guess("game1", "wrong");
+        gameSessionService.guess("game1", "word1");
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        gameSessionService.finishGame("game1", "player1", "user");
+
+        ArgumentCaptor<HighScoreModel> captor = ArgumentCaptor.forClass(HighScoreModel.class);
+        verify(highScoreService).addHighScore(captor.capture());
+        HighScoreModel highScore = captor.getValue();
+        assertEquals(12.3, highScore.scoreTime());
+        assertEquals(1, highScore.numberOfClicks());
+        assertEquals(Category.ANIMAL, highScore.category());
+        assertEquals(GameMode.REVEAL_OVER_TIME, highScore.gameMode());
+        assertEquals("1", highScore.revealId());
+        assertEquals("user", highScore.githubId());
+        // Ein Spiel kann nur einmal eingetragen werden
+        assertThrows(GameSessionNotFoundException.class, () -> gameSessionService.finishGame("game1", "player1", "user"));
+    }
+
+    @Test
+    void finishGame_beforeSolving_shouldThrow() {
+        gameSessionService.startGame("1", GameMode.REVEAL_WITH_CLICKS, "client1");
+
+        assertThrows(GameSessionStateException.class, () -> gameSessionService.finishGame("game1", "player1", "user"));
+        verifyNoInteractions(highScoreService);
+    }
+
+    @Test
+    void guess_afterSolving_shouldThrow() {
+        gameSessionService.startGame("1", GameMode.REVEAL_WITH_CLICKS, "client1");
+        gameSessionService.guess("game1", "word1");
+
+        assertThrows(GameSessionStateException.class, () -> gameSessionService.guess("game1", "word1"));
+        assertThrows(GameSessionStateException.class, () -> gameSessionService.revealTile("game1"));
+    }
+
+    @Test
+    void getGame_shouldHideSolutionWordsUntilSolved() {
+        when(guessMatcherRegistry.getSolutionWords("1")).thenReturn(List.of("word1"));
+        gameSessionService.startGame("1", GameMode.REVEAL_WITH_CLICKS, "client1");
+
+        assertEquals(List.of(), gameSessionService.getGame("game1").solutionWords());
+        gameSessionService.guess("game1", "word1");
+        assertEquals(List.of("word1"), gameSessionService.getGame("game1").solutionWords());
+    }
+
+    @Test
+    void giveUp_shouldRevealSolutionAndEndGame() {
+        when(guessMatcherRegistry.getSolutionWords("1")).thenReturn(List.of("word1"));
+        gameSessionService.startGame("1", GameMode.REVEAL_WITH_CLICKS, "client1");
+
+        GameSessionModel result = gameSessionService.giveUp("game1");
+
+        assertEquals(List.of("word1"), result.solutionWords());
+        assertFalse(result.solved());
+        assertThrows(GameSessionStateException.class, () -> gameSessionService.guess("game1", "word1"));
+        assertThrows(GameSessionStateException.class, () -> gameSessionService.revealTile("game1"));
+        assertThrows(GameSessionStateException.class, () -> gameSessionService.finishGame("game1", "player1", "user"));
+        verifyNoInteractions(highScoreService);
+    }
+
+    @Test
+    void startGame_beyondLimitPerClient_shouldDropOldestGameOfThatClient() {
+        gameSessionService.startGame("1", GameMode.REVEAL_WITH_CLICKS, "client1");
+        gameSessionService.startGame("1", GameMode.REVEAL_WITH_CLICKS, "client2");
+        gameSessionService.startGame("1", GameMode.REVEAL_WITH_CLICKS, "client1");
+        gameSessionService.startGame("1", GameMode.REVEAL_WITH_CLICKS, "client1");
+
+        assertThrows(GameSessionNotFoundException.class, () -> gameSessionService.getGame("game1"));
+        assertEquals("game2", gameSessionService.getGame("game2").id());
+        assertEquals("game3", gameSessionService.getGame("game3").id());
+        assertEquals("game4", gameSessionService.getGame("game4").id());
+    }
+
+    @Test
+    void startGame_afterFinishedGame_shouldNotCountItAgainstLimit() {
+        gameSessionService.startGame("1", GameMode.REVEAL_WITH_CLICKS, "client1");
+        gameSessionService.startGame("1", GameMode.REVEAL_WITH_CLICKS, "client1");
+        gameSessionService.guess("game1", "word1");
+        gameSessionService.finishGame("game1", "player1", "user");
+
+        gameSessionService.startGame("1", GameMode.REVEAL_WITH_CLICKS, "client1");
+
+        assertEquals("game2", gameSessionService.getGame("game2").id());
+        assertEquals("game3", gameSessionService.getGame("game3").id());
+    }
+
+    @Test
+    void getGame_afterTtlWithoutAccess_shouldThrow() {
+        gameSessionService.startGame("1", GameMode.REVEAL_WITH_CLICKS, "client1");
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        assertThrows(GameSessionNotFoundException.class, () -> gameSessionService.getGame("game1"));
+    }
+}
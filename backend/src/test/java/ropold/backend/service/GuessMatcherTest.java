@@ -0,0 +1,60 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.Test;
+import ropold.backend.Service.GuessMatcher;
+import ropold.backend.model.Category;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.GuessResult;
+import ropold.backend.model.RevealModel;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GuessMatcherTest {
+
+    GuessMatcher guessMatcher = GuessMatcher.of(new RevealModel(
+            "1",
+            "Dessert",
+            List.of("Crème Brûlée", "Pudding", "cake"),
+            List.of("Custard"),
+            Category.FOOD,
+            "description",
+            true,
+            "user",
+            "https://example.com/image1.jpg",
+            ImageStatus.READY,
+            null,
+            null,
+            null
+    ));
+
+    @Test
+    void check_shouldIgnoreCaseDiacriticsAndWhitespace() {
+        assertEquals(GuessResult.CORRECT, guessMatcher.check("  creme   BRULEE "));
+        assertEquals(GuessResult.CORRECT, guessMatcher.check("pudding"));
+    }
+
+    @Test
+    void check_shouldReturnClose_forCloseSolutionWord() {
+        assertEquals(GuessResult.CLOSE, guessMatcher.check("custard"));
+    }
+
+    @Test
+    void check_shouldReturnClose_forSmallTypoInLongWord() {
+        assertEquals(GuessResult.CLOSE, guessMatcher.check("puding"));
+        assertEquals(GuessResult.CLOSE, guessMatcher.check("creme brulle"));
+    }
+
+    @Test
+    void check_shouldRequireExactMatch_forShortWords() {
+        assertEquals(GuessResult.WRONG, guessMatcher.check("cakes"));
+        assertEquals(GuessResult.WRONG, guessMatcher.check("cafe"));
+    }
+
+    @Test
+    void check_shouldReturnWrong_forUnrelatedOrBlankGuess() {
+        assertEquals(GuessResult.WRONG, guessMatcher.check("bicycle"));
+        assertEquals(GuessResult.WRONG, guessMatcher.check("   "));
+    }
+}
@@ -2,25 +2,31 @@ package ropold.backend.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import ropold.backend.Service.ChangeVersionService;
 import ropold.backend.Service.HighScoreService;
 import ropold.backend.Service.IdService;
+import ropold.backend.Service.LeaderboardEngine;
 import ropold.backend.model.Category;
 import ropold.backend.model.GameMode;
 import ropold.backend.model.HighScoreModel;
 import ropold.backend.repository.HighScoreRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 class HighScoreServiceTest {
 
     IdService idService = mock(IdService.class);
     HighScoreRepository highScoreRepository = mock(HighScoreRepository.class);
-    HighScoreService highScoreService = new HighScoreService(highScoreRepository, idService);
+    LeaderboardEngine leaderboardEngine = new LeaderboardEngine(highScoreRepository, mock(ChangeVersionService.class));
+    HighScoreService highScoreService = new HighScoreService(highScoreRepository, idService, leaderboardEngine);
 
 
     HighScoreModel highScoreModel1 = new HighScoreModel(
@@ -31,7 +37,8 @@ class HighScoreServiceTest {
             GameMode.REVEAL_OVER_TIME,
             10.2,
             0,
-            LocalDateTime.of(2025, 3, 5, 12, 0, 0)
+            LocalDateTime.of(2025, 3, 5, 12, 0, 0),
+            null
     );
 
     HighScoreModel highScoreModel2 = new HighScoreModel(
@@ -42,7 +49,8 @@ class HighScoreServiceTest {
             GameMode.REVEAL_WITH_CLICKS,
             14.5,
             15,
-            LocalDateTime.of(2025, 3, 5, 11, 55, 0)
+            LocalDateTime.of(2025, 3, 5, 11, 55, 0),
+            null
     );
 
     List<HighScoreModel> highScores = List.of(highScoreModel1, highScoreModel2);
@@ -56,7 +64,7 @@ class HighScoreServiceTest {
     @Test
     void getBestHighScoresWithClicks_shouldReturnClicksHighScore() {
         // Given
-        when(highScoreRepository.findByGameModeOrderByNumberOfClicksAsc(GameMode.REVEAL_WITH_CLICKS)).thenReturn(List.of(highScoreModel2));
+        when(highScoreRepository.findByGameModeOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), any(Limit.class))).thenReturn(List.of(highScoreModel2));
         // When
         List<HighScoreModel> expected = highScoreService.getBestHighScoresWithClicks();
         // Then
@@ -66,7 +74,7 @@ class HighScoreServiceTest {
     @Test
     void getBestHighScoresOverTime_shouldReturnOverTimeHighScore() {
         // Given
-        when(highScoreRepository.findByGameModeOrderByScoreTimeAsc(GameMode.REVEAL_OVER_TIME)).thenReturn(List.of(highScoreModel1));
+        when(highScoreRepository.findByGameModeOrderByScoreTimeAsc(eq(GameMode.REVEAL_OVER_TIME), any(Limit.class))).thenReturn(List.of(highScoreModel1));
         // When
         List<HighScoreModel> expected = highScoreService.getBestHighScoresOverTime();
         // Then
@@ -94,10 +102,11 @@ class HighScoreServiceTest {
                 GameMode.REVEAL_OVER_TIME,
                 9.5,
                 0,
-                LocalDateTime.of(2025, 3, 5, 12, 0, 0)
+                LocalDateTime.of(2025, 3, 5, 12, 0, 0),
+                null
         );
         when(idService.generateRandomId()).thenReturn("3");
-        when(highScoreRepository.findByGameModeOrderByScoreTimeAsc(GameMode.REVEAL_OVER_TIME)).thenReturn(List.of(highScoreModel1, highScoreModel2));
+        when(highScoreRepository.findByGameModeOrderByScoreTimeAsc(eq(GameMode.REVEAL_OVER_TIME), any(Limit.class))).thenReturn(List.of(highScoreModel1, highScoreModel2));
         when(highScoreRepository.save(any(HighScoreModel.class))).thenReturn(highScore3);
         // When
         HighScoreModel expected = highScoreService.addHighScore(highScore3);
@@ -112,19 +121,19 @@ class HighScoreServiceTest {
         LocalDateTime fixedDate = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
 
         List<HighScoreModel> existingScores = List.of(
-                new HighScoreModel("1", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 10.2, 0, fixedDate),
-                new HighScoreModel("2", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 14.5, 15, fixedDate.minusMinutes(5)),
-                new HighScoreModel("3", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 15.5, 15, fixedDate.minusMinutes(10)),
-                new HighScoreModel("4", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 16.5, 15, fixedDate.minusMinutes(15)),
-                new HighScoreModel("5", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 17.5, 15, fixedDate.minusMinutes(20)),
-                new HighScoreModel("6", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 18.5, 15, fixedDate.minusMinutes(25)),
-                new HighScoreModel("7", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 19.5, 15, fixedDate.minusMinutes(30)),
-                new HighScoreModel("8", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 20.5, 15, fixedDate.minusMinutes(35)),
-                new HighScoreModel("9", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 21.5, 15, fixedDate.minusMinutes(40)),
-                new HighScoreModel("10", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 22.5, 15, fixedDate.minusMinutes(45))
+                new HighScoreModel("1", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 10.2, 0, fixedDate, null),
+                new HighScoreModel("2", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 14.5, 15, fixedDate.minusMinutes(5), null),
+                new HighScoreModel("3", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 15.5, 15, fixedDate.minusMinutes(10), null),
+                new HighScoreModel("4", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 16.5, 15, fixedDate.minusMinutes(15), null),
+                new HighScoreModel("5", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 17.5, 15, fixedDate.minusMinutes(20), null),
+                new HighScoreModel("6", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 18.5, 15, fixedDate.minusMinutes(25), null),
+                new HighScoreModel("7", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 19.5, 15, fixedDate.minusMinutes(30), null),
+                new HighScoreModel("8", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 20.5, 15, fixedDate.minusMinutes(35), null),
+                new HighScoreModel("9", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 21.5, 15, fixedDate.minusMinutes(40), null),
+                new HighScoreModel("10", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 22.5, 15, fixedDate.minusMinutes(45), null)
         );
 
-        when(highScoreRepository.findByGameModeOrderByScoreTimeAsc(GameMode.REVEAL_OVER_TIME)).thenReturn(existingScores);
+        when(highScoreRepository.findByGameModeOrderByScoreTimeAsc(eq(GameMode.REVEAL_OVER_TIME), any(Limit.class))).thenReturn(existingScores);
 
         HighScoreModel highScoreModel = new HighScoreModel(
                 "11",
@@ -134,7 +143,8 @@ class HighScoreServiceTest {
                 GameMode.REVEAL_OVER_TIME,
                 12.5,
                 0,
-                fixedDate
+                fixedDate,
+                null
         );
 
         when(highScoreRepository.save(any(HighScoreModel.class))).thenReturn(highScoreModel);
@@ -142,6 +152,59 @@ class HighScoreServiceTest {
         // When
         HighScoreModel result = highScoreService.addHighScore(highScoreModel);
         assertNotNull(result, "Expected not null");
+        verify(highScoreRepository).deleteById("10");
+        assertEquals(10, highScoreService.getBestHighScoresOverTime().size());
+        assertEquals(highScoreModel, highScoreService.getBestHighScoresOverTime().get(1));
+    }
+
+    @Test
+    void addHighScoreOverTime_shouldNotTouchRepository_whenNewHighScoreIsWorseThanWorst() {
+        LocalDateTime fixedDate = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
+        List<HighScoreModel> existingScores = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            existingScores.add(new HighScoreModel(String.valueOf(i), "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 10.0 + i, 0, fixedDate, null));
+        }
+        when(highScoreRepository.findByGameModeOrderByScoreTimeAsc(eq(GameMode.REVEAL_OVER_TIME), any(Limit.class))).thenReturn(existingScores);
+        when(highScoreRepository.findByGameModeAndCategoryOrderByScoreTimeAsc(eq(GameMode.REVEAL_OVER_TIME), eq(Category.ANIMAL), any(Limit.class))).thenReturn(existingScores);
+        when(idService.generateRandomId()).thenReturn("11");
+
+        HighScoreModel result = highScoreService.addHighScore(new HighScoreModel(
+                null, "player2", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 20.0, 0, fixedDate, null));
+
+        assertNull(result);
+        verify(highScoreRepository, never()).save(any(HighScoreModel.class));
+        verify(highScoreRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    void addHighScore_shouldKeepScoreThatOnlyEntersCategoryBoard() {
+        LocalDateTime fixedDate = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
+        List<HighScoreModel> existingScores = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            existingScores.add(new HighScoreModel(String.valueOf(i), "player1", "123456", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 10.0 + i, 0, fixedDate, null));
+        }
+        HighScoreModel foodScore = new HighScoreModel("11", "player2", "123456", Category.FOOD, GameMode.REVEAL_OVER_TIME, 30.0, 0, fixedDate, null);
+        when(highScoreRepository.findByGameModeOrderByScoreTimeAsc(eq(GameMode.REVEAL_OVER_TIME), any(Limit.class))).thenReturn(existingScores);
+        when(highScoreRepository.findByGameModeAndCategoryOrderByScoreTimeAsc(eq(GameMode.REVEAL_OVER_TIME), eq(Category.FOOD), any(Limit.class))).thenReturn(List.of());
+        when(idService.generateRandomId()).thenReturn("11");
+        when(highScoreRepository.save(any(HighScoreModel.class))).thenReturn(foodScore);
+
+        HighScoreModel result = highScoreService.addHighScore(foodScore);
+
+        assertEquals(foodScore, result);
+        assertEquals(List.of(foodScore), highScoreService.getBestHighScores(GameMode.REVEAL_OVER_TIME, Category.FOOD));
+        assertEquals(existingScores, highScoreService.getBestHighScoresOverTime());
+        verify(highScoreRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    void getBestHighScoresForReveal_shouldUseLimitedQuery() {
+        HighScoreModel revealScore = new HighScoreModel("5", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 12.0, 4,
+                LocalDateTime.of(2025, 3, 5, 12, 0, 0), "reveal-1");
+        when(highScoreRepository.findByGameModeAndRevealIdOrderByNumberOfClicksAsc(GameMode.REVEAL_WITH_CLICKS, "reveal-1", Limit.of(LeaderboardEngine.CAPACITY)))
+                .thenReturn(List.of(revealScore));
+
+        assertEquals(List.of(revealScore), highScoreService.getBestHighScoresForReveal(GameMode.REVEAL_WITH_CLICKS, "reveal-1"));
     }
 
 
@@ -152,19 +215,19 @@ class HighScoreServiceTest {
         LocalDateTime fixedDate = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
 
         List<HighScoreModel> existingScores = List.of(
-                new HighScoreModel("1", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 10.2, 0, fixedDate),
-                new HighScoreModel("2", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 14.5, 15, fixedDate.minusMinutes(5)),
-                new HighScoreModel("3", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 15.5, 15, fixedDate.minusMinutes(10)),
-                new HighScoreModel("4", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 16.5, 15, fixedDate.minusMinutes(15)),
-                new HighScoreModel("5", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 17.5, 15, fixedDate.minusMinutes(20)),
-                new HighScoreModel("6", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 18.5, 15, fixedDate.minusMinutes(25)),
-                new HighScoreModel("7", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 19.5, 15, fixedDate.minusMinutes(30)),
-                new HighScoreModel("8", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 20.5, 15, fixedDate.minusMinutes(35)),
-                new HighScoreModel("9", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 21.5, 15, fixedDate.minusMinutes(40)),
-                new HighScoreModel("10", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 22.5, 15, fixedDate.minusMinutes(45))
+                new HighScoreModel("1", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 10.2, 0, fixedDate, null),
+                new HighScoreModel("2", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 14.5, 15, fixedDate.minusMinutes(5), null),
+                new HighScoreModel("3", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 15.5, 15, fixedDate.minusMinutes(10), null),
+                new HighScoreModel("4", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 16.5, 15, fixedDate.minusMinutes(15), null),
+                new HighScoreModel("5", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 17.5, 15, fixedDate.minusMinutes(20), null),
+                new HighScoreModel("6", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 18.5, 15, fixedDate.minusMinutes(25), null),
+                new HighScoreModel("7", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 19.5, 15, fixedDate.minusMinutes(30), null),
+                new HighScoreModel("8", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 20.5, 15, fixedDate.minusMinutes(35), null),
+                new HighScoreModel("9", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 21.5, 15, fixedDate.minusMinutes(40), null),
+                new HighScoreModel("10", "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 22.5, 15, fixedDate.minusMinutes(45), null)
         );
 
-        when(highScoreRepository.findByGameModeOrderByNumberOfClicksAsc(GameMode.REVEAL_WITH_CLICKS)).thenReturn(existingScores);
+        when(highScoreRepository.findByGameModeOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), any(Limit.class))).thenReturn(existingScores);
 
         HighScoreModel highScoreModel = new HighScoreModel(
                 "11",
@@ -174,7 +237,8 @@ class HighScoreServiceTest {
                 GameMode.REVEAL_WITH_CLICKS,
                 12.5,
                 2,
-                fixedDate
+                fixedDate,
+                null
         );
 
         when(highScoreRepository.save(any(HighScoreModel.class))).thenReturn(highScoreModel);
@@ -182,6 +246,7 @@ class HighScoreServiceTest {
         // When
         HighScoreModel result = highScoreService.addHighScore(highScoreModel);
         assertNotNull(result, "Expected not null");
+        verify(highScoreRepository).deleteById("10");
     }
 
 }
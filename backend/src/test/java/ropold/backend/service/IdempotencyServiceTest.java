@@ -0,0 +1,70 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.Test;
+import ropold.backend.Service.IdempotencyService;
+import ropold.backend.model.IdempotencyRecord;
+import ropold.backend.repository.IdempotencyRecordRepository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+
+    IdempotencyRecordRepository idempotencyRecordRepository = mock(IdempotencyRecordRepository.class);
+    IdempotencyService idempotencyService = new IdempotencyService(idempotencyRecordRepository);
+
+    private IdempotencyRecord response(int status, Instant createdAt) {
+        return new IdempotencyRecord("user POST /api/game-sessions/game1/finish key1", "hash", status, "application/json", "{}".getBytes(), createdAt);
+    }
+
+    @Test
+    void joinInFlight_shouldReturnRunningExecutionForDuplicates() {
+        CompletableFuture<IdempotencyRecord> first = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> second = new CompletableFuture<>();
+
+        assertNull(idempotencyService.joinInFlight("id", first));
+        assertSame(first, idempotencyService.joinInFlight("id", second));
+
+        IdempotencyRecord response = response(201, Instant.now());
+        idempotencyService.complete("id", first, response);
+
+        assertSame(response, first.join());
+        verify(idempotencyRecordRepository, times(1)).save(response);
+        // Nach dem Abschluss kann eine neue Ausführung registriert werden
+        assertNull(idempotencyService.joinInFlight("id", second));
+    }
+
+    @Test
+    void complete_withServerError_shouldNotStoreResponse() {
+        CompletableFuture<IdempotencyRecord> execution = new CompletableFuture<>();
+        idempotencyService.joinInFlight("id", execution);
+
+        idempotencyService.complete("id", execution, response(500, Instant.now()));
+
+        verify(idempotencyRecordRepository, never()).save(any());
+        assertEquals(500, execution.join().status());
+    }
+
+    @Test
+    void fail_shouldReleaseWaitingDuplicates() {
+        CompletableFuture<IdempotencyRecord> execution = new CompletableFuture<>();
+        idempotencyService.joinInFlight("id", execution);
+
+        idempotencyService.fail("id", execution, new IllegalStateException("boom"));
+
+        assertTrue(execution.isCompletedExceptionally());
+        assertNull(idempotencyService.joinInFlight("id", new CompletableFuture<>()));
+    }
+
+    @Test
+    void getStoredResponse_shouldIgnoreResponsesOlderThanRetention() {
+        when(idempotencyRecordRepository.findById("old"))
+                .thenReturn(Optional.of(response(201, Instant.now().minus(IdempotencyService.RETENTION).minusSeconds(1))));
+
+        assertNull(idempotencyService.getStoredResponse("old"));
+    }
+}
@@ -0,0 +1,61 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.Test;
+import ropold.backend.Service.ImageProcessingService;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageProcessingServiceTest {
+
+    ImageProcessingService imageProcessingService = new ImageProcessingService();
+
+    private byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y += 3) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, 0xff000000 | (x * y));
+            }
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+
+    private BufferedImage read(byte[] image) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(image));
+    }
+
+    @Test
+    void process_shouldCreateSmallerVariantsWithSameAspectRatio() throws IOException {
+        byte[] original = png(2400, 1800);
+
+        ImageProcessingService.ProcessedImage result = imageProcessingService.process(original);
+
+        BufferedImage thumbnail = read(result.thumbnail());
+        assertEquals(400, thumbnail.getWidth());
+        assertEquals(300, thumbnail.getHeight());
+        assertEquals(1000, read(result.play()).getWidth());
+        assertTrue(result.thumbnail().length * 10 < original.length);
+        assertTrue(result.placeholder().startsWith("data:image/jpeg;base64,"));
+        assertTrue(result.placeholder().length() < 2000);
+    }
+
+    @Test
+    void process_shouldNotUpscaleSmallImages() throws IOException {
+        ImageProcessingService.ProcessedImage result = imageProcessingService.process(png(120, 60));
+
+        assertEquals(120, read(result.play()).getWidth());
+        assertEquals(60, read(result.play()).getHeight());
+    }
+
+    @Test
+    void process_shouldReturnNull_whenFormatIsUnknown() throws IOException {
+        assertNull(imageProcessingService.process("image".getBytes()));
+    }
+}
@@ -0,0 +1,135 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ropold.backend.Service.CloudinaryService;
+import ropold.backend.Service.ImageProcessingService;
+import ropold.backend.Service.ImageUploadService;
+import ropold.backend.Service.JobQueueService;
+import ropold.backend.Service.RevealService;
+import ropold.backend.exception.ImageUploadRejectedException;
+import ropold.backend.model.Category;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.ImageVariants;
+import ropold.backend.model.JobType;
+import ropold.backend.model.RevealModel;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ImageUploadServiceTest {
+
+    CloudinaryService cloudinaryService = mock(CloudinaryService.class);
+    ImageProcessingService imageProcessingService = mock(ImageProcessingService.class);
+    RevealService revealService = mock(RevealService.class);
+    JobQueueService jobQueueService = mock(JobQueueService.class);
+    ImageUploadService imageUploadService = new ImageUploadService(cloudinaryService, imageProcessingService, revealService, jobQueueService, 2, 1);
+
+    byte[] image = "image".getBytes();
+
+    RevealModel pendingReveal = new RevealModel("1", "Bobby Brown", List.of("word1"), List.of(), Category.ANIMAL,
+            "description", true, "user", null, ImageStatus.PENDING,
+            null,
+            null,
+            null);
+
+    @AfterEach
+    void tearDown() {
+        imageUploadService.shutdown();
+    }
+
+    @Test
+    void saveAndUpload_shouldReturnSavedRevealAndCompleteUpload() throws Exception {
+        when(cloudinaryService.uploadImage(image)).thenReturn("https://example.com/image.jpg");
+        when(revealService.completeImageUpload("1", "https://example.com/image.jpg", null)).thenReturn(true);
+
+        ImageUploadService.UploadHandle handle = imageUploadService.saveAndUpload(image, () -> pendingReveal);
+        handle.completion().join();
+
+        assertEquals(pendingReveal, handle.reveal());
+        verify(revealService).completeImageUpload("1", "https://example.com/image.jpg", null);
+        verifyNoInteractions(jobQueueService);
+    }
+
+    @Test
+    void saveAndUpload_shouldUploadVariantsAndStorePlaceholder() throws Exception {
+        byte[] thumbnail = "thumbnail".getBytes();
+        byte[] play = "play".getBytes();
+        when(imageProcessingService.process(image)).thenReturn(new ImageProcessingService.ProcessedImage(thumbnail, play, "data:image/jpeg;base64,AAAA"));
+        when(cloudinaryService.uploadImage(image)).thenReturn("https://example.com/image.jpg");
+        when(cloudinaryService.uploadImage(thumbnail)).thenReturn("https://example.com/thumb.jpg");
+        when(cloudinaryService.uploadImage(play)).thenReturn("https://example.com/play.jpg");
+        ImageVariants expected = new ImageVariants("https://example.com/thumb.jpg", "https://example.com/play.jpg", "data:image/jpeg;base64,AAAA");
+        when(revealService.completeImageUpload("1", "https://example.com/image.jpg", expected)).thenReturn(true);
+
+        imageUploadService.saveAndUpload(image, () -> pendingReveal).completion().join();
+
+        verify(revealService).completeImageUpload("1", "https://example.com/image.jpg", expected);
+    }
+
+    @Test
+    void saveAndUpload_shouldRemoveAlreadyUploadedImages_whenVariantUploadFails() throws Exception {
+        byte[] thumbnail = "thumbnail".getBytes();
+        when(imageProcessingService.process(image)).thenReturn(new ImageProcessingService.ProcessedImage(thumbnail, "play".getBytes(), "data:"));
+        when(cloudinaryService.uploadImage(image)).thenReturn("https://example.com/image.jpg");
+        when(cloudinaryService.uploadImage(thumbnail)).thenThrow(new IOException("Cloudinary not reachable"));
+
+        imageUploadService.saveAndUpload(image, () -> pendingReveal).completion().join();
+
+        verify(jobQueueService).enqueueAll(JobType.DELETE_IMAGE, List.of("https://example.com/image.jpg"));
+        verify(revealService).failImageUpload("1");
+    }
+
+    @Test
+    void saveAndUpload_shouldMarkFailed_whenUploadThrows() throws Exception {
+        when(cloudinaryService.uploadImage(image)).thenThrow(new IOException("Cloudinary not reachable"));
+
+        imageUploadService.saveAndUpload(image, () -> pendingReveal).completion().join();
+
+        verify(revealService).failImageUpload("1");
+        verify(revealService, never()).completeImageUpload(anyString(), anyString(), any());
+    }
+
+    @Test
+    void saveAndUpload_shouldMarkFailed_whenProcessingRunsOutOfMemory() throws Exception {
+        when(imageProcessingService.process(image)).thenThrow(new OutOfMemoryError("Java heap space"));
+
+        CompletableFuture<Void> completion = imageUploadService.saveAndUpload(image, () -> pendingReveal).completion();
+
+        assertThrows(CompletionException.class, completion::join);
+        verify(revealService).failImageUpload("1");
+    }
+
+    @Test
+    void saveAndUpload_shouldDeleteUploadedImage_whenRevealWasDeletedMeanwhile() throws Exception {
+        when(cloudinaryService.uploadImage(image)).thenReturn("https://example.com/image.jpg");
+        when(revealService.completeImageUpload("1", "https://example.com/image.jpg", null)).thenReturn(false);
+
+        imageUploadService.saveAndUpload(image, () -> pendingReveal).completion().join();
+
+        verify(jobQueueService).enqueueAll(JobType.DELETE_IMAGE, List.of("https://example.com/image.jpg"));
+    }
+
+    @Test
+    void saveAndUpload_shouldRejectWithoutSaving_whenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(cloudinaryService.uploadImage(image)).thenAnswer(invocation -> {
+            release.await();
+            return "https://example.com/image.jpg";
+        });
+
+        ImageUploadService.UploadHandle first = imageUploadService.saveAndUpload(image, () -> pendingReveal);
+
+        assertThrows(ImageUploadRejectedException.class,
+                () -> imageUploadService.saveAndUpload(image, () -> fail("Reveal must not be saved")));
+
+        release.countDown();
+        first.completion().join();
+    }
+}
@@ -0,0 +1,158 @@
+package ropold.backend.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import ropold.backend.Service.JobHandler;
+import ropold.backend.Service.JobQueueService;
+import ropold.backend.exception.ImageDeletionException;
+import ropold.backend.model.JobModel;
+import ropold.backend.model.JobStatus;
+import ropold.backend.model.JobType;
+import ropold.backend.repository.JobRepository;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JobQueueServiceTest {
+
+    JobRepository jobRepository = mock(JobRepository.class);
+    MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    JobHandler imageDeletionHandler = mock(JobHandler.class);
+    JobQueueService jobQueueService;
+
+    @BeforeEach
+    void setup() {
+        when(imageDeletionHandler.type()).thenReturn(JobType.DELETE_IMAGE);
+        jobQueueService = new JobQueueService(jobRepository, mongoTemplate, List.of(imageDeletionHandler), 20, 3, 1000, 60000, 300000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobQueueService.shutdown();
+    }
+
+    private JobModel runningJob(String id, String payload, int attempts) {
+        Instant now = Instant.now();
+        return new JobModel(id, JobType.DELETE_IMAGE, payload, JobStatus.RUNNING, attempts, now, now.plusSeconds(300), null, now);
+    }
+
+    private void claimJobs(JobModel... jobs) {
+        // Nach den übergebenen Jobs ist nichts mehr fällig
+        JobModel[] claims = Arrays.copyOf(jobs, jobs.length + 1);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(JobModel.class)))
+                .thenReturn(claims[0], Arrays.copyOfRange(claims, 1, claims.length));
+    }
+
+    private Document capturedSet() {
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(JobModel.class));
+        return (Document) update.getValue().getUpdateObject().get("$set");
+    }
+
+    @Test
+    void enqueueAll_shouldInsertPendingJobs() {
+        jobQueueService.enqueueAll(JobType.DELETE_IMAGE, List.of("https://example.com/a.jpg", "https://example.com/b.jpg"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<JobModel>> jobs = ArgumentCaptor.forClass(List.class);
+        verify(jobRepository).insert(jobs.capture());
+        assertEquals(2, jobs.getValue().size());
+        assertTrue(jobs.getValue().stream().allMatch(job -> job.status() == JobStatus.PENDING && job.attempts() == 0));
+        assertEquals("https://example.com/a.jpg", jobs.getValue().getFirst().payload());
+    }
+
+    @Test
+    void enqueueAll_shouldDoNothing_whenNoPayloads() {
+        jobQueueService.enqueueAll(JobType.DELETE_IMAGE, List.of());
+
+        verifyNoInteractions(jobRepository);
+    }
+
+    @Test
+    void processDueJobs_shouldRunHandlersAndRemoveFinishedJobsInOneQuery() throws Exception {
+        claimJobs(runningJob("1", "https://example.com/a.jpg", 1), runningJob("2", "https://example.com/b.jpg", 1));
+
+        jobQueueService.processDueJobs();
+
+        verify(imageDeletionHandler).handle("https://example.com/a.jpg");
+        verify(imageDeletionHandler).handle("https://example.com/b.jpg");
+        verify(mongoTemplate, times(1)).remove(any(Query.class), eq(JobModel.class));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(UpdateDefinition.class), eq(JobModel.class));
+    }
+
+    @Test
+    void processDueJobs_shouldRescheduleWithBackoff_whenHandlerFails() throws Exception {
+        claimJobs(runningJob("1", "https://example.com/a.jpg", 2));
+        doThrow(new ImageDeletionException("Image host not reachable")).when(imageDeletionHandler).handle("https://example.com/a.jpg");
+
+        Instant before = Instant.now();
+        jobQueueService.processDueJobs();
+
+        Document set = capturedSet();
+        assertEquals(JobStatus.PENDING, set.get("status"));
+        assertEquals("ImageDeletionException: Image host not reachable", set.get("lastError"));
+        // Zweiter Versuch: 2000 ms Backoff, davon mindestens die Hälfte
+        Instant nextAttemptAt = (Instant) set.get("nextAttemptAt");
+        assertFalse(nextAttemptAt.isBefore(before.plusMillis(1000)));
+        assertFalse(nextAttemptAt.isAfter(Instant.now().plusMillis(2000)));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(JobModel.class));
+    }
+
+    @Test
+    void processDueJobs_shouldDeadLetterJob_afterMaxAttempts() throws Exception {
+        claimJobs(runningJob("1", "https://example.com/a.jpg", 3));
+        doThrow(new ImageDeletionException("Image host not reachable")).when(imageDeletionHandler).handle("https://example.com/a.jpg");
+
+        jobQueueService.processDueJobs();
+
+        Document set = capturedSet();
+        assertEquals(JobStatus.DEAD, set.get("status"));
+        assertNull(set.get("nextAttemptAt"));
+    }
+
+    @Test
+    void processDueJobs_shouldDeadLetterExpiredLeases_andNotReclaimThemAfterMaxAttempts() {
+        claimJobs();
+
+        jobQueueService.processDueJobs();
+
+        ArgumentCaptor<Query> expired = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<UpdateDefinition> dead = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate).updateMulti(expired.capture(), dead.capture(), eq(JobModel.class));
+        Document criteria = expired.getValue().getQueryObject();
+        assertEquals(JobStatus.RUNNING, criteria.get("status"));
+        assertEquals(new Document("$gte", 3), criteria.get("attempts"));
+        Document set = (Document) dead.getValue().getUpdateObject().get("$set");
+        assertEquals(JobStatus.DEAD, set.get("status"));
+        assertEquals("Lease expired after 3 attempts", set.get("lastError"));
+
+        ArgumentCaptor<Query> due = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(due.capture(), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(JobModel.class));
+        @SuppressWarnings("unchecked")
+        List<Document> branches = (List<Document>) due.getValue().getQueryObject().get("$or");
+        assertEquals(new Document("$lt", 3), branches.get(1).get("attempts"));
+    }
+
+    @Test
+    void processDueJobs_shouldDoNothing_whenNoJobIsDue() {
+        claimJobs();
+
+        jobQueueService.processDueJobs();
+
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(JobModel.class));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(UpdateDefinition.class), eq(JobModel.class));
+    }
+}
@@ -0,0 +1,186 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import ropold.backend.Service.ChangeVersionService;
+import ropold.backend.Service.LeaderboardEngine;
+import ropold.backend.Service.RemoteChangeEvent;
+import ropold.backend.model.Category;
+import ropold.backend.model.GameMode;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.repository.HighScoreRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LeaderboardEngineTest {
+
+    HighScoreRepository highScoreRepository = mock(HighScoreRepository.class);
+    LeaderboardEngine leaderboardEngine = new LeaderboardEngine(highScoreRepository, mock(ChangeVersionService.class));
+
+    LocalDateTime fixedDate = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
+
+    private HighScoreModel clicksScore(String id, int clicks) {
+        return new HighScoreModel(id, "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 10.0, clicks, fixedDate, null);
+    }
+
+    private HighScoreModel revealClicksScore(String id, int clicks) {
+        return new HighScoreModel(id, "player1", "123456", Category.ANIMAL, GameMode.REVEAL_WITH_CLICKS, 10.0, clicks, fixedDate, "reveal-1");
+    }
+
+    // Gesamt- und Kategorie-Rangliste voll mit 0 Klicks, dort kommt kein weiterer Score hinein
+    private void fillOverallAndCategoryBoards() {
+        List<HighScoreModel> best = new ArrayList<>();
+        for (int i = 1; i <= LeaderboardEngine.CAPACITY; i++) {
+            best.add(clicksScore(String.valueOf(i), 0));
+        }
+        when(highScoreRepository.findByGameModeOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), any(Limit.class)))
+                .thenReturn(best);
+        when(highScoreRepository.findByGameModeAndCategoryOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), eq(Category.ANIMAL), any(Limit.class)))
+                .thenReturn(best);
+    }
+
+    private List<HighScoreModel> fullRevealBoard() {
+        List<HighScoreModel> revealScores = new ArrayList<>();
+        for (int i = 1; i <= LeaderboardEngine.CAPACITY; i++) {
+            revealScores.add(revealClicksScore("r" + i, i));
+        }
+        return revealScores;
+    }
+
+    @Test
+    void submit_shouldKeepEqualScoresInArrivalOrder() {
+        when(highScoreRepository.findByGameModeOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), any(Limit.class)))
+                .thenReturn(List.of(clicksScore("1", 3)));
+        when(highScoreRepository.save(any(HighScoreModel.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        leaderboardEngine.submit(clicksScore("2", 3));
+
+        List<HighScoreModel> board = leaderboardEngine.getTopScores(GameMode.REVEAL_WITH_CLICKS);
+        assertEquals(List.of("1", "2"), board.stream().map(HighScoreModel::id).toList());
+    }
+
+    @Test
+    void submit_shouldRejectTieWithWorstScore_whenBoardIsFull() {
+        List<HighScoreModel> existing = new ArrayList<>();
+        for (int i = 1; i <= LeaderboardEngine.CAPACITY; i++) {
+            existing.add(clicksScore(String.valueOf(i), i));
+        }
+        when(highScoreRepository.findByGameModeOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), any(Limit.class)))
+                .thenReturn(existing);
+        when(highScoreRepository.findByGameModeAndCategoryOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), eq(Category.ANIMAL), any(Limit.class)))
+                .thenReturn(existing);
+
+        assertNull(leaderboardEngine.submit(clicksScore("11", LeaderboardEngine.CAPACITY)));
+        verify(highScoreRepository, never()).save(any(HighScoreModel.class));
+    }
+
+    @Test
+    void onDeleted_shouldReloadBoardContainingEntry() {
+        when(highScoreRepository.findByGameModeOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), any(Limit.class)))
+                .thenReturn(List.of(clicksScore("1", 1), clicksScore("2", 2)))
+                .thenReturn(List.of(clicksScore("2", 2)));
+        leaderboardEngine.getTopScores(GameMode.REVEAL_WITH_CLICKS);
+
+        leaderboardEngine.onDeleted("1");
+
+        assertEquals(List.of(clicksScore("2", 2)), leaderboardEngine.getTopScores(GameMode.REVEAL_WITH_CLICKS));
+    }
+
+    @Test
+    void submit_shouldNeverExceedCapacity_whenCalledConcurrently() throws Exception {
+        when(highScoreRepository.findByGameModeOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), any(Limit.class)))
+                .thenReturn(List.of());
+        when(highScoreRepository.save(any(HighScoreModel.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AtomicInteger ids = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                int clicks = 200 - i;
+                futures.add(executor.submit(() -> leaderboardEngine.submit(clicksScore(String.valueOf(ids.incrementAndGet()), clicks))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        List<HighScoreModel> board = leaderboardEngine.getTopScores(GameMode.REVEAL_WITH_CLICKS);
+        assertEquals(LeaderboardEngine.CAPACITY, board.size());
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), board.stream().map(HighScoreModel::numberOfClicks).toList());
+    }
+
+    @Test
+    void submit_shouldNotDeleteEvictedScore_whenItIsStillOnItsCategoryBoard() {
+        List<HighScoreModel> overall = new ArrayList<>();
+        for (int i = 1; i <= LeaderboardEngine.CAPACITY; i++) {
+            overall.add(clicksScore(String.valueOf(i), i));
+        }
+        HighScoreModel foodScore = new HighScoreModel("11", "player2", "123456", Category.FOOD, GameMode.REVEAL_WITH_CLICKS, 10.0, 0, fixedDate, null);
+        when(highScoreRepository.findByGameModeOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), any(Limit.class)))
+                .thenReturn(overall);
+        when(highScoreRepository.findByGameModeAndCategoryOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), eq(Category.ANIMAL), any(Limit.class)))
+                .thenReturn(overall);
+        when(highScoreRepository.save(any(HighScoreModel.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        leaderboardEngine.submit(foodScore);
+
+        assertFalse(leaderboardEngine.getTopScores(GameMode.REVEAL_WITH_CLICKS).contains(clicksScore("10", 10)));
+        verify(highScoreRepository, never()).deleteById("10");
+    }
+
+    @Test
+    void submit_forFullRevealBoard_shouldQueryMongoOnceAndRejectWithoutSaving() {
+        fillOverallAndCategoryBoards();
+        when(highScoreRepository.findByGameModeAndRevealIdOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), eq("reveal-1"), any(Limit.class)))
+                .thenReturn(fullRevealBoard());
+
+        assertNull(leaderboardEngine.submit(revealClicksScore("x1", LeaderboardEngine.CAPACITY + 1)));
+        assertNull(leaderboardEngine.submit(revealClicksScore("x2", LeaderboardEngine.CAPACITY + 1)));
+
+        verify(highScoreRepository, times(1))
+                .findByGameModeAndRevealIdOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), eq("reveal-1"), any(Limit.class));
+        verify(highScoreRepository, never()).save(any(HighScoreModel.class));
+    }
+
+    @Test
+    void submit_enteringOnlyRevealBoard_shouldDeleteDisplacedScoreAndUpdateCachedBoard() {
+        fillOverallAndCategoryBoards();
+        when(highScoreRepository.findByGameModeAndRevealIdOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), eq("reveal-1"), any(Limit.class)))
+                .thenReturn(fullRevealBoard());
+        when(highScoreRepository.save(any(HighScoreModel.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertNotNull(leaderboardEngine.submit(revealClicksScore("x1", 5)));
+
+        verify(highScoreRepository).deleteById("r10");
+        List<HighScoreModel> revealBoard = leaderboardEngine.getTopScoresForReveal(GameMode.REVEAL_WITH_CLICKS, "reveal-1");
+        assertEquals(List.of("r1", "r2", "r3", "r4", "r5", "x1", "r6", "r7", "r8", "r9"), revealBoard.stream().map(HighScoreModel::id).toList());
+        verify(highScoreRepository, times(1))
+                .findByGameModeAndRevealIdOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), eq("reveal-1"), any(Limit.class));
+    }
+
+    @Test
+    void onRemoteChange_shouldReloadBoardsOfThatGameModeFromMongo() {
+        when(highScoreRepository.findByGameModeOrderByNumberOfClicksAsc(eq(GameMode.REVEAL_WITH_CLICKS), any(Limit.class)))
+                .thenReturn(List.of(clicksScore("1", 3)))
+                .thenReturn(List.of(clicksScore("2", 1), clicksScore("1", 3)));
+        when(highScoreRepository.findByGameModeOrderByScoreTimeAsc(eq(GameMode.REVEAL_OVER_TIME), any(Limit.class)))
+                .thenReturn(List.of());
+        leaderboardEngine.getTopScores(GameMode.REVEAL_WITH_CLICKS);
+        leaderboardEngine.getTopScores(GameMode.REVEAL_OVER_TIME);
+
+        leaderboardEngine.onRemoteChange(new RemoteChangeEvent(LeaderboardEngine.changesOf(GameMode.REVEAL_WITH_CLICKS)));
+
+        assertEquals(List.of("2", "1"), leaderboardEngine.getTopScores(GameMode.REVEAL_WITH_CLICKS).stream().map(HighScoreModel::id).toList());
+        leaderboardEngine.getTopScores(GameMode.REVEAL_OVER_TIME);
+        verify(highScoreRepository, times(1)).findByGameModeOrderByScoreTimeAsc(eq(GameMode.REVEAL_OVER_TIME), any(Limit.class));
+    }
+}
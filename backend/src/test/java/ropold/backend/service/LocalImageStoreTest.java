@@ -0,0 +1,63 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ropold.backend.Service.IdService;
+import ropold.backend.Service.LocalImageStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LocalImageStoreTest {
+
+    @TempDir
+    Path directory;
+
+    IdService idService = mock(IdService.class);
+
+    byte[] jpeg = {(byte) 0xff, (byte) 0xd8, (byte) 0xff, (byte) 0xe0, 0, 0x10};
+
+    private LocalImageStore store() throws IOException {
+        return new LocalImageStore(idService, directory.toString());
+    }
+
+    @Test
+    void store_shouldWriteFileAndReturnUrl() throws IOException {
+        when(idService.generateRandomId()).thenReturn("abc-123");
+
+        String url = store().store(jpeg);
+
+        assertEquals("/api/images/abc-123.jpg", url);
+        assertArrayEquals(jpeg, Files.readAllBytes(directory.resolve("abc-123.jpg")));
+        assertFalse(Files.exists(directory.resolve("abc-123.jpg.part")));
+    }
+
+    @Test
+    void store_shouldRejectUnknownFormat() {
+        when(idService.generateRandomId()).thenReturn("abc-123");
+        assertThrows(IOException.class, () -> store().store("image".getBytes()));
+    }
+
+    @Test
+    void delete_shouldRemoveFile() throws IOException {
+        when(idService.generateRandomId()).thenReturn("abc-123");
+        LocalImageStore store = store();
+        String url = store.store(jpeg);
+
+        store.delete(url);
+
+        assertFalse(Files.exists(directory.resolve("abc-123.jpg")));
+    }
+
+    @Test
+    void resolve_shouldRejectNamesOutsideDirectory() throws IOException {
+        LocalImageStore store = store();
+
+        assertTrue(store.resolve("../secret.jpg").isEmpty());
+        assertTrue(store.resolve("missing.jpg").isEmpty());
+    }
+}
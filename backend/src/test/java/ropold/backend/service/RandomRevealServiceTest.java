@@ -0,0 +1,108 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.serializer.support.SerializingConverter;
+import ropold.backend.Service.ActiveCategoryRegistry;
+import ropold.backend.Service.RandomRevealService;
+import ropold.backend.Service.RevealService;
+import ropold.backend.Service.RevealShuffleBags;
+import ropold.backend.exception.RevealNotFoundException;
+import ropold.backend.model.Category;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealSummary;
+import ropold.backend.repository.RevealRepository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RandomRevealServiceTest {
+
+    ActiveCategoryRegistry activeCategoryRegistry = new ActiveCategoryRegistry(mock(RevealRepository.class));
+    RevealService revealService = mock(RevealService.class);
+    RandomRevealService randomRevealService = new RandomRevealService(activeCategoryRegistry, revealService);
+
+    private RevealModel reveal(String id, Category category) {
+        return new RevealModel(id, "Reveal " + id, List.of("word1"), List.of(), category,
+                "description", true, "user", "https://example.com/image1.jpg",
+                ImageStatus.READY,
+                null,
+                null,
+                null);
+    }
+
+    private void addActive(RevealModel... reveals) {
+        for (RevealModel reveal : reveals) {
+            activeCategoryRegistry.onAdded(reveal);
+            when(revealService.getRevealById(reveal.id())).thenReturn(reveal);
+        }
+    }
+
+    @Test
+    void getRandomActiveReveal_shouldOnlyPickFromCategory() {
+        addActive(reveal("1", Category.FOOD), reveal("2", Category.MUSIC));
+
+        RevealSummary result = randomRevealService.getRandomActiveReveal(Category.FOOD, new RevealShuffleBags());
+
+        assertEquals("1", result.id());
+        assertEquals(Category.FOOD, result.category());
+        verify(revealService, times(1)).getRevealById(anyString());
+    }
+
+    @Test
+    void getRandomActiveReveal_shouldNotRepeatUntilBagIsEmpty() {
+        addActive(reveal("1", Category.FOOD), reveal("2", Category.FOOD), reveal("3", Category.FOOD));
+        RevealShuffleBags shuffleBags = new RevealShuffleBags();
+
+        Set<String> firstRound = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            firstRound.add(randomRevealService.getRandomActiveReveal(Category.FOOD, shuffleBags).id());
+        }
+        String nextRound = randomRevealService.getRandomActiveReveal(Category.FOOD, shuffleBags).id();
+
+        assertEquals(Set.of("1", "2", "3"), firstRound);
+        assertTrue(firstRound.contains(nextRound));
+    }
+
+    @Test
+    void getRandomActiveReveal_shouldSkipRevealsDeactivatedSinceBagWasFilled() {
+        addActive(reveal("1", Category.FOOD), reveal("2", Category.FOOD));
+        RevealShuffleBags shuffleBags = new RevealShuffleBags();
+        String drawn = randomRevealService.getRandomActiveReveal(Category.FOOD, shuffleBags).id();
+        String remaining = drawn.equals("1") ? "2" : "1";
+
+        activeCategoryRegistry.onRemoved(reveal(remaining, Category.FOOD));
+
+        // Der Rest des Beutels ist nicht mehr aktiv, also wird mit dem aktuellen Pool neu befüllt
+        assertEquals(drawn, randomRevealService.getRandomActiveReveal(Category.FOOD, shuffleBags).id());
+    }
+
+    @Test
+    void shuffleBags_shouldNotGrowWithPoolSize() {
+        for (int i = 0; i < 1000; i++) {
+            addActive(reveal(String.valueOf(i), Category.FOOD));
+        }
+        RevealShuffleBags shuffleBags = new RevealShuffleBags();
+        Set<String> drawn = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            drawn.add(randomRevealService.getRandomActiveReveal(Category.FOOD, shuffleBags).id());
+        }
+
+        assertEquals(500, drawn.size());
+        // Seed und Position statt der ids, die Session bleibt klein
+        assertTrue(new SerializingConverter().convert(shuffleBags).length < 1024);
+    }
+
+    @Test
+    void getRandomActiveReveal_withoutActiveReveals_shouldThrow() {
+        RevealShuffleBags shuffleBags = new RevealShuffleBags();
+
+        assertThrows(RevealNotFoundException.class, () -> randomRevealService.getRandomActiveReveal(null, shuffleBags));
+        verifyNoInteractions(revealService);
+    }
+}
@@ -0,0 +1,102 @@
+package ropold.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import ropold.backend.Service.RevealImportService;
+import ropold.backend.Service.RevealService;
+import ropold.backend.model.Category;
+import ropold.backend.model.RevealImportError;
+import ropold.backend.model.RevealImportResult;
+import ropold.backend.model.RevealModel;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RevealImportServiceTest {
+
+    RevealService revealService = mock(RevealService.class);
+    RevealImportService revealImportService = new RevealImportService(revealService, new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator(), 2, 2);
+
+    // Der Service leert seinen Batch nach dem Schreiben, deshalb werden Kopien festgehalten
+    List<List<RevealModel>> insertedBatches = new ArrayList<>();
+
+    private void insertWithFailures(Map<Integer, String> failures) {
+        when(revealService.addReveals(anyList())).thenAnswer(invocation -> {
+            insertedBatches.add(List.copyOf(invocation.<List<RevealModel>>getArgument(0)));
+            return failures;
+        });
+    }
+
+    private String line(String name, String githubId) {
+        return """
+                {"name": "%s", "solutionWords": ["word1"], "closeSolutionWords": [], "category": "ANIMAL", "description": "description", "isActive": true, "githubId": "%s", "imageUrl": "https://example.com/image1.jpg"}"""
+                .formatted(name, githubId);
+    }
+
+    private RevealImportResult importLines(String... lines) throws IOException {
+        byte[] body = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return revealImportService.importNdjson(new ByteArrayInputStream(body), "user");
+    }
+
+    @Test
+    void importNdjson_shouldInsertInBatches() throws IOException {
+        insertWithFailures(Map.of());
+
+        RevealImportResult result = importLines(line("Reveal 1", "user"), line("Reveal 2", "user"), "", line("Reveal 3", "user"));
+
+        assertEquals(new RevealImportResult(3, 0, List.of()), result);
+        assertEquals(2, insertedBatches.size());
+        assertEquals(List.of("Reveal 1", "Reveal 2"), insertedBatches.get(0).stream().map(RevealModel::name).toList());
+        assertEquals(List.of("Reveal 3"), insertedBatches.get(1).stream().map(RevealModel::name).toList());
+        assertEquals(Category.ANIMAL, insertedBatches.get(0).getFirst().category());
+    }
+
+    @Test
+    void importNdjson_shouldReportInvalidLinesAndImportTheRest() throws IOException {
+        insertWithFailures(Map.of());
+
+        RevealImportResult result = importLines(
+                "{not json",
+                line("ab", "user"),
+                line("Reveal 3", "someone-else"),
+                line("Reveal 4", "user"));
+
+        assertEquals(1, result.imported());
+        assertEquals(3, result.failed());
+        assertEquals(1, result.errors().get(0).line());
+        assertTrue(result.errors().get(0).message().startsWith("Invalid JSON"));
+        assertEquals(new RevealImportError(2, "name: Name must be at least 3 characters long"), result.errors().get(1));
+        assertEquals(3, result.errors().get(2).line());
+        assertEquals(List.of("Reveal 4"), insertedBatches.getFirst().stream().map(RevealModel::name).toList());
+    }
+
+    @Test
+    void importNdjson_shouldMapInsertFailuresToLines() throws IOException {
+        insertWithFailures(Map.of(1, "E11000 duplicate key error"));
+
+        RevealImportResult result = importLines(line("Reveal 1", "user"), "{}", line("Reveal 3", "user"));
+
+        assertEquals(1, result.imported());
+        assertEquals(2, result.failed());
+        assertEquals(new RevealImportError(3, "E11000 duplicate key error"), result.errors().get(1));
+    }
+
+    @Test
+    void importNdjson_shouldCapReportedErrors() throws IOException {
+        RevealImportResult result = importLines("x", "y", "z");
+
+        assertEquals(0, result.imported());
+        assertEquals(3, result.failed());
+        assertEquals(2, result.errors().size());
+        verify(revealService, never()).addReveals(anyList());
+    }
+}
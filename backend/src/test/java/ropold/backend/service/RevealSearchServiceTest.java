@@ -0,0 +1,55 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import ropold.backend.Service.RevealSearchService;
+import ropold.backend.exception.InvalidCursorException;
+import ropold.backend.model.Category;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealPage;
+import ropold.backend.model.RevealSummary;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RevealSearchServiceTest {
+
+    MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    RevealSearchService revealSearchService = new RevealSearchService(mongoTemplate);
+
+    private RevealSummary reveal(String id) {
+        return new RevealSummary(id, "Bobby Brown", Category.ANIMAL, true, "user", "https://example.com/image1.jpg",
+                ImageStatus.READY, null);
+    }
+
+    @Test
+    void searchActiveReveals_withBlankQuery_shouldNotQueryMongo() {
+        RevealPage result = revealSearchService.searchActiveReveals("   ", null, null, null);
+
+        assertTrue(result.reveals().isEmpty());
+        assertNull(result.next());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void searchActiveReveals_shouldReturnNextCursor_whenMoreResultsExist() {
+        when(mongoTemplate.getCollectionName(RevealModel.class)).thenReturn("revealModel");
+        when(mongoTemplate.find(any(Query.class), eq(RevealSummary.class), eq("revealModel")))
+                .thenReturn(List.of(reveal("1"), reveal("2")));
+
+        RevealPage result = revealSearchService.searchActiveReveals("bobby", null, null, 1);
+
+        assertEquals(List.of(reveal("1")), result.reveals());
+        assertNotNull(result.next());
+    }
+
+    @Test
+    void searchActiveReveals_withInvalidCursor_shouldThrow() {
+        assertThrows(InvalidCursorException.class,
+                () -> revealSearchService.searchActiveReveals("bobby", null, "YWJj", null));
+    }
+}
@@ -2,25 +2,46 @@ package ropold.backend.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import ropold.backend.Service.CloudinaryService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import ropold.backend.Service.ActiveCategoryRegistry;
+import ropold.backend.Service.ChangeVersionService;
+import ropold.backend.Service.GuessMatcherRegistry;
 import ropold.backend.Service.IdService;
+import ropold.backend.Service.JobQueueService;
+import ropold.backend.Service.RemoteChangeEvent;
 import ropold.backend.Service.RevealService;
+import ropold.backend.exception.InvalidCursorException;
 import ropold.backend.model.Category;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.ImageStatusModel;
+import ropold.backend.model.ImageVariants;
+import ropold.backend.model.JobType;
 import ropold.backend.model.RevealModel;
+import ropold.backend.model.RevealPage;
+import ropold.backend.model.RevealSummary;
 import ropold.backend.repository.RevealRepository;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class RevealServiceTest {
     IdService idService = mock(IdService.class);
     RevealRepository revealRepository = mock(RevealRepository.class);
-    CloudinaryService cloudinaryService = mock(CloudinaryService.class);
-    RevealService revealService = new RevealService(idService, revealRepository, cloudinaryService);
+    JobQueueService jobQueueService = mock(JobQueueService.class);
+    ActiveCategoryRegistry activeCategoryRegistry = mock(ActiveCategoryRegistry.class);
+    GuessMatcherRegistry guessMatcherRegistry = mock(GuessMatcherRegistry.class);
+    ChangeVersionService changeVersionService = mock(ChangeVersionService.class);
+    RevealService revealService = new RevealService(idService, revealRepository, jobQueueService, activeCategoryRegistry, guessMatcherRegistry,
+            changeVersionService);
 
     List<RevealModel> revealModels;
+    List<RevealSummary> revealSummaries;
 
     @BeforeEach
     void setup() {
@@ -33,7 +54,11 @@ class RevealServiceTest {
                 "Sample description for the RevealModel.",
                 true,
                 "user",
-                "https://example.com/image1.jpg"
+                "https://example.com/image1.jpg",
+                ImageStatus.READY,
+                null,
+                null,
+                null
         );
 
         RevealModel revealModel2 = new RevealModel(
@@ -45,19 +70,17 @@ class RevealServiceTest {
                 "A brief description",
                 true,
                 "user",
-                "https://example.com/image1.jpg"
+                "https://example.com/image1.jpg",
+                ImageStatus.READY,
+                null,
+                null,
+                null
         );
 
         revealModels = List.of(revealModel1, revealModel2);
-
-        // Verhalten des Mocks definieren
-        when(revealRepository.findAll()).thenReturn(revealModels);
-    }
-
-    @Test
-    void testGetAllReveals() {
-        List<RevealModel> result = revealService.getAllReveals();
-        assertEquals(revealModels, result);
+        revealSummaries = revealModels.stream()
+                .map(r -> new RevealSummary(r.id(), r.name(), r.category(), r.isActive(), r.githubId(), r.imageUrl(), r.imageStatus(), r.imageVariants()))
+                .toList();
     }
 
     @Test
@@ -71,7 +94,11 @@ class RevealServiceTest {
                 "Sample description for the RevealModel.",
                 true,
                 "user",
-                "https://example.com/image1.jpg"
+                "https://example.com/image1.jpg",
+                ImageStatus.READY,
+                null,
+                null,
+                null
         );
 
         when(idService.generateRandomId()).thenReturn("3");
@@ -85,9 +112,16 @@ class RevealServiceTest {
     }
 
     @Test
-    void testGetActiveReveals() {
-        List<RevealModel> result = revealService.getActiveReveals();
-        assertEquals(revealModels, result);
+    void addReveals_shouldRegisterOnlyInsertedReveals() {
+        when(idService.generateRandomId()).thenReturn("10", "11");
+        when(revealRepository.insertUnordered(anyList())).thenReturn(Map.of(1, "E11000 duplicate key error"));
+        Map<Integer, String> failures = revealService.addReveals(revealModels);
+
+        assertEquals(Map.of(1, "E11000 duplicate key error"), failures);
+        verify(activeCategoryRegistry).onAdded(argThat(reveal -> reveal.id().equals("10") && reveal.version() == 0L));
+        verify(activeCategoryRegistry, never()).onAdded(argThat(reveal -> reveal.id().equals("11")));
+        verify(guessMatcherRegistry, times(1)).onRevealSaved(any());
+        verify(changeVersionService).increment(RevealService.REVEAL_CHANGES);
     }
 
     @Test
@@ -103,14 +137,24 @@ class RevealServiceTest {
         RevealModel revealModel = revealModels.getFirst();
         when(revealRepository.findById("1")).thenReturn(java.util.Optional.of(revealModel));
         revealService.deleteReveal("1");
-        verify(cloudinaryService, times(1)).deleteImage(revealModel.imageUrl());
+        verify(jobQueueService, times(1)).enqueueAll(JobType.DELETE_IMAGE, List.of(revealModel.imageUrl()));
         verify(revealRepository, times(1)).deleteById("1");
+        verify(activeCategoryRegistry, times(1)).onRemoved(revealModel);
     }
 
     @Test
-    void testGetRevealsForGithubUser() {
-        List<RevealModel> result = revealService.getRevealsForGithubUser("user");
-        assertEquals(revealModels, result);
+    void deleteReveal_shouldAlsoDeleteImageVariants() {
+        RevealModel revealModel = new RevealModel("1", "Bobby Brown", List.of("word1"), List.of(), Category.ANIMAL,
+                "description", true, "user", "https://example.com/image1.jpg", ImageStatus.READY,
+                new ImageVariants("https://example.com/thumb.jpg", "https://example.com/play.jpg", "data:image/jpeg;base64,AAAA"),
+                null,
+                null);
+        when(revealRepository.findById("1")).thenReturn(java.util.Optional.of(revealModel));
+
+        revealService.deleteReveal("1");
+
+        verify(jobQueueService).enqueueAll(JobType.DELETE_IMAGE,
+                List.of("https://example.com/image1.jpg", "https://example.com/thumb.jpg", "https://example.com/play.jpg"));
     }
 
     @Test
@@ -124,25 +168,111 @@ class RevealServiceTest {
                 "Sample description for the RevealModel.",
                 false,
                 "user",
-                "https://example.com/image1.jpg"
+                "https://example.com/image1.jpg",
+                ImageStatus.READY,
+                null,
+                null,
+                null
         );
 
-        when(revealRepository.existsById("1")).thenReturn(true);
+        when(revealRepository.findById("1")).thenReturn(java.util.Optional.of(revealModels.getFirst()));
         when(revealRepository.save(updatedRevealModel)).thenReturn(updatedRevealModel);
 
         RevealModel result = revealService.updateReveal("1", updatedRevealModel);
 
         assertEquals(updatedRevealModel, result);
         verify(revealRepository, times(1)).save(updatedRevealModel);
+        verify(activeCategoryRegistry, times(1)).onReplaced(revealModels.getFirst(), updatedRevealModel);
+    }
+
+    @Test
+    void updateReveal_withoutNewImage_shouldKeepImageFieldsFromDatabase() {
+        RevealModel stored = new RevealModel("1", "Bobby Brown", List.of("word1"), List.of(), Category.ANIMAL,
+                "description", true, "user", "https://example.com/new.jpg", ImageStatus.READY,
+                null,
+                null,
+                null);
+        RevealModel request = new RevealModel("1", "Bobby Blue", List.of("word1"), List.of(), Category.ANIMAL,
+                "description", true, "user", "https://example.com/old.jpg", ImageStatus.READY,
+                null,
+                null,
+                null);
+        when(revealRepository.findById("1")).thenReturn(java.util.Optional.of(stored));
+        when(revealRepository.save(any(RevealModel.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RevealModel result = revealService.updateReveal("1", request);
+
+        assertEquals("Bobby Blue", result.name());
+        assertEquals("https://example.com/new.jpg", result.imageUrl());
+        assertEquals(ImageStatus.READY, result.imageStatus());
+    }
+
+    @Test
+    void updateReveal_shouldRetryWithFreshState_whenVersionConflicts() {
+        RevealModel stale = new RevealModel("1", "Bobby Brown", List.of("word1"), List.of(), Category.ANIMAL,
+                "description", true, "user", null, ImageStatus.PENDING, null, 3L, null);
+        RevealModel fresh = new RevealModel("1", "Bobby Brown", List.of("word1"), List.of(), Category.ANIMAL,
+                "description", true, "user", "https://example.com/image1.jpg", ImageStatus.READY, null, 4L, null);
+        RevealModel request = new RevealModel("1", "Bobby Blue", List.of("word1"), List.of(), Category.ANIMAL,
+                "description", true, "user", null, ImageStatus.READY, null, null, null);
+        when(revealRepository.findById("1")).thenReturn(java.util.Optional.of(stale), java.util.Optional.of(fresh));
+        when(revealRepository.save(any(RevealModel.class)))
+                .thenThrow(new OptimisticLockingFailureException("Version conflict"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        RevealModel result = revealService.updateReveal("1", request);
+
+        assertEquals("Bobby Blue", result.name());
+        assertEquals(4L, result.version());
+        assertEquals("https://example.com/image1.jpg", result.imageUrl());
+        verify(revealRepository, times(2)).save(any(RevealModel.class));
+    }
+
+    @Test
+    void deleteReveal_shouldIncrementChangeVersion() {
+        RevealModel revealModel = revealModels.getFirst();
+        when(revealRepository.findById("1")).thenReturn(java.util.Optional.of(revealModel));
+
+        revealService.deleteReveal("1");
+
+        verify(changeVersionService).increment(RevealService.REVEAL_CHANGES);
+    }
+
+    @Test
+    void completeImageUpload_shouldReturnFalse_whenRevealIsGone() {
+        when(revealRepository.updateImage("1", "https://example.com/image.jpg", null, ImageStatus.READY)).thenReturn(0L);
+        assertFalse(revealService.completeImageUpload("1", "https://example.com/image.jpg", null));
+        verify(changeVersionService, never()).increment(any());
+    }
+
+    @Test
+    void completeImageUpload_shouldIncrementChangeVersion_whenRevealWasUpdated() {
+        when(revealRepository.updateImage("1", "https://example.com/image.jpg", null, ImageStatus.READY)).thenReturn(1L);
+        assertTrue(revealService.completeImageUpload("1", "https://example.com/image.jpg", null));
+        verify(changeVersionService).increment(RevealService.REVEAL_CHANGES);
+    }
+
+    @Test
+    void getImageStatus_shouldDeriveStatusForRevealsWithoutStatus() {
+        RevealModel legacy = new RevealModel("1", "Bobby Brown", List.of("word1"), List.of(), Category.ANIMAL,
+                "description", true, "user", "https://example.com/image1.jpg", null,
+                null,
+                null,
+                null);
+        when(revealRepository.findById("1")).thenReturn(java.util.Optional.of(legacy));
+
+        ImageStatusModel result = revealService.getImageStatus("1");
+
+        assertEquals(new ImageStatusModel("1", ImageStatus.READY, "https://example.com/image1.jpg"), result);
     }
 
     @Test
     void getRevealsByIds_shouldReturnReveals() {
         List<String> favoriteRevealIds = List.of("1", "2");
-        List<RevealModel> expected = List.of(revealModels.get(0), revealModels.get(1));
-        when(revealRepository.findAllById(favoriteRevealIds)).thenReturn(expected);
+        List<RevealSummary> expected = List.of(revealSummaries.get(0), revealSummaries.get(1));
+        when(revealRepository.findByIdIn(favoriteRevealIds)).thenReturn(expected);
 
-        List<RevealModel> result = revealService.getRevealsByIds(favoriteRevealIds);
+        List<RevealSummary> result = revealService.getRevealsByIds(favoriteRevealIds);
         assertEquals(expected, result);
     }
 
@@ -161,7 +291,11 @@ class RevealServiceTest {
                 "Sample description for the RevealModel.",
                 false,
                 "user",
-                "https://example.com/image1.jpg"
+                "https://example.com/image1.jpg",
+                ImageStatus.READY,
+                null,
+                null,
+                null
         );
 
         when(revealRepository.findById("1")).thenReturn(java.util.Optional.of(revealModel));
@@ -179,17 +313,55 @@ class RevealServiceTest {
     @Test
     void getActiveRevealCategories_shouldReturnListOfActiveCategories() {
         List<String> expected = List.of("ANIMAL", "FOOD");
+        when(activeCategoryRegistry.getActiveCategories()).thenReturn(expected);
         List<String> result = revealService.getActiveRevealCategories();
         assertEquals(expected, result);
+        verifyNoInteractions(revealRepository);
     }
 
     @Test
-    void getActiveRevealsByCategory_shouldReturnFilteredList() {
-        List<RevealModel> result = revealService.getActiveRevealsByCategory("ANIMAL");
-        List<RevealModel> expected = revealModels.stream()
-                .filter(r -> r.category() == Category.ANIMAL && r.isActive())
-                .toList();
-        assertEquals(expected, result);
+    void getActiveRevealsPage_shouldReturnNextCursor_whenMoreRevealsExist() {
+        when(revealRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(eq(""), any(Limit.class))).thenReturn(revealSummaries);
+
+        RevealPage result = revealService.getActiveRevealsPage(null, null, 1);
+
+        assertEquals(List.of(revealSummaries.getFirst()), result.reveals());
+        assertNotNull(result.next());
+        verify(revealRepository).findByIsActiveTrueAndIdGreaterThanOrderByIdAsc("", Limit.of(2));
     }
 
+    @Test
+    void getActiveRevealsPage_shouldContinueAfterCursor() {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("1".getBytes(StandardCharsets.UTF_8));
+        when(revealRepository.findByIsActiveTrueAndCategoryAndIdGreaterThanOrderByIdAsc(eq(Category.FOOD), eq("1"), any(Limit.class)))
+                .thenReturn(List.of(revealSummaries.get(1)));
+
+        RevealPage result = revealService.getActiveRevealsPage(Category.FOOD, cursor, 5);
+
+        assertEquals(List.of(revealSummaries.get(1)), result.reveals());
+        assertNull(result.next());
+    }
+
+    @Test
+    void getRevealsPage_shouldCapPageSize() {
+        when(revealRepository.findByIdGreaterThanOrderByIdAsc(eq(""), any(Limit.class))).thenReturn(revealSummaries);
+
+        revealService.getRevealsPage(null, 10_000);
+
+        verify(revealRepository).findByIdGreaterThanOrderByIdAsc("", Limit.of(RevealService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void getRevealsPage_shouldThrow_whenCursorIsInvalid() {
+        assertThrows(InvalidCursorException.class, () -> revealService.getRevealsPage("not*base64", null));
+    }
+
+
+    @Test
+    void onRemoteChange_shouldRebuildRegistriesFromMongo() {
+        revealService.onRemoteChange(new RemoteChangeEvent(RevealService.REVEAL_CHANGES));
+
+        verify(activeCategoryRegistry).reload();
+        verify(guessMatcherRegistry).invalidateAll();
+    }
 }
@@ -0,0 +1,139 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import ropold.backend.Service.SnapshotService;
+import ropold.backend.exception.SnapshotException;
+import ropold.backend.model.AppUser;
+import ropold.backend.model.Category;
+import ropold.backend.model.GameMode;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.ImageStatus;
+import ropold.backend.model.RevealModel;
+import ropold.backend.repository.AppUserRepository;
+import ropold.backend.repository.HighScoreRepository;
+import ropold.backend.repository.RevealRepository;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.snapshot.batch-size=7",
+        "app.snapshot.max-in-flight-batches=2"
+})
+class SnapshotServiceIntegrationTest {
+
+    @Autowired
+    SnapshotService snapshotService;
+
+    @Autowired
+    RevealRepository revealRepository;
+
+    @Autowired
+    HighScoreRepository highScoreRepository;
+
+    @Autowired
+    AppUserRepository appUserRepository;
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    List<RevealModel> reveals;
+    List<HighScoreModel> highScores;
+    List<AppUser> users;
+
+    @BeforeEach
+    void setup() {
+        revealRepository.deleteAll();
+        highScoreRepository.deleteAll();
+        appUserRepository.deleteAll();
+
+        // Mehr Dokumente als ein Batch, damit der Restore mehrere Batches parallel schreibt
+        reveals = revealRepository.saveAll(IntStream.range(0, 20)
+                .mapToObj(i -> new RevealModel("r" + i, "Reveal " + i, List.of("word" + i), List.of(), Category.ANIMAL,
+                        "description", i % 2 == 0, "user", "https://example.com/" + i + ".jpg", ImageStatus.READY,
+                        null, null, null))
+                .toList());
+        highScores = highScoreRepository.saveAll(List.of(
+                new HighScoreModel("h1", "player1", "user", Category.ANIMAL, GameMode.REVEAL_OVER_TIME, 10.2, 0,
+                        LocalDateTime.of(2025, 3, 5, 12, 0, 0), "r1")));
+        users = appUserRepository.saveAll(List.of(
+                new AppUser("user", "username", "Max Mustermann", "https://github.com/avatar", "https://github.com/mustermann", List.of("r1", "r2"))));
+    }
+
+    private byte[] exportSnapshot() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshotService.exportSnapshot(out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void exportSnapshot_shouldWriteOneSectionPerCollection() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Map<String, Long> counts = snapshotService.exportSnapshot(out);
+
+        assertEquals(Map.of("revealModel", 20L, "highScoreModel", 1L, "appUser", 1L), counts);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())), StandardCharsets.UTF_8))) {
+            List<String> headers = reader.lines().filter(line -> line.startsWith("#collection ")).toList();
+            assertEquals(List.of("#collection revealModel", "#collection highScoreModel", "#collection appUser"), headers);
+        }
+    }
+
+    @Test
+    void restoreSnapshot_shouldRecreateAllCollections() throws IOException {
+        // Aus der Datenbank gelesen, damit Version und Zeitstempel so verglichen werden, wie Mongo sie speichert
+        RevealModel expectedReveal = revealRepository.findById("r3").orElseThrow();
+        byte[] snapshot = exportSnapshot();
+        revealRepository.deleteAll();
+        highScoreRepository.deleteAll();
+        appUserRepository.save(new AppUser("other", "other", "Other", null, null, List.of()));
+
+        Map<String, Long> counts = snapshotService.restoreSnapshot(new ByteArrayInputStream(snapshot));
+
+        assertEquals(Map.of("revealModel", 20L, "highScoreModel", 1L, "appUser", 1L), counts);
+        assertEquals(reveals.size(), revealRepository.count());
+        assertEquals(expectedReveal, revealRepository.findById("r3").orElseThrow());
+        assertEquals(highScores, highScoreRepository.findAll());
+        assertEquals(users, appUserRepository.findAll());
+    }
+
+    @Test
+    void restoreSnapshot_shouldRejectUnknownCollections() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write("#collection jobModel\n{\"_id\": \"1\"}\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThrows(SnapshotException.class, () -> snapshotService.restoreSnapshot(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    void restoreSnapshot_withInvalidDocument_shouldKeepExistingData() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write("#collection revealModel\n{\"_id\": \"new\"}\nnot json\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThrows(SnapshotException.class, () -> snapshotService.restoreSnapshot(new ByteArrayInputStream(out.toByteArray())));
+
+        assertEquals(reveals.size(), revealRepository.count());
+        assertFalse(revealRepository.existsById("new"));
+        assertFalse(mongoTemplate.collectionExists("revealModel_restore"));
+    }
+}
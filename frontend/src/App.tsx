@@ -16,7 +16,7 @@ import {Route, Routes} from "react-router-dom";
 import Footer from "./components/Footer.tsx";
 import ProtectedRoute from "./components/ProtectedRoute.tsx";
 import {UserDetails} from "./components/model/UserDetailsModel.ts";
-import {RevealModel} from "./components/model/RevealModel.ts";
+import {RevealSummary} from "./components/model/RevealModel.ts";
 import {HighScoreModel} from "./components/model/HighScoreModel.ts";
 
 
@@ -24,8 +24,6 @@ export default function App() {
 
     const [user, setUser] = useState<string>("anonymousUser");
     const [userDetails, setUserDetails] = useState<UserDetails | null>(null);
-    const [allReveals, setAllReveals] = useState<RevealModel[]>([]);
-    const [activeReveals, setActiveReveals] = useState<RevealModel[]>([]);
     const [highScoresOverTime, setHighScoresOverTime] = useState<HighScoreModel[]>([]);
     const [highScoresWithClicks, setHighScoresWithClicks] = useState<HighScoreModel[]>([]);
     const [favorites, setFavorites] = useState<string[]>([]);
@@ -33,33 +31,6 @@ export default function App() {
     const [currentPage, setCurrentPage] = useState<number>(1);
 
 
-    //Reveal functions
-    const getAllReveals = () => {
-        axios
-            .get("/api/reveal-hub")
-            .then((response) => {
-                setAllReveals(response.data);
-            })
-            .catch((error) => {
-                console.error("Error fetching reveals: ", error);
-            });
-    }
-
-    const getActiveReveals = () => {
-        axios
-            .get("/api/reveal-hub/active")
-            .then((response) => {
-                setActiveReveals(response.data);
-            })
-            .catch((error) => {
-                console.error("Error fetching active reveals: ", error);
-            });
-    }
-
-    const handleNewRevealSubmit = (newReveal: RevealModel) => {
-        setAllReveals((prevReveals) => [...prevReveals, newReveal]);
-    }
-
     // User functions
     function getUser() {
         axios.get("/api/users/me")
@@ -84,7 +55,7 @@ export default function App() {
     }
 
     function getAppUserFavorites(){
-        axios.get<RevealModel[]>(`/api/reveal-hub/favorites`)
+        axios.get<RevealSummary[]>(`/api/reveal-hub/favorites`)
             .then((response) => {
                 const favoriteIds = response.data.map((memory) => memory.id);
                 setFavorites(favoriteIds);
@@ -158,15 +129,15 @@ export default function App() {
       <Routes>
         <Route path="*" element={<NotFound />} />
         <Route path="/" element={<Welcome />} />
-        <Route path="/play" element={<Play user={user} highScoresOverTime={highScoresOverTime} highScoresWithClicks={highScoresWithClicks} getHighScoresOverTime={getHighScoresOverTime} getHighScoresWithClicks={getHighScoresWithClicks} activeReveals={activeReveals} getActiveReveals={getActiveReveals}/>} />
-        <Route path="/list-of-all-reveals" element={<ListOfAllReveals activeReveals={activeReveals} getActiveReveals={getActiveReveals} favorites={favorites} toggleFavorite={toggleFavorite} user={user} currentPage={currentPage} setCurrentPage={setCurrentPage} />} />
+        <Route path="/play" element={<Play user={user} highScoresOverTime={highScoresOverTime} highScoresWithClicks={highScoresWithClicks} getHighScoresOverTime={getHighScoresOverTime} getHighScoresWithClicks={getHighScoresWithClicks}/>} />
+        <Route path="/list-of-all-reveals" element={<ListOfAllReveals favorites={favorites} toggleFavorite={toggleFavorite} user={user} currentPage={currentPage} setCurrentPage={setCurrentPage} />} />
         <Route path="/reveal/:id" element={<Details/>} />
         <Route path="/high-score" element={<HighScore highScoresOverTime={highScoresOverTime} highScoresWithClicks={highScoresWithClicks} getHighScoresOverTime={getHighScoresOverTime} getHighScoresWithClicks={getHighScoresWithClicks}/>} />
 
         <Route element={<ProtectedRoute user={user} />}>
             <Route path="/favorites" element={<Favorites favorites={favorites} user={user} toggleFavorite={toggleFavorite}/>} />
-            <Route path="/my-reveals" element={<MyReveals allReveals={allReveals} getAllReveals={getAllReveals} setAllReveals={setAllReveals} user={user} favorites={favorites} toggleFavorite={toggleFavorite} isEditing={isEditing} setIsEditing={setIsEditing} />} />
-            <Route path="/add" element={<AddRevealCard user={user} handleNewRevealSubmit={handleNewRevealSubmit}/>} />
+            <Route path="/my-reveals" element={<MyReveals user={user} favorites={favorites} toggleFavorite={toggleFavorite} isEditing={isEditing} setIsEditing={setIsEditing} />} />
+            <Route path="/add" element={<AddRevealCard user={user}/>} />
             <Route path="/profile" element={<Profile userDetails={userDetails}/>} />
         </Route>
       </Routes>
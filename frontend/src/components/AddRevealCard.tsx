@@ -1,4 +1,3 @@
-import { RevealModel } from "./model/RevealModel.ts";
 import { useState } from "react";
 import { useNavigate } from "react-router-dom";
 import axios from "axios";
@@ -9,7 +8,6 @@ import { getCategoryDisplayName } from "./utils/getCategoryDisplayName.ts";
 
 type AddRevealCardProps = {
     user: string;
-    handleNewRevealSubmit: (reveal: RevealModel) => void;
 };
 
 export default function AddRevealCard(props: Readonly<AddRevealCardProps>) {
@@ -1,19 +1,19 @@
 import {useParams} from "react-router-dom";
-import {DefaultReveal, RevealModel} from "./model/RevealModel.ts";
+import {DefaultRevealDetails, ImageStatus, RevealDetails} from "./model/RevealModel.ts";
 import {useEffect, useState} from "react";
 import axios from "axios";
 import {getCategoryDisplayName} from "./utils/getCategoryDisplayName.ts";
 import {DefaultUserDetails, UserDetails} from "./model/UserDetailsModel.ts";
 
 export default function Details() {
-    const [reveal, setReveal] = useState<RevealModel>(DefaultReveal);
+    const [reveal, setReveal] = useState<RevealDetails>(DefaultRevealDetails);
     const [githubUser, setGithubUser] = useState<UserDetails>(DefaultUserDetails);
     const { id } = useParams<{ id: string }>();
 
     const fetchRevealDetails=() => {
         if(!id)return
         axios
-            .get(`/api/reveal-hub/${id}`)
+            .get<RevealDetails>(`/api/reveal-hub/${id}`)
             .then((response) => setReveal(response.data))
             .catch((error) => console.error("Error fetching reveal details", error));
     };
@@ -22,6 +22,24 @@ export default function Details() {
         fetchRevealDetails();
     }, [id]);
 
+    // Solange das Bild im Hintergrund hochgeladen wird, den Status abfragen
+    useEffect(() => {
+        if (!id || reveal.imageStatus !== "PENDING") {
+            return;
+        }
+        const interval = setInterval(() => {
+            axios
+                .get<{ imageStatus: ImageStatus; imageUrl: string }>(`/api/reveal-hub/${id}/image-status`)
+                .then((response) => {
+                    if (response.data.imageStatus !== "PENDING") {
+                        setReveal((prev) => ({ ...prev, imageStatus: response.data.imageStatus, imageUrl: response.data.imageUrl }));
+                    }
+                })
+                .catch((error) => console.error("Error fetching image status", error));
+        }, 1000);
+        return () => clearInterval(interval);
+    }, [id, reveal.imageStatus]);
+
     const fetchGithubUsername = async () => {
         try {
             const response = await axios.get(`https://api.github.com/user/${reveal.githubId}`);
@@ -41,13 +59,13 @@ export default function Details() {
         <>
             <div className="reveal-details">
                 <h2>{reveal.name}</h2>
-                <p><strong>Solution Words:</strong> {reveal.solutionWords.join(", ")}</p>
-                <p><strong>Close Solution Words:</strong> {reveal.closeSolutionWords.length > 0 ? reveal.closeSolutionWords.join(", ") : "None"}</p>
                 <p><strong>Category:</strong> {getCategoryDisplayName(reveal.category)}{}</p>
                 <p><strong>Description:</strong> {reveal.description || "No description available"}</p>
                 <p><strong>Status:</strong> {reveal.isActive ? "Active" : "Inactive"}</p>
                 <p><strong>Added by GitHub User:</strong> {reveal.githubId}</p>
-                <img src={reveal.imageUrl} alt={reveal.name} style={{ maxWidth: "200px", height: "auto" }} />
+                {reveal.imageStatus === "PENDING" && <p>Image is being uploaded...</p>}
+                {reveal.imageStatus === "FAILED" && <p>Image upload failed, please upload the image again.</p>}
+                {reveal.imageUrl && <img src={reveal.imageUrl} alt={reveal.name} style={{ maxWidth: "200px", height: "auto" }} />}
             </div>
             <div className="profile-container">
                 <h2>Added by User</h2>
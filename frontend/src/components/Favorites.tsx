@@ -1,5 +1,5 @@
 import {useEffect, useState} from "react";
-import {RevealModel} from "./model/RevealModel.ts";
+import {RevealSummary} from "./model/RevealModel.ts";
 import axios from "axios";
 import RevealCard from "./RevealCard.tsx";
 
@@ -10,7 +10,7 @@ type FavoritesProps = {
 }
 
 export default function Favorites(props: Readonly<FavoritesProps>) {
-    const [favoritesReveals, setFavoritesReveals] = useState<RevealModel[]>([]);
+    const [favoritesReveals, setFavoritesReveals] = useState<RevealSummary[]>([]);
 
     useEffect(() => {
         axios
@@ -4,6 +4,7 @@ import axios from "axios";
 import "./styles/HighScore.css";
 import {getGameModeDisplayName} from "./utils/getGameModeDisplayName.ts";
 import {getCategoryDisplayName} from "./utils/getCategoryDisplayName.ts";
+import {Category} from "./model/Category.ts";
 
 type HighScoreProps = {
     highScoresOverTime: HighScoreModel[];
@@ -26,6 +27,13 @@ const formatDate = (date: string) => {
 export default function HighScore(props: Readonly<HighScoreProps>) {
     const [selectedTable, setSelectedTable] = useState<string | null>(null);
     const [githubUsernames, setGithubUsernames] = useState<Map<string, string>>(new Map());
+    const [categories, setCategories] = useState<Category[]>([]);
+    const [selectedCategory, setSelectedCategory] = useState<Category | "">("");
+    const [categoryHighScoresOverTime, setCategoryHighScoresOverTime] = useState<HighScoreModel[]>([]);
+    const [categoryHighScoresWithClicks, setCategoryHighScoresWithClicks] = useState<HighScoreModel[]>([]);
+
+    const highScoresOverTime = selectedCategory ? categoryHighScoresOverTime : props.highScoresOverTime;
+    const highScoresWithClicks = selectedCategory ? categoryHighScoresWithClicks : props.highScoresWithClicks;
 
     function fetchGithubUsernames(highScores: HighScoreModel[]) {
         const uniqueIds = new Set(
@@ -51,14 +59,30 @@ export default function HighScore(props: Readonly<HighScoreProps>) {
     }
 
     useEffect(() => {
-        fetchGithubUsernames([...props.highScoresOverTime, ...props.highScoresWithClicks]);
-    }, [props.highScoresOverTime, props.highScoresWithClicks]);
+        fetchGithubUsernames([...highScoresOverTime, ...highScoresWithClicks]);
+    }, [highScoresOverTime, highScoresWithClicks]);
 
     useEffect(() => {
         props.getHighScoresOverTime();
         props.getHighScoresWithClicks();
+        axios.get<Category[]>("/api/reveal-hub/active/categories")
+            .then((response) => setCategories([...response.data].sort()))
+            .catch((error) => console.error(error));
     }, []);
 
+    // Kategorie-Ranglisten werden direkt vom Server begrenzt geladen
+    useEffect(() => {
+        if (!selectedCategory) {
+            return;
+        }
+        axios.get<HighScoreModel[]>("/api/high-score/reveal-over-time", { params: { category: selectedCategory } })
+            .then((response) => setCategoryHighScoresOverTime(response.data))
+            .catch((error) => console.error(error));
+        axios.get<HighScoreModel[]>("/api/high-score/reveal-with-clicks", { params: { category: selectedCategory } })
+            .then((response) => setCategoryHighScoresWithClicks(response.data))
+            .catch((error) => console.error(error));
+    }, [selectedCategory]);
+
     const handleTableSelect = (tableId: string) => {
         setSelectedTable(tableId);
     };
@@ -139,17 +163,31 @@ export default function HighScore(props: Readonly<HighScoreProps>) {
         <>
             <div className="high-score">
 
+                <label id="category-filter-label">
+                    <select
+                        value={selectedCategory}
+                        onChange={(event) => setSelectedCategory(event.target.value as Category | "")}
+                    >
+                        <option value="">All Categories</option>
+                        {categories.map((category) => (
+                            <option key={category} value={category}>
+                                {getCategoryDisplayName(category)}
+                            </option>
+                        ))}
+                    </select>
+                </label>
+
                 {/* Highscore Tables */}
                 <div className={selectedTable === null ? 'high-score-item-container-compressed' : 'high-score-item-container-detailed'}>
                     {selectedTable === null ? (
                         <>
-                            {renderCompressedTable(props.highScoresOverTime, "OverTime")}
-                            {renderCompressedTable(props.highScoresWithClicks, "WithClicks")}
+                            {renderCompressedTable(highScoresOverTime, "OverTime")}
+                            {renderCompressedTable(highScoresWithClicks, "WithClicks")}
                         </>
                     ) : (
                         <>
-                            {renderDetailedTable(props.highScoresOverTime, "OverTime", selectedTable === "OverTime")}
-                            {renderDetailedTable(props.highScoresWithClicks, "WithClicks", selectedTable === "WithClicks")}
+                            {renderDetailedTable(highScoresOverTime, "OverTime", selectedTable === "OverTime")}
+                            {renderDetailedTable(highScoresWithClicks, "WithClicks", selectedTable === "WithClicks")}
                         </>
                     )}
                 </div>
@@ -1,12 +1,13 @@
-import { RevealModel } from "./model/RevealModel.ts";
+import { RevealSummary } from "./model/RevealModel.ts";
+import { RevealPage } from "./model/RevealPage.ts";
+import { Category } from "./model/Category.ts";
 import { useEffect, useState } from "react";
 import { useLocation } from "react-router-dom";
+import axios from "axios";
 import RevealCard from "./RevealCard.tsx";
 import SearchBar from "./SearchBar.tsx";
 
 type ListOfAllRevealsProps = {
-    activeReveals: RevealModel[];
-    getActiveReveals: () => void;
     favorites: string[];
     toggleFavorite: (revealId: string) => void;
     user: string;
@@ -17,17 +18,63 @@ type ListOfAllRevealsProps = {
 export default function ListOfAllReveals(props: Readonly<ListOfAllRevealsProps>) {
     const [isSpoiler, setIsSpoiler] = useState<boolean>(false);
     const [searchQuery, setSearchQuery] = useState<string>("");
-    const [filteredReveals, setFilteredReveals] = useState<RevealModel[]>([]);
-    const [selectedCategory, setSelectedCategory] = useState<RevealModel["category"] | "">("");
+    const [selectedCategory, setSelectedCategory] = useState<RevealSummary["category"] | "">("");
     const [revealsPerPage, setRevealsPerPage] = useState<number>(9);
+    const [categories, setCategories] = useState<Category[]>([]);
+    const [pageReveals, setPageReveals] = useState<RevealSummary[]>([]);
+    // cursors[i] ist der Cursor, mit dem Seite i + 1 geladen wird (Seite 1 hat keinen Cursor)
+    const [cursors, setCursors] = useState<(string | null)[]>([null]);
 
     const location = useLocation();
 
-
     useEffect(() => {
-        props.getActiveReveals();
+        axios.get<Category[]>("/api/reveal-hub/active/categories")
+            .then((response) => setCategories(response.data))
+            .catch((error) => console.error("Error fetching categories: ", error));
     }, []);
 
+    const [debouncedQuery, setDebouncedQuery] = useState<string>("");
+
+    useEffect(() => {
+        const timeout = setTimeout(() => setDebouncedQuery(searchQuery.trim()), 300);
+        return () => clearTimeout(timeout);
+    }, [searchQuery]);
+
+    useEffect(() => {
+        setCursors([null]);
+        props.setCurrentPage(1);
+    }, [selectedCategory, revealsPerPage, debouncedQuery]);
+
+    useEffect(() => {
+        const cursor = cursors[props.currentPage - 1];
+        if (cursor === undefined) {
+            return;
+        }
+        // Mit Suchbegriff wird serverseitig gesucht, sonst die aktiven Reveals seitenweise geladen
+        const url = debouncedQuery ? "/api/reveal-hub/search" : "/api/reveal-hub/active/page";
+        axios.get<RevealPage>(url, {
+            params: {
+                q: debouncedQuery || undefined,
+                limit: revealsPerPage,
+                cursor: cursor ?? undefined,
+                category: selectedCategory || undefined,
+            },
+        })
+            .then((response) => {
+                setPageReveals(response.data.reveals);
+                setCursors((prevCursors) => {
+                    const nextCursors = prevCursors.slice(0, props.currentPage);
+                    if (response.data.next) {
+                        nextCursors.push(response.data.next);
+                    }
+                    return nextCursors;
+                });
+            })
+            .catch((error) => {
+                console.error("Error fetching active reveals: ", error);
+            });
+    }, [props.currentPage, cursors[props.currentPage - 1], revealsPerPage, selectedCategory, debouncedQuery]);
+
     useEffect(() => {
         window.scroll(0, 0);
     }, [location]);
@@ -50,29 +97,7 @@ export default function ListOfAllReveals(props: Readonly<ListOfAllRevealsProps>)
         };
     }, []);
 
-    const filterReveals = (reveals: RevealModel[], query: string, category: string) => {
-        return reveals.filter((reveal) => {
-            const matchesCategory = category ? reveal.category === category : true;
-            const matchesSearch =
-                reveal.name.toLowerCase().includes(query.toLowerCase()) ||
-                reveal.description.toLowerCase().includes(query.toLowerCase());
-            return matchesCategory && matchesSearch;
-        });
-    };
-
-    useEffect(() => {
-        setFilteredReveals(filterReveals(props.activeReveals, searchQuery, selectedCategory));
-    }, [props.activeReveals, searchQuery, selectedCategory]);
-
-    const getPaginationData = () => {
-        const indexOfLastReveal = props.currentPage * revealsPerPage;
-        const indexOfFirstReveal = indexOfLastReveal - revealsPerPage;
-        const currentReveals = filteredReveals.slice(indexOfFirstReveal, indexOfLastReveal);
-        const totalPages = Math.ceil(filteredReveals.length / revealsPerPage);
-        return { currentReveals, totalPages };
-    };
-
-    const { currentReveals, totalPages } = getPaginationData();
+    const hasNextPage = cursors.length > props.currentPage;
 
 
     return (
@@ -89,11 +114,11 @@ export default function ListOfAllReveals(props: Readonly<ListOfAllRevealsProps>)
                 setSearchQuery={setSearchQuery}
                 selectedCategory={selectedCategory}
                 setSelectedCategory={setSelectedCategory}
-                activeReveals={props.activeReveals}
+                categories={categories}
             />
 
             <div className="reveal-card-container">
-                {currentReveals.map((r) => (
+                {pageReveals.map((r) => (
                     <RevealCard
                         key={r.id}
                         reveal={r}
@@ -104,18 +129,23 @@ export default function ListOfAllReveals(props: Readonly<ListOfAllRevealsProps>)
                 ))}
             </div>
             <div className="space-between">
-                {Array.from({ length: totalPages }, (_, index) => (
-                    <button
-                        key={index}
-                        className={"button-group-button"}
-                        id={index +1 === props.currentPage ? "active-paginate" : undefined}
-                        onClick={() => {
-                            props.setCurrentPage(index + 1);
-                        }}
-                    >
-                        {index + 1}
-                    </button>
-                ))}
+                <button
+                    className={props.currentPage > 1 ? "button-group-button" : "button-grey"}
+                    disabled={props.currentPage <= 1}
+                    onClick={() => props.setCurrentPage(props.currentPage - 1)}
+                >
+                    Previous
+                </button>
+                <button className="button-group-button" id="active-paginate">
+                    {props.currentPage}
+                </button>
+                <button
+                    className={hasNextPage ? "button-group-button" : "button-grey"}
+                    disabled={!hasNextPage}
+                    onClick={() => props.setCurrentPage(props.currentPage + 1)}
+                >
+                    Next
+                </button>
             </div>
             </>
             )}
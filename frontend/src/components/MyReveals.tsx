@@ -1,4 +1,5 @@
-import {RevealModel} from "./model/RevealModel.ts";
+import {RevealModel, RevealSummary, toRevealSummary} from "./model/RevealModel.ts";
+import {RevealPage} from "./model/RevealPage.ts";
 import {useEffect, useState} from "react";
 import axios from "axios";
 import RevealCard from "./RevealCard.tsx";
@@ -9,9 +10,6 @@ import { Category, ALL_CATEGORIES } from "./model/Category.ts";
 import { getCategoryDisplayName } from "./utils/getCategoryDisplayName.ts";
 
 type MyRevealsProps = {
-    allReveals: RevealModel[];
-    getAllReveals: () => void;
-    setAllReveals: React.Dispatch<React.SetStateAction<RevealModel[]>>;
     user: string;
     favorites: string[];
     toggleFavorite: (memoryId: string) => void;
@@ -21,39 +19,57 @@ type MyRevealsProps = {
 
 export default function MyReveals(props: Readonly<MyRevealsProps>) {
 
-    const [userReveals, setUserReveals] = useState<RevealModel[]>([]);
+    const [userReveals, setUserReveals] = useState<RevealSummary[]>([]);
+    // Cursor der nächsten Seite, null wenn alle eigenen Reveals geladen sind
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
     const [editData, setEditData] = useState<RevealModel | null>(null);
     const [image, setImage] = useState<File | null>(null);
     const [revealToDelete, setRevealToDelete] = useState<string | null>(null);
     const [showPopup, setShowPopup] = useState(false);
     const [imageChanged, setImageChanged] = useState(false);
 
+    const loadUserReveals = (cursor: string | null) => {
+        axios
+            .get<RevealPage>(`/api/users/me/my-reveals/${props.user}/page`, {
+                params: {cursor: cursor ?? undefined},
+            })
+            .then((response) => {
+                setUserReveals((prevReveals) => cursor ? [...prevReveals, ...response.data.reveals] : response.data.reveals);
+                setNextCursor(response.data.next);
+            })
+            .catch((error) => console.error("Error fetching your reveals: ", error));
+    };
+
     useEffect(() => {
-        setUserReveals(props.allReveals.filter(reveal => reveal.githubId === props.user));
-    }, [props.allReveals, props.user]);
+        loadUserReveals(null);
+    }, [props.user]);
 
     const handleEditToggle = (revealId: string) => {
-        const revealToEdit = props.allReveals.find((reveal) => reveal.id === revealId);
-        if (revealToEdit) {
-            setEditData(revealToEdit);
-            props.setIsEditing(true);
-
-            // Hier nehmen wir einfach an, dass immer ein Bild vorhanden ist, wenn imageUrl gesetzt ist
-            fetch(revealToEdit.imageUrl)
-                .then((response) => response.blob())
-                .then((blob) => {
-                    const file = new File([blob], "current-image.jpg", { type: blob.type });
-                    setImage(file);
-                })
-                .catch((error) => console.error("Error loading current image:", error));
-        }
+        // Die Liste enthält nur die Zusammenfassung, zum Bearbeiten wird das vollständige Reveal samt Lösungswörtern geladen
+        axios
+            .get<RevealModel>(`/api/users/me/reveals/${revealId}`)
+            .then((response) => {
+                const revealToEdit = response.data;
+                setEditData(revealToEdit);
+                props.setIsEditing(true);
+
+                // Hier nehmen wir einfach an, dass immer ein Bild vorhanden ist, wenn imageUrl gesetzt ist
+                fetch(revealToEdit.imageUrl)
+                    .then((imageResponse) => imageResponse.blob())
+                    .then((blob) => {
+                        const file = new File([blob], "current-image.jpg", { type: blob.type });
+                        setImage(file);
+                    })
+                    .catch((error) => console.error("Error loading current image:", error));
+            })
+            .catch((error) => console.error("Error loading reveal for editing:", error));
     };
 
     const handleToggleActiveStatus = (memoryId: string) => {
         axios
             .put(`/api/reveal-hub/${memoryId}/toggle-active`)
             .then(() => {
-                props.setAllReveals((prevReveals) =>
+                setUserReveals((prevReveals) =>
                     prevReveals.map((r) =>
                         r.id === memoryId ? { ...r, isActive: !r.isActive } : r
                     )
@@ -97,9 +113,9 @@ export default function MyReveals(props: Readonly<MyRevealsProps>) {
                 },
             })
             .then((response) => {
-                props.setAllReveals((prevReveals) =>
+                setUserReveals((prevReveals) =>
                     prevReveals.map((reveal) =>
-                        reveal.id === editData.id ? {...reveal, ...response.data} : reveal
+                        reveal.id === editData.id ? toRevealSummary(response.data) : reveal
                     )
                 );
                 props.setIsEditing(false);
@@ -166,7 +182,7 @@ export default function MyReveals(props: Readonly<MyRevealsProps>) {
             axios
                 .delete(`/api/reveal-hub/${revealToDelete}`)
                 .then(() => {
-                    props.setAllReveals((prevReveals) => prevReveals.filter((reveal) => reveal.id !== revealToDelete));
+                    setUserReveals((prevReveals) => prevReveals.filter((reveal) => reveal.id !== revealToDelete));
                 })
                 .catch((error) => {
                     console.error("Error deleting room:", error);
@@ -177,10 +193,6 @@ export default function MyReveals(props: Readonly<MyRevealsProps>) {
         setRevealToDelete(null);
     };
 
-    useEffect(() => {
-        props.getAllReveals()
-    }, []);
-
     return (
         <div>
             {props.isEditing ? (
@@ -315,6 +327,11 @@ export default function MyReveals(props: Readonly<MyRevealsProps>) {
                     ) : (
                         <p>No reveals found for this user.</p>
                     )}
+                    {nextCursor && (
+                        <button className="button-grey" onClick={() => loadUserReveals(nextCursor)}>
+                            Load more
+                        </button>
+                    )}
                 </div>
             )}
 
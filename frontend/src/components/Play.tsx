@@ -1,11 +1,13 @@
 import PreviewPlay from "./PreviewPlay.tsx";
-import { RevealModel } from "./model/RevealModel.ts";
+import { RevealSummary } from "./model/RevealModel.ts";
 import {useEffect, useState} from "react";
 import StartGame from "./StartGame.tsx";
 import {Category} from "./model/Category.ts";
 import {GameMode} from "./model/GameMode.ts";
 import "./styles/Play.css"
 import {HighScoreModel} from "./model/HighScoreModel.ts";
+import axios from "axios";
+import {GameSession, RevealedTile} from "./model/GameSession.ts";
 
 type PlayProps = {
     user: string;
@@ -13,20 +15,19 @@ type PlayProps = {
     getHighScoresOverTime: () => void;
     highScoresWithClicks: HighScoreModel[];
     getHighScoresWithClicks: () => void;
-    activeReveals: RevealModel[];
-    getActiveReveals: () => void;
 };
 
 export default function Play(props: Readonly<PlayProps>) {
-    const [revealsByCategory, setRevealsByCategory] = useState<RevealModel[]>([]);
     const [showPreviewMode, setShowPreviewMode] = useState<boolean>(true);
     const [gameFinished, setGameFinished] = useState<boolean>(true);
-    const [gameRevealByUser, setGameRevealByUser] = useState<RevealModel | null>(null);
+    const [gameRevealByUser, setGameRevealByUser] = useState<RevealSummary | null>(null);
+    const [gameSessionId, setGameSessionId] = useState<string | null>(null);
     const [selectedCategory, setSelectedCategory] = useState<Category | null>(null);
     const [randomCategorySelected, setRandomCategorySelected] = useState<boolean>(false);
     const [gameMode, setGameMode] = useState<GameMode>("REVEAL_WITH_CLICKS");
     const [showSolutionWords, setShowSolutionWords] = useState<boolean>(false);
     const [showFullImage, setShowFullImage] = useState<boolean>(false);
+    const [solutionWords, setSolutionWords] = useState<string[]>([]);
 
     const [numberOfClicks, setNumberOfClicks] = useState<number>(0);
     const [time, setTime] = useState<number>(0);
@@ -35,60 +36,63 @@ export default function Play(props: Readonly<PlayProps>) {
     const [showNameInput, setShowNameInput] = useState<boolean>(false);
     const totalTiles = 36;
 
-    function selectedRevealsByCategory(reveals: RevealModel[]) {
-        setRevealsByCategory(reveals);
+    // Der Server zieht den Reveal und wiederholt innerhalb der Session keinen, bis alle einmal dran waren
+    function getRandomReveal(category: Category | null) {
+        return axios.get<RevealSummary>("/api/reveal-hub/active/random", {params: category ? {category} : {}})
+            .then((response) => response.data);
     }
 
-    function RandomRevealFromUser(revealsByCategory: RevealModel[]): RevealModel | null {
-        if (revealsByCategory.length === 0) {
-            return null;
-        }
-        const randomIndex = Math.floor(Math.random() * revealsByCategory.length);
-        return revealsByCategory[randomIndex];
+    // Zeit und Klicks für den Highscore misst der Server im Spiel
+    function startGameSession(reveal: RevealSummary) {
+        return axios.post<GameSession>("/api/game-sessions", {revealId: reveal.id, gameMode})
+            .then((response) => {
+                setGameSessionId(response.data.id);
+                return reveal;
+            });
     }
 
     function handleStartGameWithUserCategory() {
-        const Reveal = RandomRevealFromUser(revealsByCategory);
-        if (Reveal) {
-            setGameRevealByUser(Reveal);
-            setShowPreviewMode(false);
-            setRandomCategorySelected(false);
-            setGameFinished(false);
-        }
+        if (!selectedCategory) return;
+        getRandomReveal(selectedCategory)
+            .then(startGameSession)
+            .then((reveal) => {
+                setGameRevealByUser(reveal);
+                setShowPreviewMode(false);
+                setRandomCategorySelected(false);
+                setGameFinished(false);
+            })
+            .catch((error) => console.error(error));
     }
 
     function handleStartNewGameWithRandomCategory() {
-        const allReveals = props.activeReveals;
-        if (!allReveals || allReveals.length === 0) return;
-
-        let newReveal;
-        do {
-            newReveal = allReveals[Math.floor(Math.random() * allReveals.length)];
-        } while (newReveal.id === gameRevealByUser?.id && allReveals.length > 1);
-
         setRevealedTiles([]);
         setShowFullImage(false);
 
-        // Verzögere das Setzen des neuen Bildes
-        setTimeout(() => {
-            setGameRevealByUser(newReveal); // Setze das neue Bild nach einer kleinen Verzögerung
-            setGameFinished(false);
-            setShowPreviewMode(false);
-            setShowNameInput(false);
-            setRandomCategorySelected(true);
-            setTime(0);
-            setNumberOfClicks(0);
-            setRevealedTiles([]);
-            setShowSolutionWords(false);
-            setShowFullImage(false);
-        }, 200); // 100ms Verzögerung (kann je nach Bedarf angepasst werden)
+        getRandomReveal(null)
+            .then(startGameSession)
+            .then((newReveal) => {
+                // Verzögere das Setzen des neuen Bildes
+                setTimeout(() => {
+                    setGameRevealByUser(newReveal); // Setze das neue Bild nach einer kleinen Verzögerung
+                    setGameFinished(false);
+                    setShowPreviewMode(false);
+                    setShowNameInput(false);
+                    setRandomCategorySelected(true);
+                    setTime(0);
+                    setNumberOfClicks(0);
+                    setRevealedTiles([]);
+                    setShowSolutionWords(false);
+                    setShowFullImage(false);
+                }, 200); // 100ms Verzögerung (kann je nach Bedarf angepasst werden)
+            })
+            .catch((error) => console.error(error));
     }
 
     function handleResetGame(){
         setShowPreviewMode(true);
         setGameFinished(true);
         setGameRevealByUser(null);
-        setRevealsByCategory([]);
+        setGameSessionId(null);
         setSelectedCategory(null);
         setRandomCategorySelected(false);
         setTime(0);
@@ -131,8 +135,13 @@ export default function Play(props: Readonly<PlayProps>) {
     }
 
     function handleRevealMoreButton() {
-        setNumberOfClicks((prevClicks) => prevClicks + 1);
-        revealRandomField();
+        if (!gameSessionId) return;
+        axios.post<RevealedTile>(`/api/game-sessions/${gameSessionId}/tiles`)
+            .then((response) => {
+                setNumberOfClicks(response.data.numberOfClicks);
+                setRevealedTiles((prevTiles) => [...prevTiles, response.data.tile]);
+            })
+            .catch((error) => console.error(error));
     }
 
     useEffect(() => {
@@ -144,14 +153,22 @@ export default function Play(props: Readonly<PlayProps>) {
         }
     }, [gameMode, showPreviewMode, revealedTiles, gameFinished]);
 
+    // Die Lösung gibt nur das Spiel heraus, und erst wenn es gelöst oder aufgegeben ist;
+    // bei einem gelösten Spiel ändert give-up nichts mehr
     useEffect(() => {
-        props.getActiveReveals();
-    }, []);
+        if (!showSolutionWords || !gameSessionId) {
+            setSolutionWords([]);
+            return;
+        }
+        axios.post<GameSession>(`/api/game-sessions/${gameSessionId}/give-up`)
+            .then((response) => setSolutionWords(response.data.solutionWords))
+            .catch((error) => console.error(error));
+    }, [showSolutionWords, gameSessionId]);
 
     return (
         <div>
             <div className="space-between">
-                {showPreviewMode && <button onClick={handleStartGameWithUserCategory} id={!showPreviewMode ? "inactive-button" : revealsByCategory.length > 0 ? "active-button" : "inactive-button"} disabled={!showPreviewMode}>Start Game</button>}
+                {showPreviewMode && <button onClick={handleStartGameWithUserCategory} id={!showPreviewMode ? "inactive-button" : selectedCategory ? "active-button" : "inactive-button"} disabled={!showPreviewMode}>Start Game</button>}
 
                 {!gameFinished && !showPreviewMode && gameMode === "REVEAL_WITH_CLICKS" && numberOfClicks < 36 && <button onClick={handleRevealMoreButton} className="button-group-button" id="button-border-animation">Reveal One Tile</button>}
 
@@ -186,13 +203,13 @@ export default function Play(props: Readonly<PlayProps>) {
                     <div className="solution-word" id="solution-word-header">
                 Solution-Words:
                     </div>
-                    {gameRevealByUser?.solutionWords.map((word, index) => (<div className="solution-word" key={index}>{word}</div>))}
+                    {solutionWords.map((word, index) => (<div className="solution-word" key={index}>{word}</div>))}
                 </div>
             }
 
-            {showPreviewMode && <PreviewPlay selectedRevealsByCategory={selectedRevealsByCategory} selectedCategory={selectedCategory} setSelectedCategory={setSelectedCategory} randomCategorySelected={randomCategorySelected} setRandomCategorySelected={setRandomCategorySelected}/>}
+            {showPreviewMode && <PreviewPlay selectedCategory={selectedCategory} setSelectedCategory={setSelectedCategory} randomCategorySelected={randomCategorySelected} setRandomCategorySelected={setRandomCategorySelected}/>}
 
-            {!showPreviewMode && gameRevealByUser && <StartGame user={props.user} gameRevealByUser={gameRevealByUser} gameMode={gameMode} revealedTiles={revealedTiles} handleResetGame={handleResetGame} highScoresOverTime={props.highScoresOverTime} highScoresWithClicks={props.highScoresWithClicks} getHighScoresOverTime={props.getHighScoresOverTime} getHighScoresWithClicks={props.getHighScoresWithClicks} gameFinished={gameFinished} setGameFinished={setGameFinished} time={time} numberOfClicks={numberOfClicks} showPreviewMode={showPreviewMode} setShowPreviewMode={setShowPreviewMode} setShowSolutionWords={setShowSolutionWords} showNameInput={showNameInput} setShowNameInput={setShowNameInput} showFullImage={showFullImage} setShowFullImage={setShowFullImage} />}
+            {!showPreviewMode && gameRevealByUser && <StartGame user={props.user} gameRevealByUser={gameRevealByUser} gameSessionId={gameSessionId} gameMode={gameMode} revealedTiles={revealedTiles} handleResetGame={handleResetGame} highScoresOverTime={props.highScoresOverTime} highScoresWithClicks={props.highScoresWithClicks} getHighScoresOverTime={props.getHighScoresOverTime} getHighScoresWithClicks={props.getHighScoresWithClicks} gameFinished={gameFinished} setGameFinished={setGameFinished} time={time} numberOfClicks={numberOfClicks} showPreviewMode={showPreviewMode} setShowPreviewMode={setShowPreviewMode} setShowSolutionWords={setShowSolutionWords} showNameInput={showNameInput} setShowNameInput={setShowNameInput} showFullImage={showFullImage} setShowFullImage={setShowFullImage} />}
         </div>
     );
 }
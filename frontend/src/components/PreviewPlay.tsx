@@ -1,6 +1,5 @@
 import {useEffect, useState} from "react";
 import axios from "axios";
-import {RevealModel} from "./model/RevealModel.ts";
 import {ALL_CATEGORIES, Category} from "./model/Category.ts";
 import { getCategoryDisplayName } from "./utils/getCategoryDisplayName.ts";
 import "./styles/PreviewPlay.css"
@@ -8,7 +7,6 @@ import randomPic from "../assets/categories/random.jpg";
 import {categoryImages} from "./utils/CategoryImages.ts";
 
 type PreviewPlayProps = {
-    selectedRevealsByCategory: (reveals: RevealModel[]) => void;
     selectedCategory: Category | null;
     setSelectedCategory: (category: Category) => void;
     randomCategorySelected: boolean;
@@ -28,16 +26,6 @@ export default function PreviewPlay(props: Readonly<PreviewPlayProps>){
             });
     }
 
-    function getRevealsByCategory(category: Category){
-        axios.get(`/api/reveal-hub/active/category/${category}`)
-            .then((response) => {
-                props.selectedRevealsByCategory(response.data);
-            })
-            .catch((error) => {
-                console.error(error);
-            });
-    }
-
     function selectRandomCategory() {
         if (activeCategories.length > 0) {
             const randomIndex = Math.floor(Math.random() * activeCategories.length);
@@ -45,13 +33,6 @@ export default function PreviewPlay(props: Readonly<PreviewPlayProps>){
         }
     }
 
-    useEffect(() => {
-        if (props.selectedCategory) {
-            getRevealsByCategory(props.selectedCategory);
-        }
-    }, [props.selectedCategory]);
-
-
     useEffect(() => {
         getActiveCategories()
     }, []);
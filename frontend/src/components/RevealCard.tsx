@@ -1,10 +1,10 @@
-import {RevealModel} from "./model/RevealModel.ts";
+import {RevealSummary} from "./model/RevealModel.ts";
 import {useNavigate} from "react-router-dom";
 import "./styles/Buttons.css";
 import "./styles/RevealCard.css"
 
 type RevealCardProps = {
-    reveal: RevealModel;
+    reveal: RevealSummary;
     user: string;
     favorites: string[];
     toggleFavorite: (revealId: string) => void;
@@ -24,7 +24,17 @@ export default function RevealCard(props: Readonly<RevealCardProps>) {
         <>
             <div className="reveal-card" onClick={handleCardClick}>
                 <h3>{props.reveal.name}</h3>
-                <img src={props.reveal.imageUrl} alt={props.reveal.name} className="reveal-card-image" />
+                {/* Kleine Variante laden, der Platzhalter ist bis dahin als Hintergrund sichtbar */}
+                <img
+                    src={props.reveal.imageVariants?.thumbnailUrl ?? props.reveal.imageUrl}
+                    alt={props.reveal.name}
+                    className="reveal-card-image"
+                    loading="lazy"
+                    style={props.reveal.imageVariants ? {
+                        backgroundImage: `url(${props.reveal.imageVariants.placeholder})`,
+                        backgroundSize: "cover",
+                    } : undefined}
+                />
 
                 {props.user !== "anonymousUser" && (
                     <button
@@ -1,4 +1,5 @@
 import { RevealModel } from "./model/RevealModel.ts";
+import { Category } from "./model/Category.ts";
 import "./styles/SearchBar.css";
 import "./styles/Buttons.css";
 import * as React from "react";
@@ -9,7 +10,7 @@ type SearchBarProps = {
     setSearchQuery: (value: string) => void;
     selectedCategory: RevealModel["category"] | "";
     setSelectedCategory: (category: RevealModel["category"] | "") => void;
-    activeReveals: RevealModel[];
+    categories: Category[];
 };
 
 const SearchBar: React.FC<SearchBarProps> = ({
@@ -17,9 +18,9 @@ const SearchBar: React.FC<SearchBarProps> = ({
                                                  setSearchQuery,
                                                  selectedCategory,
                                                  setSelectedCategory,
-                                                 activeReveals,
+                                                 categories,
                                              }) => {
-    const categories = Array.from(new Set(activeReveals.map((reveal) => reveal.category))).sort();
+    const sortedCategories = [...categories].sort();
 
     const handleReset = () => {
         setSearchQuery("");
@@ -42,7 +43,7 @@ const SearchBar: React.FC<SearchBarProps> = ({
                     onChange={(event) => setSelectedCategory(event.target.value as RevealModel["category"] | "")}
                 >
                     <option value="">Filter by Category</option>
-                    {categories.map((category) => (
+                    {sortedCategories.map((category) => (
                         <option key={category} value={category}>
                             {getCategoryDisplayName(category)}
                         </option>
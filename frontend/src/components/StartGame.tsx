@@ -1,13 +1,19 @@
 import {useEffect, useState} from "react";
-import { RevealModel } from "./model/RevealModel.ts";
+import { RevealSummary } from "./model/RevealModel.ts";
 import "./styles/GameStart.css";
 import welcomePic from "../assets/Reveal-pic.jpg";
 import {HighScoreModel} from "./model/HighScoreModel.ts";
 import axios from "axios";
 
+type GuessResponse = {
+    result: "CORRECT" | "CLOSE" | "WRONG";
+    solutionWords: string[];
+};
+
 type StartGameProps = {
     user: string;
-    gameRevealByUser: RevealModel;
+    gameRevealByUser: RevealSummary;
+    gameSessionId: string | null;
     gameMode: string;
     revealedTiles: number[];
     handleResetGame: () => void;
@@ -41,60 +47,67 @@ export default function StartGame(props: Readonly<StartGameProps>) {
 
     function handleSolutionWord(event: React.FormEvent) {
         event.preventDefault();
-        const lowerCasedWord = solutionWord.toLowerCase();
-
-        const correctSolutions = props.gameRevealByUser.solutionWords.map(word => word.toLowerCase());
-        const correctCloseSolutions = props.gameRevealByUser.closeSolutionWords.map(word => word.toLowerCase());
-
-        if (correctSolutions.includes(lowerCasedWord)) {
-            props.setGameFinished(true);
-        } else if (correctCloseSolutions.includes(lowerCasedWord)) {
-            setShowCloseWordsAnimation(true);
-        } else {
-            setShowNothingWordsAnimation(true);
-        }
-
+        const guess = solutionWord;
         setSolutionWord("");
-    }
 
+        // Die Lösungswörter liegen nur auf dem Server, dort wird der Versuch geprüft
+        axios.post<GuessResponse>(`/api/game-sessions/${props.gameSessionId}/guess`, { guess })
+            .then((response) => {
+                if (response.data.result === "CORRECT") {
+                    props.setGameFinished(true);
+                } else if (response.data.result === "CLOSE") {
+                    setShowCloseWordsAnimation(true);
+                } else {
+                    setShowNothingWordsAnimation(true);
+                }
+            })
+            .catch((error) => {
+                console.error(error);
+            });
+    }
 
-    function checkForHighScore() {
-        const highScores = props.gameMode === "REVEAL_WITH_CLICKS" ? props.highScoresWithClicks : props.highScoresOverTime;
 
+    function isBetterThanBoard(highScores: HighScoreModel[]) {
         if (highScores.length < 10) {
-            setIsNewHighScore(true);
-            props.setShowNameInput(true);
-            return;
+            return true;
         }
         const lowestHighScore = highScores[highScores.length - 1];
 
-        const isBetterScore = props.gameMode === "REVEAL_WITH_CLICKS"
+        return props.gameMode === "REVEAL_WITH_CLICKS"
             ? props.numberOfClicks < lowestHighScore.numberOfClicks
             : props.time < lowestHighScore.scoreTime;
+    }
+
+    function checkForHighScore() {
+        const highScores = props.gameMode === "REVEAL_WITH_CLICKS" ? props.highScoresWithClicks : props.highScoresOverTime;
+        const boardPath = props.gameMode === "REVEAL_WITH_CLICKS" ? "reveal-with-clicks" : "reveal-over-time";
 
-        if (isBetterScore) {
+        if (isBetterThanBoard(highScores)) {
             setIsNewHighScore(true);
             props.setShowNameInput(true);
-        }else{
             return;
         }
+
+        // Auch ein Platz in der Kategorie- oder Reveal-Rangliste zählt als neuer Highscore
+        Promise.all([
+            axios.get<HighScoreModel[]>(`/api/high-score/${boardPath}`, { params: { category: props.gameRevealByUser.category } }),
+            axios.get<HighScoreModel[]>(`/api/high-score/${boardPath}/reveal/${props.gameRevealByUser.id}`)
+        ])
+            .then(([categoryResponse, revealResponse]) => {
+                if (isBetterThanBoard(categoryResponse.data) || isBetterThanBoard(revealResponse.data)) {
+                    setIsNewHighScore(true);
+                    props.setShowNameInput(true);
+                }
+            })
+            .catch((error) => {
+                console.error(error);
+            });
     }
 
+    // Zeit und Klicks berechnet der Server aus dem Spiel, übergeben wird nur der Name
     function postHighScore() {
-        const highScoreData = {
-            id: null,
-            playerName,
-            githubId: props.user,
-            category: props.gameRevealByUser.category,
-            gameMode: props.gameMode,
-            scoreTime: parseFloat(props.time.toFixed(1)),
-            numberOfClicks: props.numberOfClicks,
-            date: new Date().toISOString()
-        };
-        console.log("High Score Data:", highScoreData);
-
         axios
-            .post("/api/high-score", highScoreData)
+            .post(`/api/game-sessions/${props.gameSessionId}/finish`, { playerName })
             .then(() => {
                 props.setShowNameInput(false);
             })
@@ -226,7 +239,7 @@ export default function StartGame(props: Readonly<StartGameProps>) {
 
             <div className="reveal-container">
 
-                <img className="reveal-pic" src={props.gameRevealByUser.imageUrl} alt={props.gameRevealByUser.name} />
+                <img className="reveal-pic" src={props.gameRevealByUser.imageVariants?.playUrl ?? props.gameRevealByUser.imageUrl} alt={props.gameRevealByUser.name} />
 
                 <div className={`mosaic-grid ${props.showFullImage ? "show-full-image" : ""}`}>
                     {[...Array(36)].map((_, index) => (
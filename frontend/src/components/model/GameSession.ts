@@ -0,0 +1,17 @@
+import {Category} from "./Category.ts";
+import {GameMode} from "./GameMode.ts";
+
+export type GameSession = {
+    id: string;
+    revealId: string;
+    category: Category;
+    gameMode: GameMode;
+    numberOfClicks: number;
+    solved: boolean;
+    solutionWords: string[];
+}
+
+export type RevealedTile = {
+    tile: number;
+    numberOfClicks: number;
+}
@@ -10,4 +10,5 @@ export type HighScoreModel = {
     scoreTime: number;
     numberOfClicks: number;
     date: string;
+    revealId: string | null;
 }
\ No newline at end of file
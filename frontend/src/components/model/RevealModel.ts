@@ -1,5 +1,13 @@
 import {Category} from "./Category.ts";
 
+export type ImageStatus = "NONE" | "PENDING" | "READY" | "FAILED";
+
+export type ImageVariants = {
+    thumbnailUrl: string;
+    playUrl: string;
+    placeholder: string;
+};
+
 export type RevealModel = {
     id: string;
     name: string;
@@ -10,18 +18,40 @@ export type RevealModel = {
     isActive: boolean;
     githubId: string;
     imageUrl: string;
+    imageStatus: ImageStatus;
+    imageVariants: ImageVariants | null;
+    version?: number;
+    lastModified?: string;
 }
 
-export const DefaultReveal: RevealModel = {
+// Listen-Endpunkte liefern nur die Felder für Karten, die Beschreibung gibt es über /api/reveal-hub/{id}.
+// Lösungswörter bekommt nur der Besitzer über /api/users/me/reveals/{id}.
+export type RevealSummary = Pick<RevealModel,
+    "id" | "name" | "category" | "isActive" | "githubId" | "imageUrl" | "imageStatus" | "imageVariants">;
+
+export type RevealDetails = RevealSummary & Pick<RevealModel, "description">;
+
+export function toRevealSummary(reveal: RevealModel): RevealSummary {
+    return {
+        id: reveal.id,
+        name: reveal.name,
+        category: reveal.category,
+        isActive: reveal.isActive,
+        githubId: reveal.githubId,
+        imageUrl: reveal.imageUrl,
+        imageStatus: reveal.imageStatus,
+        imageVariants: reveal.imageVariants,
+    };
+}
+
+export const DefaultRevealDetails: RevealDetails = {
     id: "",
     name: "Loading....",
-    solutionWords: ["true"],
-    closeSolutionWords: ["close"],
     category: "ANIMAL",
     description: "",
     isActive: true,
     githubId: "",
     imageUrl: "",
+    imageStatus: "NONE",
+    imageVariants: null,
 };
-
-
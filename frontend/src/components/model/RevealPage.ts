@@ -0,0 +1,6 @@
+import {RevealSummary} from "./RevealModel.ts";
+
+export type RevealPage = {
+    reveals: RevealSummary[];
+    next: string | null;
+}